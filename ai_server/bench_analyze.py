@@ -0,0 +1,133 @@
+"""
+ADDED: /api/audio/analyze 처리량 / p99 벤치마크 도구 (표준 라이브러리만 사용)
+
+AI 서버가 느린 상황을 재현하기 위해 지연 응답하는 스텁 AI 서버를 띄우고,
+Spring 백엔드의 스트리밍 분석 엔드포인트(/api/audio/analyze/stream)에 동시 업로드를 보낸다.
+
+사용 예:
+    # 1) 스텁 AI 서버 실행 (응답 지연 2초)
+    python bench_analyze.py stub --port 8001 --delay 2.0
+
+    # 2) 백엔드 실행 (플랫폼 스레드 / 가상 스레드 각각)
+    ./gradlew bootRun --args='--spring.threads.virtual.enabled=false --server.tomcat.threads.max=200'
+    ./gradlew bootRun --args='--spring.threads.virtual.enabled=true'
+
+    # 3) 부하 발생 후 두 결과 비교
+    python bench_analyze.py load --requests 2000 --concurrency 500 --file sample.wav
+"""
+
+import argparse
+import http.cookiejar
+import json
+import statistics
+import sys
+import time
+import urllib.parse
+import urllib.request
+from concurrent.futures import ThreadPoolExecutor
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+
+def run_stub(port, delay):
+    class StubHandler(BaseHTTPRequestHandler):
+        def do_GET(self):
+            self._reply({"status": "healthy", "message": "stub"})
+
+        def do_POST(self):
+            length = int(self.headers.get("Content-Length", 0))
+            if length:
+                self.rfile.read(length)
+            time.sleep(delay)
+            self._reply({"label": "NORMAL", "confidence": 90.0, "text": "stub", "is_danger": False})
+
+        def _reply(self, body):
+            payload = json.dumps(body).encode("utf-8")
+            self.send_response(200)
+            self.send_header("Content-Type", "application/json")
+            self.send_header("Content-Length", str(len(payload)))
+            self.end_headers()
+            self.wfile.write(payload)
+
+        def log_message(self, *args):
+            pass
+
+    ThreadingHTTPServer.daemon_threads = True
+    server = ThreadingHTTPServer(("0.0.0.0", port), StubHandler)
+    print(f"스텁 AI 서버 실행 중: http://localhost:{port} (지연 {delay}s)")
+    server.serve_forever()
+
+
+def login(base_url, email, password):
+    jar = http.cookiejar.CookieJar()
+    opener = urllib.request.build_opener(urllib.request.HTTPCookieProcessor(jar))
+    form = urllib.parse.urlencode({"email": email, "password": password}).encode("utf-8")
+    opener.open(base_url + "/api/auth/login", data=form, timeout=10)
+    return opener
+
+
+def run_load(args):
+    with open(args.file, "rb") as f:
+        audio = f.read()
+
+    opener = login(args.base_url, args.email, args.password)
+    query = urllib.parse.urlencode({"filename": "bench.wav", "locationLabel": "BENCH"})
+    url = f"{args.base_url}/api/audio/analyze/stream?{query}"
+
+    def one_request(_):
+        request = urllib.request.Request(url, data=audio, method="POST",
+                                         headers={"Content-Type": "application/octet-stream"})
+        started = time.perf_counter()
+        try:
+            with opener.open(request, timeout=args.timeout) as response:
+                response.read()
+                ok = 200 <= response.status < 300
+        except Exception:
+            ok = False
+        return ok, time.perf_counter() - started
+
+    started = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=args.concurrency) as pool:
+        results = list(pool.map(one_request, range(args.requests)))
+    elapsed = time.perf_counter() - started
+
+    latencies = sorted(latency for ok, latency in results if ok)
+    failures = sum(1 for ok, _ in results if not ok)
+    if not latencies:
+        print("성공한 요청이 없습니다.")
+        sys.exit(1)
+
+    def percentile(p):
+        return latencies[min(len(latencies) - 1, int(len(latencies) * p))]
+
+    print(f"요청 수: {args.requests}, 동시성: {args.concurrency}, 실패: {failures}")
+    print(f"처리량: {len(latencies) / elapsed:.1f} req/s")
+    print(f"지연 p50: {percentile(0.50) * 1000:.0f}ms, p99: {percentile(0.99) * 1000:.0f}ms, "
+          f"평균: {statistics.mean(latencies) * 1000:.0f}ms")
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Alertory 분석 엔드포인트 벤치마크")
+    sub = parser.add_subparsers(dest="command", required=True)
+
+    stub = sub.add_parser("stub", help="지연 응답 스텁 AI 서버 실행")
+    stub.add_argument("--port", type=int, default=8001)
+    stub.add_argument("--delay", type=float, default=2.0)
+
+    load = sub.add_parser("load", help="분석 엔드포인트 부하 발생")
+    load.add_argument("--base-url", default="http://localhost:8080")
+    load.add_argument("--email", default="user@test.com")
+    load.add_argument("--password", default="1234")
+    load.add_argument("--file", required=True)
+    load.add_argument("--requests", type=int, default=1000)
+    load.add_argument("--concurrency", type=int, default=200)
+    load.add_argument("--timeout", type=float, default=60.0)
+
+    args = parser.parse_args()
+    if args.command == "stub":
+        run_stub(args.port, args.delay)
+    else:
+        run_load(args)
+
+
+if __name__ == "__main__":
+    main()
@@ -8,6 +8,8 @@ import logging
 from fastapi import FastAPI, UploadFile, File, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
 import tempfile
+from typing import List, Optional
+from pydantic import BaseModel
 from src.inference_adapter import predict
 
 # 로깅 설정
@@ -92,6 +94,124 @@ async def predict_audio(file: UploadFile = File(...)):
             except Exception as e:
                 logger.warning(f"임시 파일 삭제 실패: {e}")
 
+ALLOWED_EXTENSIONS = ['.wav', '.mp3', '.flac', '.m4a', '.webm', '.aac', '.ogg']
+
+
+@app.post("/predict/batch")
+async def predict_audio_batch(files: List[UploadFile] = File(...)):
+    """
+    ADDED: 여러 오디오 파일을 한 번에 받아 분석 (백엔드 마이크로 배처용)
+
+    Returns:
+        {
+            "results": [   # 요청한 files 순서와 동일
+                {"label": str, "confidence": float, "text": str, "is_danger": bool}
+                | {"error": str}
+            ]
+        }
+    """
+    results = []
+    temp_paths = []
+
+    try:
+        for file in files:
+            file_ext = os.path.splitext(file.filename or "")[1].lower()
+            if file_ext not in ALLOWED_EXTENSIONS:
+                results.append({"error": f"지원되지 않는 파일 형식: {file_ext}"})
+                temp_paths.append(None)
+                continue
+
+            with tempfile.NamedTemporaryFile(delete=False, suffix=file_ext) as temp_file:
+                temp_file.write(await file.read())
+                temp_paths.append(temp_file.name)
+            results.append(None)
+
+        logger.info(f"배치 수신: {len(files)}개 파일")
+
+        for index, temp_path in enumerate(temp_paths):
+            if temp_path is None:
+                continue
+            try:
+                results[index] = predict(temp_path)
+            except Exception as e:
+                logger.error(f"배치 항목 분석 실패 ({index}): {e}")
+                results[index] = {"error": f"분석 실패: {str(e)}"}
+
+        return {"results": results}
+
+    finally:
+        for temp_path in temp_paths:
+            if temp_path and os.path.exists(temp_path):
+                try:
+                    os.unlink(temp_path)
+                except Exception as e:
+                    logger.warning(f"임시 파일 삭제 실패: {e}")
+
+
+# ADDED: 백엔드(Java)에서 추출한 514차원 특징 벡터 분석용 모델 (최초 요청 시 로드)
+FEATURE_SIZE = 514
+FEATURE_MODEL_DIR = os.environ.get("FEATURE_MODEL_DIR", os.path.dirname(os.path.abspath(__file__)))
+FEATURE_LABELS = {"Scream": "SCREAM", "음성 클래스": "NORMAL", "배경 소음 클래스": "NOISE"}
+_feature_model = None
+
+
+class FeaturePayload(BaseModel):
+    filename: Optional[str] = None
+    sample_rate: int = 22050
+    features: List[float]
+
+
+def load_feature_model():
+    global _feature_model
+    if _feature_model is None:
+        import joblib
+        _feature_model = (
+            joblib.load(os.path.join(FEATURE_MODEL_DIR, "best_voice_model_xgb.pkl")),
+            joblib.load(os.path.join(FEATURE_MODEL_DIR, "scaler.pkl")),
+            joblib.load(os.path.join(FEATURE_MODEL_DIR, "label_encoder.pkl")),
+        )
+    return _feature_model
+
+
+@app.post("/predict/features")
+async def predict_features(payload: FeaturePayload):
+    """
+    ADDED: AudioFeatureExtractor.extract_mel_features 와 같은 514차원 특징 벡터로 분석
+    (src/train_model.py 로 학습한 모델/스케일러/라벨 인코더 사용)
+
+    Returns: /predict 와 동일한 형식
+    """
+    if len(payload.features) != FEATURE_SIZE:
+        raise HTTPException(status_code=400, detail=f"특징 벡터 차원이 올바르지 않습니다: {len(payload.features)}")
+
+    try:
+        model, scaler, label_encoder = load_feature_model()
+    except Exception as e:
+        logger.error(f"특징 모델 로드 실패: {e}")
+        raise HTTPException(status_code=503, detail="특징 벡터 분석 모델을 사용할 수 없습니다.")
+
+    try:
+        import numpy as np
+        features_scaled = scaler.transform(np.asarray(payload.features, dtype=np.float32).reshape(1, -1))
+        probability = model.predict_proba(features_scaled)[0]
+        confidence = float(np.max(probability) * 100)
+        raw_label = label_encoder.inverse_transform([int(np.argmax(probability))])[0]
+        label = FEATURE_LABELS.get(raw_label, "NORMAL")
+
+        result = {
+            "label": label,
+            "confidence": round(confidence, 2),
+            "text": f"특징 벡터 분석 결과: {raw_label}",
+            "is_danger": label == "SCREAM" and confidence >= 90.0,
+        }
+        logger.info(f"특징 벡터 추론 완료 ({payload.filename}): {result}")
+        return result
+
+    except Exception as e:
+        logger.error(f"특징 벡터 분석 실패: {e}")
+        raise HTTPException(status_code=500, detail=f"분석 실패: {str(e)}")
+
+
 if __name__ == "__main__":
     import uvicorn
     
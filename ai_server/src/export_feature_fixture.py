@@ -0,0 +1,59 @@
+"""
+ADDED: Java MelFeatureExtractor 동등성 테스트용 기준값 생성 스크립트
+
+결정적인 합성 WAV(22.05kHz, 16bit, 3초: 처프 + 잡음 + 단속음)를 만들고
+AudioFeatureExtractor.extract_mel_features 결과(514차원)를 JSON 으로 저장한다.
+
+사용 예 (ai_server/src 에서 실행):
+    python export_feature_fixture.py ../../src/test/resources/audio
+"""
+
+import json
+import os
+import sys
+import wave
+
+import numpy as np
+
+from feature_extractor import AudioFeatureExtractor
+
+SAMPLE_RATE = 22050
+DURATION = 3
+
+
+def synthesize():
+    rng = np.random.default_rng(42)
+    t = np.arange(SAMPLE_RATE * DURATION) / SAMPLE_RATE
+    chirp = np.sin(2 * np.pi * (300 * t + (3000 - 300) / (2 * DURATION) * t ** 2))
+    gate = (np.sin(2 * np.pi * 2 * t) > 0).astype(np.float64)
+    tone = 0.5 * np.sin(2 * np.pi * 1200 * t) * gate
+    noise = 0.05 * rng.standard_normal(t.shape)
+    audio = 0.4 * chirp + tone + noise
+    return np.clip(audio / np.max(np.abs(audio)) * 0.8, -1.0, 1.0)
+
+
+def main():
+    out_dir = sys.argv[1] if len(sys.argv) > 1 else "."
+    os.makedirs(out_dir, exist_ok=True)
+    wav_path = os.path.join(out_dir, "feature_parity.wav")
+    json_path = os.path.join(out_dir, "feature_parity.json")
+
+    pcm = (synthesize() * 32767).astype("<i2")
+    with wave.open(wav_path, "wb") as wav:
+        wav.setnchannels(1)
+        wav.setsampwidth(2)
+        wav.setframerate(SAMPLE_RATE)
+        wav.writeframes(pcm.tobytes())
+
+    features = AudioFeatureExtractor(duration=DURATION).extract_mel_features(wav_path)
+    if features is None:
+        raise SystemExit("특징 추출 실패")
+
+    with open(json_path, "w") as f:
+        json.dump({"features": [float(v) for v in features]}, f)
+
+    print(f"저장 완료: {wav_path}, {json_path} ({len(features)}차원)")
+
+
+if __name__ == "__main__":
+    main()
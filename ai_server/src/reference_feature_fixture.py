@@ -0,0 +1,192 @@
+"""
+ADDED: Java MelFeatureExtractor 동등성 테스트용 기준값 생성 (표준 라이브러리만 사용)
+
+librosa / numpy 를 설치할 수 없는 환경에서 export_feature_fixture.py 대신 사용한다.
+feature_extractor.py 가 호출하는 librosa 함수들을 기본값 그대로 배정밀도로 다시 구현했다.
+  - melspectrogram: n_fft=2048, hop=512, periodic hann, center=True(pad_mode='constant'), power=2,
+    slaney mel 필터(fmin=0, fmax=8000, norm='slaney')
+  - power_to_db(ref=np.max, amin=1e-10, top_db=80)
+  - delta(width=9, mode='interp'), spectral_centroid(magnitude), zero_crossing_rate(center=True, edge 패딩)
+librosa 가 있는 환경에서는 export_feature_fixture.py 로 다시 생성하는 것을 우선한다.
+
+사용 예 (ai_server/src 에서 실행):
+    python reference_feature_fixture.py ../../src/test/resources/audio
+"""
+
+import cmath
+import json
+import math
+import os
+import random
+import struct
+import sys
+import wave
+
+SAMPLE_RATE = 22050
+DURATION = 3
+TARGET_LENGTH = SAMPLE_RATE * DURATION
+N_FFT = 2048
+HOP = 512
+N_MELS = 128
+F_MAX = 8000.0
+N_BINS = N_FFT // 2 + 1
+AMIN = 1e-10
+TOP_DB = 80.0
+DELTA_HALF_WIDTH = 4
+
+
+def synthesize():
+    """처프 + 단속음 + 잡음 (export_feature_fixture.py 와 같은 구성, 잡음은 random.Random(42))"""
+    rng = random.Random(42)
+    audio = []
+    for n in range(TARGET_LENGTH):
+        t = n / SAMPLE_RATE
+        chirp = math.sin(2 * math.pi * (300 * t + (3000 - 300) / (2 * DURATION) * t ** 2))
+        gate = 1.0 if math.sin(2 * math.pi * 2 * t) > 0 else 0.0
+        tone = 0.5 * math.sin(2 * math.pi * 1200 * t) * gate
+        audio.append(0.4 * chirp + tone + 0.05 * rng.gauss(0.0, 1.0))
+    peak = max(abs(v) for v in audio)
+    return [max(-1.0, min(1.0, v / peak * 0.8)) for v in audio]
+
+
+def write_wav(path, samples):
+    pcm = [int(v * 32767) for v in samples]  # numpy astype 과 같이 0 방향 절삭
+    with wave.open(path, "wb") as wav:
+        wav.setnchannels(1)
+        wav.setsampwidth(2)
+        wav.setframerate(SAMPLE_RATE)
+        wav.writeframes(struct.pack("<%dh" % len(pcm), *pcm))
+    return [v / 32768.0 for v in pcm]  # librosa.load 의 int16 -> float 변환
+
+
+def fft(values):
+    n = len(values)
+    data = list(values)
+    j = 0
+    for i in range(1, n):
+        bit = n >> 1
+        while j & bit:
+            j ^= bit
+            bit >>= 1
+        j |= bit
+        if i < j:
+            data[i], data[j] = data[j], data[i]
+    size = 2
+    while size <= n:
+        step = cmath.exp(-2j * math.pi / size)
+        for start in range(0, n, size):
+            w = 1.0
+            for k in range(size // 2):
+                a = data[start + k]
+                b = data[start + k + size // 2] * w
+                data[start + k] = a + b
+                data[start + k + size // 2] = a - b
+                w *= step
+        size *= 2
+    return data
+
+
+def hz_to_mel(hz):
+    f_sp = 200.0 / 3
+    if hz >= 1000.0:
+        return 1000.0 / f_sp + math.log(hz / 1000.0) / (math.log(6.4) / 27.0)
+    return hz / f_sp
+
+
+def mel_to_hz(mel):
+    f_sp = 200.0 / 3
+    min_log_mel = 1000.0 / f_sp
+    if mel >= min_log_mel:
+        return 1000.0 * math.exp(math.log(6.4) / 27.0 * (mel - min_log_mel))
+    return f_sp * mel
+
+
+def mel_filterbank():
+    max_mel = hz_to_mel(F_MAX)
+    points = [mel_to_hz(max_mel * i / (N_MELS + 1)) for i in range(N_MELS + 2)]
+    filters = []
+    for band in range(N_MELS):
+        enorm = 2.0 / (points[band + 2] - points[band])
+        row = []
+        for b in range(N_BINS):
+            f = b * SAMPLE_RATE / N_FFT
+            lower = (f - points[band]) / (points[band + 1] - points[band])
+            upper = (points[band + 2] - f) / (points[band + 2] - points[band + 1])
+            row.append(max(0.0, min(lower, upper)) * enorm)
+        filters.append(row)
+    return filters
+
+
+def extract(signal):
+    peak = max(abs(v) for v in signal)
+    y = [v / peak for v in signal] if peak > 0 else list(signal)
+
+    window = [0.5 - 0.5 * math.cos(2 * math.pi * i / N_FFT) for i in range(N_FFT)]
+    frames = 1 + TARGET_LENGTH // HOP
+    filters = mel_filterbank()
+    mel = [[0.0] * frames for _ in range(N_MELS)]
+    centroid_sum = 0.0
+    for frame in range(frames):
+        start = frame * HOP - N_FFT // 2
+        segment = [(y[start + i] if 0 <= start + i < TARGET_LENGTH else 0.0) * window[i] for i in range(N_FFT)]
+        spectrum = fft(segment)[:N_BINS]
+        power = [abs(c) ** 2 for c in spectrum]
+        for band in range(N_MELS):
+            row = filters[band]
+            mel[band][frame] = sum(row[b] * power[b] for b in range(N_BINS) if row[b] > 0.0)
+        magnitude = [math.sqrt(p) for p in power]
+        total = sum(magnitude)
+        weighted = sum(b * SAMPLE_RATE / N_FFT * magnitude[b] for b in range(N_BINS))
+        centroid_sum += weighted / total if total > 0 else 0.0
+
+    ref_db = 10 * math.log10(max(AMIN, max(max(row) for row in mel)))
+    log_mel = [[10 * math.log10(max(AMIN, v)) - ref_db for v in row] for row in mel]
+    floor = max(max(row) for row in log_mel) - TOP_DB
+    log_mel = [[max(v, floor) for v in row] for row in log_mel]
+
+    def delta(row, center, order):
+        value = 0.0
+        for k in range(-DELTA_HALF_WIDTH, DELTA_HALF_WIDTH + 1):
+            coefficient = k / 60.0 if order == 1 else (3.0 * k * k - 20.0) / 462.0
+            value += coefficient * row[center + k]
+        return value
+
+    def delta_mean(row, order):
+        # savgol mode='interp': 양 끝 4프레임은 첫 / 마지막 창 중심 값과 같음
+        values = []
+        for t in range(frames):
+            center = min(max(t, DELTA_HALF_WIDTH), frames - 1 - DELTA_HALF_WIDTH)
+            values.append(delta(row, center, order))
+        return sum(values) / frames
+
+    means = [sum(row) / frames for row in log_mel]
+    stds = [math.sqrt(sum((v - m) ** 2 for v in row) / frames) for row, m in zip(log_mel, means)]
+    delta1 = [delta_mean(row, 1) for row in log_mel]
+    delta2 = [delta_mean(row, 2) for row in log_mel]
+
+    zcr_sum = 0.0
+    for frame in range(frames):
+        start = frame * HOP - N_FFT // 2
+        signs = [y[max(0, min(TARGET_LENGTH - 1, start + i))] < -1e-10 for i in range(N_FFT)]
+        zcr_sum += sum(1 for i in range(1, N_FFT) if signs[i] != signs[i - 1]) / N_FFT
+
+    return means + stds + delta1 + delta2 + [centroid_sum / frames, zcr_sum / frames]
+
+
+def main():
+    out_dir = sys.argv[1] if len(sys.argv) > 1 else "."
+    os.makedirs(out_dir, exist_ok=True)
+    wav_path = os.path.join(out_dir, "feature_parity.wav")
+    json_path = os.path.join(out_dir, "feature_parity.json")
+
+    signal = write_wav(wav_path, synthesize())
+    features = extract(signal)
+
+    with open(json_path, "w") as f:
+        json.dump({"generator": "reference_feature_fixture.py", "features": features}, f)
+
+    print(f"저장 완료: {wav_path}, {json_path} ({len(features)}차원)")
+
+
+if __name__ == "__main__":
+    main()
@@ -2,8 +2,10 @@ package com.example.Alertory;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // ADDED: AI 서버 엔드포인트 헬스 프로브 등 주기 작업
 public class AlertoryApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,65 @@
+package com.example.Alertory.audio;
+
+// ADDED: 블록 단위 RMS / 활성 블록 분석기 (python/sound_detact.py 의 THRESHOLD + MIN_ACTIVE_BLOCKS 로직과 동일한 기준)
+// 샘플 루프 안에서 객체를 할당하지 않는다.
+public final class EnergyAnalyzer {
+
+    // python/sound_detact.py BLOCK_SIZE 와 동일
+    public static final int DEFAULT_BLOCK_FRAMES = 1024;
+
+    private EnergyAnalyzer() {
+    }
+
+    /**
+     * 모노 다운믹스 기준으로 블록별 RMS 를 계산하여 임계값 이상인 블록 수를 센다.
+     *
+     * @param audio 분석할 PCM 오디오
+     * @param blockFrames 블록 크기 (프레임)
+     * @param rmsThreshold 활성 블록 RMS 임계값 (-1.0 ~ 1.0 정규화 기준)
+     */
+    public static EnergyStats analyze(PcmAudio audio, int blockFrames, double rmsThreshold) {
+        int frameCount = audio.frameCount();
+        int blockCount = 0;
+        int activeBlocks = 0;
+        double maxBlockRms = 0.0;
+        double totalSquares = 0.0;
+
+        for (int blockStart = 0; blockStart < frameCount; blockStart += blockFrames) {
+            int blockEnd = Math.min(frameCount, blockStart + blockFrames);
+            double squares = 0.0;
+            for (int frame = blockStart; frame < blockEnd; frame++) {
+                float sample = audio.monoSample(frame);
+                squares += (double) sample * sample;
+            }
+
+            double blockRms = Math.sqrt(squares / (blockEnd - blockStart));
+            totalSquares += squares;
+            blockCount++;
+            if (blockRms >= rmsThreshold) {
+                activeBlocks++;
+            }
+            if (blockRms > maxBlockRms) {
+                maxBlockRms = blockRms;
+            }
+        }
+
+        double overallRms = frameCount == 0 ? 0.0 : Math.sqrt(totalSquares / frameCount);
+        return new EnergyStats(blockCount, activeBlocks, maxBlockRms, overallRms);
+    }
+
+    // ADDED: 에너지 분석 결과
+    public record EnergyStats(int blockCount, int activeBlocks, double maxBlockRms, double overallRms) {
+
+        /**
+         * 활성 블록이 최소 개수에 못 미치면 무음으로 판단
+         * CHANGED: 클립 전체 블록 수가 최소 개수보다 적으면 개수 기준을 적용하지 않고, 활성 블록이 하나도 없을 때만 무음
+         * (짧은 비명 클립이 조용한 앞뒤 블록 때문에 무음으로 걸러지지 않도록)
+         */
+        public boolean isSilent(int minActiveBlocks) {
+            if (blockCount < minActiveBlocks) {
+                return activeBlocks == 0;
+            }
+            return activeBlocks < minActiveBlocks;
+        }
+    }
+}
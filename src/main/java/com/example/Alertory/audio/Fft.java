@@ -0,0 +1,69 @@
+package com.example.Alertory.audio;
+
+// ADDED: 고정 크기 radix-2 복소 FFT (회전 인자/비트 반전 테이블 사전 계산, 제자리 연산)
+public final class Fft {
+
+    private final int size;
+    private final int[] bitReverse;
+    private final float[] cosTable;
+    private final float[] sinTable;
+
+    public Fft(int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + size);
+        }
+        this.size = size;
+        this.bitReverse = new int[size];
+        this.cosTable = new float[size / 2];
+        this.sinTable = new float[size / 2];
+
+        int bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        for (int i = 0; i < size / 2; i++) {
+            double angle = -2.0 * Math.PI * i / size;
+            cosTable[i] = (float) Math.cos(angle);
+            sinTable[i] = (float) Math.sin(angle);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 제자리 순방향 FFT (re/im 길이는 size 이상)
+     */
+    public void transform(float[] re, float[] im) {
+        for (int i = 0; i < size; i++) {
+            int j = bitReverse[i];
+            if (j > i) {
+                float tmp = re[i];
+                re[i] = re[j];
+                re[j] = tmp;
+                tmp = im[i];
+                im[i] = im[j];
+                im[j] = tmp;
+            }
+        }
+
+        for (int half = 1; half < size; half <<= 1) {
+            int step = size / (half << 1);
+            for (int start = 0; start < size; start += half << 1) {
+                for (int k = 0; k < half; k++) {
+                    float wr = cosTable[k * step];
+                    float wi = sinTable[k * step];
+                    int even = start + k;
+                    int odd = even + half;
+                    float oddRe = re[odd] * wr - im[odd] * wi;
+                    float oddIm = re[odd] * wi + im[odd] * wr;
+                    re[odd] = re[even] - oddRe;
+                    im[odd] = im[even] - oddIm;
+                    re[even] += oddRe;
+                    im[even] += oddIm;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.Alertory.audio;
+
+import java.util.Arrays;
+
+// ADDED: ai_server/src/feature_extractor.py (AudioFeatureExtractor.extract_mel_features) 의 Java 구현
+// 22.05kHz 리샘플 → 3초 패딩/절단 → 피크 정규화 → 128 밴드 log-mel 평균/표준편차 + delta/delta2 평균
+// + spectral centroid 평균 + ZCR 평균 = 514차원 (librosa 기본값과 동일한 파라미터)
+// 인스턴스마다 작업 버퍼를 재사용하므로 스레드 안전하지 않다. (스레드별/풀 단위로 사용)
+public final class MelFeatureExtractor {
+
+    public static final int SAMPLE_RATE = 22050;
+    public static final int N_MELS = 128;
+    public static final int N_FFT = 2048;
+    public static final int HOP_LENGTH = 512;
+    public static final double F_MAX = 8000.0;
+    public static final int DURATION_SECONDS = 3;
+    public static final int TARGET_LENGTH = SAMPLE_RATE * DURATION_SECONDS;
+    public static final int FRAME_COUNT = 1 + TARGET_LENGTH / HOP_LENGTH;
+    public static final int FEATURE_SIZE = N_MELS * 4 + 2;
+
+    private static final int N_BINS = N_FFT / 2 + 1;
+    private static final double AMIN = 1e-10;
+    private static final double TOP_DB = 80.0;
+    private static final float ZCR_THRESHOLD = 1e-10f;
+
+    // librosa.feature.delta 기본 width=9 (savgol, mode='interp')
+    private static final int DELTA_HALF_WIDTH = 4;
+
+    // 리샘플링용 windowed-sinc 반폭 (영점 교차 수)
+    private static final int RESAMPLE_ZERO_CROSSINGS = 16;
+
+    // Slaney mel 척도 (1kHz 이하 선형, 이상 로그)
+    private static final double F_SP = 200.0 / 3;
+    private static final double MIN_LOG_HZ = 1000.0;
+    private static final double MIN_LOG_MEL = MIN_LOG_HZ / F_SP;
+    private static final double LOG_STEP = Math.log(6.4) / 27.0;
+
+    // 모든 인스턴스가 공유하는 불변 테이블
+    private static final Fft FFT = new Fft(N_FFT);
+    private static final float[] WINDOW = periodicHann(N_FFT);
+    private static final float[] BIN_FREQUENCIES = binFrequencies();
+    private static final int[] FILTER_START = new int[N_MELS];
+    private static final float[][] FILTER_WEIGHTS = new float[N_MELS][];
+
+    static {
+        buildMelFilterbank();
+    }
+
+    // 인스턴스별 작업 버퍼 (extract 호출 간 재사용)
+    private final float[] signal = new float[TARGET_LENGTH];
+    private final float[] re = new float[N_FFT];
+    private final float[] im = new float[N_FFT];
+    private final float[] power = new float[N_BINS];
+    private final float[] logMel = new float[N_MELS * FRAME_COUNT]; // [band * FRAME_COUNT + frame]
+
+    /**
+     * PCM 오디오에서 514차원 특징 벡터 추출
+     */
+    public float[] extract(PcmAudio audio) {
+        float[] features = new float[FEATURE_SIZE];
+        extract(audio, features);
+        return features;
+    }
+
+    /**
+     * PCM 오디오에서 특징 벡터를 추출하여 out 에 기록 (out 길이는 FEATURE_SIZE 이상)
+     */
+    public void extract(PcmAudio audio, float[] out) {
+        loadSignal(audio);
+        normalizePeak();
+
+        // 1. STFT → mel 파워 + 프레임별 spectral centroid
+        double centroidSum = 0.0;
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            powerSpectrum(frame);
+            centroidSum += spectralCentroid();
+            for (int band = 0; band < N_MELS; band++) {
+                float[] weights = FILTER_WEIGHTS[band];
+                int start = FILTER_START[band];
+                double energy = 0.0;
+                for (int i = 0; i < weights.length; i++) {
+                    energy += weights[i] * power[start + i];
+                }
+                logMel[band * FRAME_COUNT + frame] = (float) energy;
+            }
+        }
+
+        // 2. power_to_db(ref=np.max, amin=1e-10, top_db=80)
+        powerToDb();
+
+        // 3. 밴드별 통계
+        for (int band = 0; band < N_MELS; band++) {
+            int offset = band * FRAME_COUNT;
+            double sum = 0.0;
+            for (int frame = 0; frame < FRAME_COUNT; frame++) {
+                sum += logMel[offset + frame];
+            }
+            double mean = sum / FRAME_COUNT;
+            double squares = 0.0;
+            for (int frame = 0; frame < FRAME_COUNT; frame++) {
+                double diff = logMel[offset + frame] - mean;
+                squares += diff * diff;
+            }
+
+            out[band] = (float) mean;
+            out[N_MELS + band] = (float) Math.sqrt(squares / FRAME_COUNT);
+            out[N_MELS * 2 + band] = (float) deltaMean(offset, 1);
+            out[N_MELS * 3 + band] = (float) deltaMean(offset, 2);
+        }
+
+        out[N_MELS * 4] = (float) (centroidSum / FRAME_COUNT);
+        out[N_MELS * 4 + 1] = (float) zeroCrossingRateMean();
+    }
+
+    // librosa.load(sr=22050) + _pad_or_truncate: 모노 다운믹스, 필요 시 리샘플, 3초로 맞춤
+    private void loadSignal(PcmAudio audio) {
+        int frameCount = audio.frameCount();
+        if (audio.sampleRate() == SAMPLE_RATE) {
+            int length = Math.min(frameCount, TARGET_LENGTH);
+            for (int i = 0; i < length; i++) {
+                signal[i] = audio.monoSample(i);
+            }
+            Arrays.fill(signal, length, TARGET_LENGTH, 0f);
+            return;
+        }
+
+        // 대역 제한 windowed-sinc 보간 (librosa 기본 soxr_hq 와 완전히 같지는 않음)
+        double ratio = (double) audio.sampleRate() / SAMPLE_RATE;
+        double cutoff = Math.min(1.0, 1.0 / ratio);
+        double halfWidth = RESAMPLE_ZERO_CROSSINGS / cutoff;
+        int length = (int) Math.min(TARGET_LENGTH, Math.ceil(frameCount / ratio));
+        for (int n = 0; n < length; n++) {
+            double center = n * ratio;
+            int first = Math.max(0, (int) Math.ceil(center - halfWidth));
+            int last = Math.min(frameCount - 1, (int) Math.floor(center + halfWidth));
+            double value = 0.0;
+            for (int k = first; k <= last; k++) {
+                double distance = center - k;
+                double x = distance * cutoff;
+                double sinc = x == 0.0 ? 1.0 : Math.sin(Math.PI * x) / (Math.PI * x);
+                double window = 0.5 + 0.5 * Math.cos(Math.PI * distance / halfWidth);
+                value += audio.monoSample(k) * cutoff * sinc * window;
+            }
+            signal[n] = (float) value;
+        }
+        Arrays.fill(signal, length, TARGET_LENGTH, 0f);
+    }
+
+    private void normalizePeak() {
+        float peak = 0f;
+        for (float sample : signal) {
+            peak = Math.max(peak, Math.abs(sample));
+        }
+        if (peak > 0f) {
+            for (int i = 0; i < TARGET_LENGTH; i++) {
+                signal[i] /= peak;
+            }
+        }
+    }
+
+    // center=True, pad_mode='constant' STFT 한 프레임의 파워 스펙트럼
+    private void powerSpectrum(int frame) {
+        int start = frame * HOP_LENGTH - N_FFT / 2;
+        for (int i = 0; i < N_FFT; i++) {
+            int index = start + i;
+            float sample = index >= 0 && index < TARGET_LENGTH ? signal[index] : 0f;
+            re[i] = sample * WINDOW[i];
+            im[i] = 0f;
+        }
+        FFT.transform(re, im);
+        for (int bin = 0; bin < N_BINS; bin++) {
+            power[bin] = re[bin] * re[bin] + im[bin] * im[bin];
+        }
+    }
+
+    // librosa.feature.spectral_centroid: 크기 스펙트럼을 L1 정규화한 주파수 가중 평균
+    private double spectralCentroid() {
+        double weighted = 0.0;
+        double total = 0.0;
+        for (int bin = 0; bin < N_BINS; bin++) {
+            double magnitude = Math.sqrt(power[bin]);
+            weighted += BIN_FREQUENCIES[bin] * magnitude;
+            total += magnitude;
+        }
+        return total < Float.MIN_NORMAL ? weighted : weighted / total;
+    }
+
+    private void powerToDb() {
+        float ref = 0f;
+        for (float value : logMel) {
+            ref = Math.max(ref, value);
+        }
+        double refDb = 10.0 * Math.log10(Math.max(AMIN, ref));
+
+        float maxDb = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < logMel.length; i++) {
+            float db = (float) (10.0 * Math.log10(Math.max(AMIN, logMel[i])) - refDb);
+            logMel[i] = db;
+            maxDb = Math.max(maxDb, db);
+        }
+
+        float floor = (float) (maxDb - TOP_DB);
+        for (int i = 0; i < logMel.length; i++) {
+            logMel[i] = Math.max(logMel[i], floor);
+        }
+    }
+
+    // librosa.feature.delta(width=9, order) 의 시간 평균
+    // savgol interp 모드: 내부 프레임은 대칭 창 다항식 미분, 양 끝 4프레임은 첫/마지막 창의 적합값 (차수=미분 차수이므로 상수)
+    private double deltaMean(int offset, int order) {
+        int firstCenter = DELTA_HALF_WIDTH;
+        int lastCenter = FRAME_COUNT - 1 - DELTA_HALF_WIDTH;
+
+        double sum = 0.0;
+        for (int center = firstCenter; center <= lastCenter; center++) {
+            sum += delta(offset + center, order);
+        }
+        sum += DELTA_HALF_WIDTH * delta(offset + firstCenter, order);
+        sum += DELTA_HALF_WIDTH * delta(offset + lastCenter, order);
+        return sum / FRAME_COUNT;
+    }
+
+    private double delta(int index, int order) {
+        double value = 0.0;
+        for (int k = -DELTA_HALF_WIDTH; k <= DELTA_HALF_WIDTH; k++) {
+            // 1차: k / Σk² (=60), 2차: 2(k² - 20/3) / 308 = (3k² - 20) / 462
+            double coefficient = order == 1 ? k / 60.0 : (3.0 * k * k - 20.0) / 462.0;
+            value += coefficient * logMel[index + k];
+        }
+        return value;
+    }
+
+    // librosa.feature.zero_crossing_rate: center=True (edge 패딩), |y| <= 1e-10 은 0 으로 간주
+    private double zeroCrossingRateMean() {
+        double sum = 0.0;
+        for (int frame = 0; frame < FRAME_COUNT; frame++) {
+            int start = frame * HOP_LENGTH - N_FFT / 2;
+            boolean previousNegative = isNegative(edgeSample(start));
+            int crossings = 0;
+            for (int i = 1; i < N_FFT; i++) {
+                boolean negative = isNegative(edgeSample(start + i));
+                if (negative != previousNegative) {
+                    crossings++;
+                }
+                previousNegative = negative;
+            }
+            sum += (double) crossings / N_FFT;
+        }
+        return sum / FRAME_COUNT;
+    }
+
+    private float edgeSample(int index) {
+        return signal[Math.max(0, Math.min(TARGET_LENGTH - 1, index))];
+    }
+
+    private static boolean isNegative(float sample) {
+        return sample < -ZCR_THRESHOLD;
+    }
+
+    // scipy.signal.get_window('hann', fftbins=True)
+    private static float[] periodicHann(int size) {
+        float[] window = new float[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2.0 * Math.PI * i / size));
+        }
+        return window;
+    }
+
+    private static float[] binFrequencies() {
+        float[] frequencies = new float[N_BINS];
+        for (int bin = 0; bin < N_BINS; bin++) {
+            frequencies[bin] = (float) ((double) bin * SAMPLE_RATE / N_FFT);
+        }
+        return frequencies;
+    }
+
+    // librosa.filters.mel(sr=22050, n_fft=2048, n_mels=128, fmin=0, fmax=8000, htk=False, norm='slaney')
+    // 0 이 아닌 가중치 구간만 저장한다.
+    private static void buildMelFilterbank() {
+        double maxMel = hzToMel(F_MAX);
+        double[] melPoints = new double[N_MELS + 2];
+        for (int i = 0; i < melPoints.length; i++) {
+            melPoints[i] = melToHz(maxMel * i / (N_MELS + 1));
+        }
+
+        float[] row = new float[N_BINS];
+        for (int band = 0; band < N_MELS; band++) {
+            double lowerWidth = melPoints[band + 1] - melPoints[band];
+            double upperWidth = melPoints[band + 2] - melPoints[band + 1];
+            double enorm = 2.0 / (melPoints[band + 2] - melPoints[band]);
+
+            int first = -1;
+            int last = -1;
+            for (int bin = 0; bin < N_BINS; bin++) {
+                double frequency = (double) bin * SAMPLE_RATE / N_FFT;
+                double lower = (frequency - melPoints[band]) / lowerWidth;
+                double upper = (melPoints[band + 2] - frequency) / upperWidth;
+                double weight = Math.max(0.0, Math.min(lower, upper)) * enorm;
+                row[bin] = (float) weight;
+                if (weight > 0.0) {
+                    if (first < 0) {
+                        first = bin;
+                    }
+                    last = bin;
+                }
+            }
+
+            if (first < 0) {
+                FILTER_START[band] = 0;
+                FILTER_WEIGHTS[band] = new float[0];
+            } else {
+                FILTER_START[band] = first;
+                FILTER_WEIGHTS[band] = Arrays.copyOfRange(row, first, last + 1);
+            }
+        }
+    }
+
+    static double hzToMel(double hz) {
+        return hz >= MIN_LOG_HZ ? MIN_LOG_MEL + Math.log(hz / MIN_LOG_HZ) / LOG_STEP : hz / F_SP;
+    }
+
+    static double melToHz(double mel) {
+        return mel >= MIN_LOG_MEL ? MIN_LOG_HZ * Math.exp(LOG_STEP * (mel - MIN_LOG_MEL)) : F_SP * mel;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.Alertory.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// ADDED: 디코딩된 PCM 오디오 뷰 (샘플 데이터는 복사하지 않고 원본 버퍼를 그대로 참조)
+public record PcmAudio(int sampleRate, int channels, int bitsPerSample, Encoding encoding, ByteBuffer data) {
+
+    public enum Encoding {
+        PCM_UNSIGNED, // 8bit
+        PCM_SIGNED,   // 16/24/32bit 정수
+        PCM_FLOAT     // 32/64bit 부동소수
+    }
+
+    public PcmAudio {
+        data = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int bytesPerSample() {
+        return bitsPerSample / 8;
+    }
+
+    public int frameSize() {
+        return bytesPerSample() * channels;
+    }
+
+    public int frameCount() {
+        return data.remaining() / frameSize();
+    }
+
+    public double durationSeconds() {
+        return (double) frameCount() / sampleRate;
+    }
+
+    /**
+     * 지정 프레임/채널의 샘플을 -1.0 ~ 1.0 범위로 반환 (절대 위치 접근, 할당 없음)
+     */
+    public float sample(int frame, int channel) {
+        int offset = frame * frameSize() + channel * bytesPerSample();
+        return switch (encoding) {
+            case PCM_UNSIGNED -> ((data.get(offset) & 0xFF) - 128) / 128f;
+            case PCM_SIGNED -> switch (bitsPerSample) {
+                case 16 -> data.getShort(offset) / 32768f;
+                case 24 -> ((data.get(offset) & 0xFF)
+                        | (data.get(offset + 1) & 0xFF) << 8
+                        | data.get(offset + 2) << 16) / 8388608f;
+                case 32 -> data.getInt(offset) / 2147483648f;
+                default -> throw new IllegalStateException("Unsupported bits per sample: " + bitsPerSample);
+            };
+            case PCM_FLOAT -> bitsPerSample == 64 ? (float) data.getDouble(offset) : data.getFloat(offset);
+        };
+    }
+
+    /**
+     * 모든 채널 평균(모노 다운믹스) 샘플
+     */
+    public float monoSample(int frame) {
+        if (channels == 1) {
+            return sample(frame, 0);
+        }
+        float sum = 0f;
+        for (int channel = 0; channel < channels; channel++) {
+            sum += sample(frame, channel);
+        }
+        return sum / channels;
+    }
+}
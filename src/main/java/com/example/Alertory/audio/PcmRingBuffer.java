@@ -0,0 +1,83 @@
+package com.example.Alertory.audio;
+
+import java.nio.ByteBuffer;
+
+// ADDED: 16bit LE 모노 PCM 스트림용 고정 크기 링 버퍼 (생성 시 한 번만 할당)
+// 최근 windowSamples 샘플을 보관하고, hopSamples 마다 겹치는 분석 창을 잘라낸다.
+// 단일 스레드(세션별 메시지 처리 순서)에서만 사용한다.
+public final class PcmRingBuffer {
+
+    private final short[] ring;
+    private final int hopSamples;
+
+    private int writeIndex;
+    private long totalSamples;
+    private int samplesSinceWindow;
+
+    // 메시지 경계에서 잘린 샘플의 하위 바이트
+    private int carryByte = -1;
+
+    public PcmRingBuffer(int windowSamples, int hopSamples) {
+        if (windowSamples <= 0 || hopSamples <= 0 || hopSamples > windowSamples) {
+            throw new IllegalArgumentException("invalid window/hop: " + windowSamples + "/" + hopSamples);
+        }
+        this.ring = new short[windowSamples];
+        this.hopSamples = hopSamples;
+    }
+
+    public int windowSamples() {
+        return ring.length;
+    }
+
+    public long totalSamples() {
+        return totalSamples;
+    }
+
+    /**
+     * 16bit LE PCM 바이트를 링에 기록 (홀수 길이 메시지는 다음 메시지와 이어 붙인다)
+     */
+    public void write(ByteBuffer pcm) {
+        if (carryByte >= 0 && pcm.hasRemaining()) {
+            append((short) ((pcm.get() << 8) | carryByte));
+            carryByte = -1;
+        }
+        while (pcm.remaining() >= 2) {
+            int low = pcm.get() & 0xFF;
+            append((short) ((pcm.get() << 8) | low));
+        }
+        if (pcm.hasRemaining()) {
+            carryByte = pcm.get() & 0xFF;
+        }
+    }
+
+    /**
+     * 링이 가득 찼고 마지막 창 이후 hop 이상 새 샘플이 쌓였는지 여부
+     */
+    public boolean windowReady() {
+        return totalSamples >= ring.length && samplesSinceWindow >= hopSamples;
+    }
+
+    /**
+     * 가장 최근 windowSamples 샘플을 시간 순서대로 dst 에 16bit LE 로 기록하고 hop 카운터를 초기화
+     */
+    public void drainWindow(ByteBuffer dst) {
+        for (int i = 0; i < ring.length; i++) {
+            dst.putShort(ring[(writeIndex + i) % ring.length]);
+        }
+        samplesSinceWindow = 0;
+    }
+
+    /**
+     * 처리하지 못한 창을 건너뛴다 (분석이 밀릴 때 최신 구간만 유지)
+     */
+    public void skipWindow() {
+        samplesSinceWindow = 0;
+    }
+
+    private void append(short sample) {
+        ring[writeIndex] = sample;
+        writeIndex = writeIndex + 1 == ring.length ? 0 : writeIndex + 1;
+        totalSamples++;
+        samplesSinceWindow++;
+    }
+}
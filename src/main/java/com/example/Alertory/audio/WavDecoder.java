@@ -0,0 +1,93 @@
+package com.example.Alertory.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// ADDED: RIFF/WAVE 헤더 파서 (PCM 8/16/24/32bit, IEEE float, WAVE_FORMAT_EXTENSIBLE 지원)
+// 샘플 데이터는 복사하지 않고 data 청크 영역의 ByteBuffer 슬라이스만 만든다.
+public final class WavDecoder {
+
+    private static final int FORMAT_PCM = 0x0001;
+    private static final int FORMAT_IEEE_FLOAT = 0x0003;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private WavDecoder() {
+    }
+
+    /**
+     * WAV 바이트 버퍼를 PCM 오디오 뷰로 디코딩
+     *
+     * @throws IllegalArgumentException WAV 형식이 아니거나 지원하지 않는 인코딩인 경우
+     */
+    public static PcmAudio decode(ByteBuffer wav) {
+        ByteBuffer buffer = wav.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int base = buffer.position();
+        int end = buffer.limit();
+
+        if (end - base < 12 || buffer.getInt(base) != fourCc("RIFF") || buffer.getInt(base + 8) != fourCc("WAVE")) {
+            throw new IllegalArgumentException("Not a RIFF/WAVE file");
+        }
+
+        int formatCode = -1;
+        int channels = 0;
+        int sampleRate = 0;
+        int bitsPerSample = 0;
+        int position = base + 12;
+
+        while (position + 8 <= end) {
+            int chunkId = buffer.getInt(position);
+            long chunkSize = Integer.toUnsignedLong(buffer.getInt(position + 4));
+            int body = position + 8;
+
+            if (chunkId == fourCc("fmt ")) {
+                if (chunkSize < 16 || body + 16 > end) {
+                    throw new IllegalArgumentException("Invalid fmt chunk");
+                }
+                formatCode = buffer.getShort(body) & 0xFFFF;
+                channels = buffer.getShort(body + 2) & 0xFFFF;
+                sampleRate = buffer.getInt(body + 4);
+                bitsPerSample = buffer.getShort(body + 14) & 0xFFFF;
+                if (channels <= 0 || sampleRate <= 0) {
+                    throw new IllegalArgumentException("Invalid channel count or sample rate");
+                }
+                if (formatCode == FORMAT_EXTENSIBLE && chunkSize >= 26 && body + 26 <= end) {
+                    formatCode = buffer.getShort(body + 24) & 0xFFFF; // SubFormat GUID 앞 2바이트
+                }
+            } else if (chunkId == fourCc("data")) {
+                if (formatCode < 0) {
+                    throw new IllegalArgumentException("data chunk before fmt chunk");
+                }
+                // 스트리밍 녹음기가 크기를 0 / 0xFFFFFFFF 로 남기는 경우 파일 끝까지 사용
+                long available = end - body;
+                int dataLength = (int) (chunkSize == 0 || chunkSize > available ? available : chunkSize);
+                ByteBuffer data = buffer.duplicate();
+                data.limit(body + dataLength);
+                data.position(body);
+                return new PcmAudio(sampleRate, channels, bitsPerSample,
+                        toEncoding(formatCode, bitsPerSample), data);
+            }
+
+            position = (int) Math.min(end, body + chunkSize + (chunkSize & 1)); // 청크는 짝수 바이트 정렬
+        }
+
+        throw new IllegalArgumentException("No data chunk found");
+    }
+
+    private static PcmAudio.Encoding toEncoding(int formatCode, int bitsPerSample) {
+        if (formatCode == FORMAT_PCM) {
+            return switch (bitsPerSample) {
+                case 8 -> PcmAudio.Encoding.PCM_UNSIGNED;
+                case 16, 24, 32 -> PcmAudio.Encoding.PCM_SIGNED;
+                default -> throw new IllegalArgumentException("Unsupported PCM bit depth: " + bitsPerSample);
+            };
+        }
+        if (formatCode == FORMAT_IEEE_FLOAT && (bitsPerSample == 32 || bitsPerSample == 64)) {
+            return PcmAudio.Encoding.PCM_FLOAT;
+        }
+        throw new IllegalArgumentException("Unsupported WAV format: " + formatCode + "/" + bitsPerSample + "bit");
+    }
+
+    private static int fourCc(String id) {
+        return (id.charAt(0)) | (id.charAt(1) << 8) | (id.charAt(2) << 16) | (id.charAt(3) << 24);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.Alertory.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// ADDED: 16bit PCM WAV 헤더 작성기 (샘플 데이터는 호출자가 헤더 뒤에 직접 기록)
+public final class WavEncoder {
+
+    public static final int HEADER_BYTES = 44;
+
+    private WavEncoder() {
+    }
+
+    /**
+     * dst 현재 위치에 44바이트 PCM WAV 헤더를 기록 (dst 는 LITTLE_ENDIAN 으로 전환됨)
+     */
+    public static void writePcm16Header(ByteBuffer dst, int sampleRate, int channels, int dataBytes) {
+        int blockAlign = channels * 2;
+        dst.order(ByteOrder.LITTLE_ENDIAN)
+                .put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F')
+                .putInt(36 + dataBytes)
+                .put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E')
+                .put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ')
+                .putInt(16)
+                .putShort((short) 1) // PCM
+                .putShort((short) channels)
+                .putInt(sampleRate)
+                .putInt(sampleRate * blockAlign)
+                .putShort((short) blockAlign)
+                .putShort((short) 16)
+                .put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a')
+                .putInt(dataBytes);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.Alertory.audio;
+
+// ADDED: 이벤트 목록용 파형 / 스펙트로그램 미리보기 (클립 전체 대신 수 KB)
+// peaks       : 구간별 [최소, 최대] 모노 샘플을 -127 ~ 127 로 양자화해 번갈아 배치 (길이 = peakCount x 2)
+// spectrogram : 시간 프레임 순서로 mel 밴드 세기(최대값 기준 80dB 범위)를 0 ~ 255 로 양자화 (길이 = frames x bands, 부호 없는 바이트)
+// JSON 에서 byte[] 는 Base64 문자열로 직렬화된다.
+public record WaveformPreview(long durationMs, int sampleRate, int peakCount, byte[] peaks,
+                              int frames, int bands, int maxFrequencyHz, byte[] spectrogram) {
+
+    private static final int FFT_SIZE = 512;
+    private static final double MAX_FREQUENCY = 8000.0;
+    private static final double DYNAMIC_RANGE_DB = 80.0;
+
+    private static final Fft FFT = new Fft(FFT_SIZE);
+    private static final float[] WINDOW = hann(FFT_SIZE);
+
+    /**
+     * PCM 오디오에서 미리보기 계산 (짧은 클립은 구간/프레임 수를 샘플 수에 맞춰 줄임)
+     */
+    public static WaveformPreview compute(PcmAudio audio, int maxPeaks, int maxFrames, int bands) {
+        int frameCount = audio.frameCount();
+        long durationMs = Math.round(audio.durationSeconds() * 1000);
+
+        int peakCount = Math.min(maxPeaks, frameCount);
+        byte[] peaks = new byte[peakCount * 2];
+        for (int bucket = 0; bucket < peakCount; bucket++) {
+            int from = (int) ((long) bucket * frameCount / peakCount);
+            int to = (int) ((long) (bucket + 1) * frameCount / peakCount);
+            float min = 0f;
+            float max = 0f;
+            for (int frame = from; frame < to; frame++) {
+                float sample = audio.monoSample(frame);
+                min = Math.min(min, sample);
+                max = Math.max(max, sample);
+            }
+            peaks[bucket * 2] = quantizeSample(min);
+            peaks[bucket * 2 + 1] = quantizeSample(max);
+        }
+
+        int maxFrequencyHz = (int) Math.min(MAX_FREQUENCY, audio.sampleRate() / 2.0);
+        int frames = frameCount == 0 ? 0 : Math.max(1, Math.min(maxFrames, frameCount / (FFT_SIZE / 2)));
+        byte[] spectrogram = new byte[frames * bands];
+        if (frames > 0) {
+            fillSpectrogram(audio, frames, bands, maxFrequencyHz, spectrogram);
+        }
+        return new WaveformPreview(durationMs, audio.sampleRate(), peakCount, peaks,
+                frames, bands, maxFrequencyHz, spectrogram);
+    }
+
+    // 프레임 중심마다 FFT 한 번 (전체 STFT 대신 frames 번만 계산)
+    private static void fillSpectrogram(PcmAudio audio, int frames, int bands, int maxFrequencyHz, byte[] out) {
+        int frameCount = audio.frameCount();
+        int[] bandEdges = melBandEdges(bands, maxFrequencyHz, audio.sampleRate());
+        float[] re = new float[FFT_SIZE];
+        float[] im = new float[FFT_SIZE];
+        double[] decibels = new double[frames * bands];
+        double peakDb = Double.NEGATIVE_INFINITY;
+
+        for (int frame = 0; frame < frames; frame++) {
+            long center = (long) ((frame + 0.5) * frameCount / frames);
+            long start = center - FFT_SIZE / 2;
+            for (int i = 0; i < FFT_SIZE; i++) {
+                long position = start + i;
+                re[i] = position >= 0 && position < frameCount ? audio.monoSample((int) position) * WINDOW[i] : 0f;
+                im[i] = 0f;
+            }
+            FFT.transform(re, im);
+
+            for (int band = 0; band < bands; band++) {
+                double power = 0.0;
+                for (int bin = bandEdges[band]; bin < bandEdges[band + 1]; bin++) {
+                    power += re[bin] * re[bin] + im[bin] * im[bin];
+                }
+                double db = 10.0 * Math.log10(Math.max(power, 1e-10));
+                decibels[frame * bands + band] = db;
+                peakDb = Math.max(peakDb, db);
+            }
+        }
+
+        double floorDb = peakDb - DYNAMIC_RANGE_DB;
+        for (int i = 0; i < decibels.length; i++) {
+            double level = (decibels[i] - floorDb) / DYNAMIC_RANGE_DB;
+            out[i] = (byte) Math.round(Math.max(0.0, Math.min(1.0, level)) * 255);
+        }
+    }
+
+    // mel 척도로 균등한 밴드 경계 (FFT bin 단위, 밴드마다 최소 1 bin)
+    private static int[] melBandEdges(int bands, int maxFrequencyHz, int sampleRate) {
+        int[] edges = new int[bands + 1];
+        double maxMel = hzToMel(maxFrequencyHz);
+        int maxBin = Math.max(bands, (int) Math.floor(maxFrequencyHz * (double) FFT_SIZE / sampleRate));
+        maxBin = Math.min(maxBin, FFT_SIZE / 2);
+        edges[0] = 1; // 직류 성분 제외
+        for (int band = 1; band <= bands; band++) {
+            double hz = melToHz(maxMel * band / bands);
+            int bin = (int) Math.round(hz * FFT_SIZE / sampleRate);
+            edges[band] = Math.min(maxBin + 1, Math.max(edges[band - 1] + 1, bin));
+        }
+        return edges;
+    }
+
+    private static byte quantizeSample(float sample) {
+        return (byte) Math.round(Math.max(-1f, Math.min(1f, sample)) * 127);
+    }
+
+    private static double hzToMel(double hz) {
+        return 2595.0 * Math.log10(1.0 + hz / 700.0);
+    }
+
+    private static double melToHz(double mel) {
+        return 700.0 * (Math.pow(10.0, mel / 2595.0) - 1.0);
+    }
+
+    private static float[] hann(int size) {
+        float[] window = new float[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2.0 * Math.PI * i / size));
+        }
+        return window;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.Alertory.config;
+
+import com.example.Alertory.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.security.Principal;
+import java.util.Map;
+
+// ADDED: ACTIVE가 아닌 사용자의 WebSocket 연결을 핸드셰이크 단계에서 차단
+// StatusGuardInterceptor / @RequireActiveStatus 는 HTTP 핸들러에만 적용되므로 /ws/** 는 여기서 막는다.
+@Component
+@Slf4j
+public class ActiveStatusHandshakeInterceptor implements HandshakeInterceptor {
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Principal principal = request.getPrincipal();
+        if (principal instanceof Authentication authentication
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof User user
+                && user.getStatus() == User.Status.ACTIVE) {
+            return true;
+        }
+
+        log.warn("WebSocket 핸드셰이크 거부 - 활성 사용자 아님: {}, 경로: {}",
+                principal != null ? principal.getName() : null, request.getURI().getPath());
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        return false;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -6,6 +6,7 @@ import com.example.Alertory.entity.User;
 import com.example.Alertory.repository.EventRepository;
 import com.example.Alertory.repository.SettingsRepository;
 import com.example.Alertory.repository.UserRepository;
+import com.example.Alertory.service.EventRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,6 +14,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 // CHANGED: 운영 환경에서 DataLoader 실행 제어
 @Component
@@ -28,6 +31,7 @@ public class DataLoader implements CommandLineRunner {
     private final EventRepository eventRepository;
     private final SettingsRepository settingsRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EventRollupService eventRollupService; // ADDED: 샘플 이벤트도 시간별 집계에 반영
     
     @Override
     public void run(String... args) throws Exception {
@@ -94,6 +98,7 @@ public class DataLoader implements CommandLineRunner {
         // 샘플 이벤트 생성
         if (eventRepository.count() == 0) {
             String[] locations = {"A공장 1층", "A공장 2층", "A공장 3층", "B공장 1층", "B공장 2층", "B공장 3층"};
+            List<Event> samples = new ArrayList<>();
             
             for (int i = 1; i <= 15; i++) {
                 Event event = Event.builder()
@@ -103,8 +108,10 @@ public class DataLoader implements CommandLineRunner {
                         .status(i % 4 == 0 ? Event.EventStatus.ACKNOWLEDGED : Event.EventStatus.NEW)
                         .detectedAt(LocalDateTime.now().minusHours(i))
                         .build();
-                eventRepository.save(event);
+                samples.add(eventRepository.save(event));
             }
+            // ADDED: 집계 백필은 기동 전에 끝나므로 샘플 이벤트는 직접 반영
+            eventRollupService.recordCreatedAll(samples);
             System.out.println("=== Sample Events Created ===");
         }
         
@@ -0,0 +1,31 @@
+package com.example.Alertory.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+// ADDED: 블로킹 작업(JPA 저장 등) 실행 스케줄러 설정
+// spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리와 함께 분석 후처리도 가상 스레드에서 실행
+@Configuration
+@Slf4j
+public class ThreadingConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler analysisScheduler(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            log.info("가상 스레드 모드 활성화 - 요청 처리 및 AI 호출 후처리를 가상 스레드에서 실행");
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-vt-", 0).factory()),
+                    "analysis-vt");
+        }
+        return Schedulers.newBoundedElastic(
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                "analysis");
+    }
+}
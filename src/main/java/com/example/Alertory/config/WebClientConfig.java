@@ -1,21 +1,34 @@
 package com.example.Alertory.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 
 // CHANGED: AI 서버 통신용 WebClient 설정 (타임아웃 추가)
+// CHANGED: 분석 요청과 헬스 체크의 커넥션 풀 분리 (벌크헤드)
 @Configuration
 public class WebClientConfig {
     
     @Bean
-    public WebClient webClient() {
+    @Primary
+    public WebClient webClient(
+            @Value("${app.ai-server.pool.max-connections:100}") int maxConnections,
+            @Value("${app.ai-server.pool.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMillis) {
+        // ADDED: 분석 요청 전용 커넥션 풀 (풀이 가득 차면 대기 후 실패)
+        ConnectionProvider provider = ConnectionProvider.builder("ai-analysis")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .build();
+
         // CHANGED: 타임아웃 설정 (30초로 증가 - AI 모델 추론 시간 고려)
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(provider)
                 .responseTimeout(Duration.ofSeconds(30))
                 .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000);
         
@@ -24,4 +37,22 @@ public class WebClientConfig {
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
                 .build();
     }
-}
\ No newline at end of file
+
+    // ADDED: AI 서버 헬스 체크 전용 WebClient (작은 별도 풀 + 짧은 타임아웃, 분석 요청이 밀려도 헬스 체크는 즉시 응답)
+    @Bean
+    public WebClient aiHealthWebClient(
+            @Value("${app.ai-server.health.timeout-ms:3000}") long timeoutMillis) {
+        ConnectionProvider provider = ConnectionProvider.builder("ai-health")
+                .maxConnections(4)
+                .pendingAcquireTimeout(Duration.ofMillis(timeoutMillis))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .responseTimeout(Duration.ofMillis(timeoutMillis))
+                .option(io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeoutMillis);
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Alertory.config;
+
+import com.example.Alertory.websocket.AudioStreamHandler;
+import com.example.Alertory.websocket.LiveUpdateHandler;
+import jakarta.servlet.ServletContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+// ADDED: 실시간 오디오 스트리밍 WebSocket 설정 (세션 인증은 SecurityConfig 의 anyRequest().authenticated() 적용)
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AudioStreamHandler audioStreamHandler;
+    private final LiveUpdateHandler liveUpdateHandler;
+    private final ActiveStatusHandshakeInterceptor activeStatusHandshakeInterceptor; // ADDED: ACTIVE 사용자만 연결 허용
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(audioStreamHandler, "/ws/audio")
+                .addInterceptors(activeStatusHandshakeInterceptor)
+                .setAllowedOrigins("http://localhost:5173"); // 프론트엔드 포트 (CORS 설정과 동일)
+        // ADDED: 대시보드 실시간 푸시 (새 이벤트 / 알림)
+        registry.addHandler(liveUpdateHandler, "/ws/live")
+                .addInterceptors(activeStatusHandshakeInterceptor) // ADDED: 대기/정지 계정은 /api/events/ 와 마찬가지로 차단
+                .setAllowedOrigins("http://localhost:5173");
+    }
+
+    // ADDED: 바이너리 메시지 최대 크기 / 유휴 연결 타임아웃
+    // CHANGED: 목 서블릿 환경(@SpringBootTest 기본)에는 WebSocket 컨테이너가 없으므로 있을 때만 적용
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer(
+            @Value("${app.stream.max-message-bytes:65536}") int maxMessageBytes,
+            @Value("${app.stream.idle-timeout-ms:60000}") long idleTimeoutMillis) {
+        ServletServerContainerFactoryBean container = new OptionalServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(maxMessageBytes);
+        container.setMaxSessionIdleTimeout(idleTimeoutMillis);
+        return container;
+    }
+
+    private static class OptionalServerContainerFactoryBean extends ServletServerContainerFactoryBean {
+
+        private boolean containerPresent;
+
+        @Override
+        public void setServletContext(ServletContext servletContext) {
+            super.setServletContext(servletContext);
+            containerPresent = servletContext.getAttribute("jakarta.websocket.server.ServerContainer") != null;
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            if (containerPresent) {
+                super.afterPropertiesSet();
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.Alertory.controller;
 import com.example.Alertory.dto.UserDto;
 import com.example.Alertory.entity.User;
 import com.example.Alertory.entity.UserActivityLog;
+import com.example.Alertory.service.EventRollupService;
 import com.example.Alertory.service.UserService;
 import com.example.Alertory.service.UserActivityLogService;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,6 +28,7 @@ public class AdminController {
     
     private final UserService userService;
     private final UserActivityLogService activityLogService;
+    private final EventRollupService eventRollupService;
     
     // 모든 사용자 조회
     @GetMapping("/users")
@@ -116,4 +119,19 @@ public class AdminController {
         Page<UserActivityLog> logs = activityLogService.getUserLogs(userId, pageable);
         return ResponseEntity.ok(logs);
     }
-}
\ No newline at end of file
+    
+    // ADDED: 시간별 이벤트 집계 재구축 (백필 / 불일치 복구, 날짜는 yyyy-MM-dd, 종료일 포함)
+    @PostMapping("/analytics/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildEventRollups(
+            @RequestParam String startDate,
+            @RequestParam(required = false) String endDate) {
+        try {
+            LocalDate from = LocalDate.parse(startDate);
+            LocalDate to = endDate == null || endDate.isEmpty() ? LocalDate.now() : LocalDate.parse(endDate);
+            int buckets = eventRollupService.rebuild(from, to);
+            return ResponseEntity.ok(Map.of("success", true, "buckets", buckets));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+}
@@ -3,33 +3,44 @@ package com.example.Alertory.controller;
 import com.example.Alertory.annotation.RequireActiveStatus;
 import com.example.Alertory.dto.AiAnalysisResponse;
 import com.example.Alertory.entity.Event;
-import com.example.Alertory.repository.EventRepository;
+import com.example.Alertory.service.ActivityLogWriter;
+import com.example.Alertory.service.AiBatchClient;
+import com.example.Alertory.service.AiEndpointPool;
+import com.example.Alertory.service.AiServerClient;
+import com.example.Alertory.service.AiServerException;
+import com.example.Alertory.service.AiServerGuard;
+import com.example.Alertory.service.AnalysisJobService;
+import com.example.Alertory.service.AnalysisResultCache;
+import com.example.Alertory.service.AudioAnalysisService;
+import com.example.Alertory.service.AudioBlobStore;
+import com.example.Alertory.service.AudioFeatureService;
+import com.example.Alertory.service.AudioIngestService;
+import com.example.Alertory.service.AudioPreviewService;
+import com.example.Alertory.service.AudioWindowingService;
 import com.example.Alertory.service.CustomUserDetailsService;
+import com.example.Alertory.service.EnergyGateService;
+import com.example.Alertory.service.InferencePriorityScheduler;
+import com.example.Alertory.service.RetentionSweeper;
+import com.example.Alertory.service.SettingsService;
+import com.example.Alertory.websocket.AudioStreamHandler;
+import com.example.Alertory.websocket.LiveUpdateHandler;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientRequestException;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.MediaType;
-
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 
 // CHANGED: 파일 검증, 인증 체크, 로깅 강화
 @RestController
@@ -38,14 +49,25 @@ import java.util.UUID;
 @Slf4j
 public class AudioController {
     
-    private final EventRepository eventRepository;
-    private final WebClient webClient;
-    private final ObjectMapper objectMapper;
-    private final String uploadDir = "uploads/audio/";
-    
-    // ADDED: AI 서버 URL 설정값 주입
-    @Value("${app.ai-server.url:http://localhost:8001}")
-    private String aiServerUrl;
+    private final AiServerClient aiServerClient;
+    private final AiBatchClient aiBatchClient;
+    private final AudioIngestService audioIngestService;
+    private final AudioAnalysisService audioAnalysisService;
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisResultCache analysisResultCache;
+    private final EnergyGateService energyGateService;
+    private final AudioFeatureService audioFeatureService;
+    private final AudioWindowingService audioWindowingService;
+    private final AudioBlobStore audioBlobStore;
+    private final AudioStreamHandler audioStreamHandler;
+    private final AiServerGuard aiServerGuard;
+    private final AiEndpointPool aiEndpointPool;
+    private final InferencePriorityScheduler inferencePriorityScheduler;
+    private final RetentionSweeper retentionSweeper;
+    private final AudioPreviewService audioPreviewService;
+    private final ActivityLogWriter activityLogWriter; // ADDED
+    private final LiveUpdateHandler liveUpdateHandler; // ADDED
+    private final SettingsService settingsService; // ADDED: 탐지 시간대 판정 (메모리 스냅샷)
     
     // ADDED: 허용되는 파일 확장자
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of(".wav", ".mp3", ".m4a", ".flac", ".webm", ".aac", ".ogg");
@@ -60,35 +82,56 @@ public class AudioController {
         
         try {
             // AI 서버 연결 테스트
-            String response = webClient.get()
-                    .uri(aiServerUrl + "/health")
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+            String response = aiServerClient.health().block();
             
             health.put("aiServer", "connected");
-            health.put("aiServerUrl", aiServerUrl);
+            health.put("aiServerUrl", aiServerClient.getAiServerUrl());
             health.put("aiServerResponse", response);
             
         } catch (Exception e) {
             health.put("aiServer", "disconnected");
-            health.put("aiServerUrl", aiServerUrl);
+            health.put("aiServerUrl", aiServerClient.getAiServerUrl());
             health.put("aiServerError", e.getMessage());
         }
         
-        health.put("uploadDir", uploadDir);
+        health.put("uploadDir", audioIngestService.getUploadDir());
         health.put("maxFileSize", MAX_FILE_SIZE / (1024 * 1024) + "MB");
         health.put("allowedExtensions", ALLOWED_EXTENSIONS);
+        health.put("pendingAsyncJobs", analysisJobService.getPendingJobCount());
         
         return ResponseEntity.ok(health);
     }
     
+    // ADDED: AI 분석 파이프라인 지표 조회
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("pendingAsyncJobs", analysisJobService.getPendingJobCount());
+        metrics.put("inferenceQueue", inferencePriorityScheduler.getMetrics());
+        metrics.put("aiGuard", aiServerGuard.getMetrics());
+        metrics.put("aiEndpoints", aiEndpointPool.getMetrics());
+        metrics.put("aiBatch", aiBatchClient.getMetrics());
+        metrics.put("resultCache", analysisResultCache.getMetrics());
+        metrics.put("energyGate", energyGateService.getMetrics());
+        metrics.put("featureExtraction", audioFeatureService.getMetrics());
+        metrics.put("windowing", audioWindowingService.getMetrics());
+        metrics.put("blobStore", audioBlobStore.getMetrics());
+        metrics.put("retention", retentionSweeper.getMetrics());
+        metrics.put("preview", audioPreviewService.getMetrics());
+        metrics.put("activityLog", activityLogWriter.getMetrics()); // ADDED: 활동 로그 지연 기록 큐
+        metrics.put("live", liveUpdateHandler.getMetrics()); // ADDED: 실시간 푸시 구독자 / 느린 구독자 종료
+        metrics.put("settings", settingsService.getMetrics()); // ADDED: 설정 스냅샷 / 탐지 시간대 밖 생략 건수
+        metrics.put("stream", audioStreamHandler.getMetrics());
+        return ResponseEntity.ok(metrics);
+    }
+    
     // CHANGED: 파일 검증, 인증 체크, 로깅 추가
     @PostMapping("/analyze")
     @RequireActiveStatus
     public ResponseEntity<Map<String, Object>> analyzeAudio(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "locationLabel", required = false, defaultValue = "A공장 1층") String locationLabel,
+            @RequestParam(value = "async", required = false, defaultValue = "false") boolean async,
             @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal
     ) {
         // ADDED: 인증 체크
@@ -101,79 +144,79 @@ public class AudioController {
         log.info("오디오 분석 요청 수신 - 사용자: {}, 파일: {}, 크기: {}KB", 
                 userEmail, file.getOriginalFilename(), file.getSize() / 1024);
         
-        String savedFilePath = null;
+        // ADDED: 탐지 시간대 밖이면 저장 / AI 분석 없이 바로 응답
+        if (!settingsService.policyFor(locationLabel).isActiveAt(LocalTime.now())) {
+            return createOutOfScheduleResponse(locationLabel);
+        }
         
         try {
             // ADDED: 파일 검증
             validateUploadedFile(file);
             
-            // 업로드 디렉토리 생성
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // CHANGED: Files.copy 대신 FileChannel 전송으로 최종 위치에 한 번만 기록
+            AudioIngestService.StoredAudio storedAudio;
+            try (ReadableByteChannel source = Channels.newChannel(file.getInputStream())) {
+                storedAudio = audioIngestService.store(source, file.getOriginalFilename(), MAX_FILE_SIZE);
             }
             
-            // 파일 저장 (고유한 파일명 생성)
-            String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath);
-            savedFilePath = filePath.toAbsolutePath().toString();
-            
-            log.info("파일 업로드 완료 - 경로: {}", savedFilePath);
+            return analyzeStoredAudio(storedAudio, locationLabel, userEmail, async);
+
+        } catch (FileValidationException e) {
+            log.warn("파일 검증 실패 - 사용자: {}, 오류: {}", userEmail, e.getMessage());
+            return createErrorResponse(e.getMessage(), 400);
             
-            // ADDED: AI 서버 호출 (로깅 추가)
-            log.info("AI 서버 요청 시작 - URL: {}/predict", aiServerUrl);
-            AiAnalysisResponse aiResponse = callAiServer(filePath);
+        } catch (IOException e) {
+            log.error("파일 업로드 실패 - 사용자: {}, 오류: {}", userEmail, e.getMessage(), e);
+            return createErrorResponse("파일 업로드 중 오류가 발생했습니다: " + e.getMessage(), 400);
             
-            // ADDED: AI 서버 응답 전체 로깅
-            log.info("AI 서버 응답 전체: label={}, confidence={}, text={}, isDanger={}", 
-                    aiResponse.getLabel(), aiResponse.getConfidence(), 
-                    aiResponse.getText(), aiResponse.getIsDanger());
+        } catch (Exception e) {
+            log.error("예상치 못한 오류 발생 - 사용자: {}, 오류: {}", userEmail, e.getMessage(), e);
+            return createErrorResponse("서버 내부 오류가 발생했습니다.", 500);
+        }
+    }
+    
+    // ADDED: multipart 임시 파일 없이 요청 본문을 그대로 스트리밍 수신하는 분석 엔드포인트
+    @PostMapping(value = "/analyze/stream", consumes = {
+            MediaType.APPLICATION_OCTET_STREAM_VALUE, "audio/*"
+    })
+    @RequireActiveStatus
+    public ResponseEntity<Map<String, Object>> analyzeAudioStream(
+            @RequestParam("filename") String filename,
+            @RequestParam(value = "locationLabel", required = false, defaultValue = "A공장 1층") String locationLabel,
+            @RequestParam(value = "async", required = false, defaultValue = "false") boolean async,
+            HttpServletRequest request,
+            @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal
+    ) {
+        if (principal == null) {
+            log.warn("인증되지 않은 사용자의 오디오 분석 요청");
+            return createErrorResponse("로그인이 필요합니다.", 401);
+        }
+        
+        String userEmail = principal.getUsername();
+        long contentLength = request.getContentLengthLong();
+        log.info("오디오 스트리밍 분석 요청 수신 - 사용자: {}, 파일: {}, 크기: {}KB", 
+                userEmail, filename, contentLength / 1024);
+        
+        // ADDED: 탐지 시간대 밖이면 본문을 받지 않고 바로 응답
+        if (!settingsService.policyFor(locationLabel).isActiveAt(LocalTime.now())) {
+            return createOutOfScheduleResponse(locationLabel);
+        }
+        
+        try {
+            validateFileMetadata(filename, contentLength);
             
-            // ADDED: AI 응답 유효성 검증
-            if (!aiResponse.isValid()) {
-                String validationError = aiResponse.getValidationError();
-                log.warn("AI 서버 응답 검증 실패: {}", validationError);
-                
-                return createErrorResponse(
-                    "AI 분석 결과가 유효하지 않습니다: " + validationError,
-                    502
-                );
+            AudioIngestService.StoredAudio storedAudio;
+            try (ReadableByteChannel source = Channels.newChannel(request.getInputStream())) {
+                storedAudio = audioIngestService.store(source, filename, MAX_FILE_SIZE);
+            }
+            if (storedAudio.size() == 0) {
+                audioIngestService.discard(storedAudio);
+                throw new FileValidationException("업로드할 파일을 선택해주세요.");
             }
             
-            // CHANGED: Event 엔티티 생성 및 저장 (AI 응답 필드 추가)
-            Event event = Event.builder()
-                    .eventType(aiResponse.getLabel())
-                    .confidence(aiResponse.getConfidence()) // 0-100 그대로 저장
-                    .audioFilePath(savedFilePath)
-                    .detectedAt(LocalDateTime.now())
-                    .locationLabel(locationLabel)
-                    .status(Event.EventStatus.NEW)
-                    .build();
-            
-            Event savedEvent = eventRepository.save(event);
-            
-            log.info("DB 저장 완료 - Event ID: {}, Type: {}, Confidence: {:.1f}%", 
-                    savedEvent.getId(), savedEvent.getEventType(), savedEvent.getConfidence());
-            
-            // CHANGED: 성공 응답 생성 (AI 응답 필드 모두 포함)
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("eventId", savedEvent.getId());
-            response.put("eventType", aiResponse.getLabel());
-            response.put("confidence", aiResponse.getConfidence()); // 0-100 그대로 전달
-            response.put("text", aiResponse.getText());
-            response.put("isDanger", aiResponse.getIsDanger());
-            response.put("dangerLevel", aiResponse.getIsDanger() ? "위험" : "안전"); // 추가
-            response.put("description", aiResponse.getText()); // 설명 필드 추가
-            response.put("locationLabel", savedEvent.getLocationLabel());
-            response.put("detectedAt", savedEvent.getDetectedAt());
-            response.put("audioFilePath", savedFilePath);
-            response.put("message", "오디오 분석이 완료되었습니다.");
+            return analyzeStoredAudio(storedAudio, locationLabel, userEmail, async);
             
-            return ResponseEntity.ok(response);
-
-        } catch (FileValidationException e) {
+        } catch (FileValidationException | AudioIngestService.UploadTooLargeException e) {
             log.warn("파일 검증 실패 - 사용자: {}, 오류: {}", userEmail, e.getMessage());
             return createErrorResponse(e.getMessage(), 400);
             
@@ -181,6 +224,35 @@ public class AudioController {
             log.error("파일 업로드 실패 - 사용자: {}, 오류: {}", userEmail, e.getMessage(), e);
             return createErrorResponse("파일 업로드 중 오류가 발생했습니다: " + e.getMessage(), 400);
             
+        } catch (Exception e) {
+            log.error("예상치 못한 오류 발생 - 사용자: {}, 오류: {}", userEmail, e.getMessage(), e);
+            return createErrorResponse("서버 내부 오류가 발생했습니다.", 500);
+        }
+    }
+    
+    // ADDED: 저장된 오디오에 대해 AI 분석 및 이벤트 저장 수행 (multipart/스트리밍 공통)
+    // CHANGED: async=true 이면 작업만 등록하고 202 Accepted 반환
+    private ResponseEntity<Map<String, Object>> analyzeStoredAudio(
+            AudioIngestService.StoredAudio storedAudio, String locationLabel, String userEmail, boolean async) {
+        log.info("파일 업로드 완료 - 경로: {}", storedAudio.path());
+        
+        try {
+            if (async) {
+                AnalysisJobService.AnalysisJob job = analysisJobService.submit(storedAudio, locationLabel, userEmail);
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("jobId", job.getJobId());
+                response.put("status", job.getStatus());
+                response.put("statusUrl", "/api/audio/jobs/" + job.getJobId());
+                response.put("message", "오디오 분석 작업이 등록되었습니다.");
+                
+                return ResponseEntity.accepted().body(response);
+            }
+            
+            AudioAnalysisService.AnalysisResult result = audioAnalysisService.analyze(storedAudio, locationLabel);
+            return ResponseEntity.ok(createAnalysisResponse(result));
+
         } catch (AiServerException e) {
             log.warn("AI 서버 연결 실패 - 사용자: {}, 오류: {}", userEmail, e.getMessage());
             return createErrorResponse(e.getMessage(), e.getStatusCode());
@@ -191,6 +263,71 @@ public class AudioController {
         }
     }
     
+    // ADDED: 비동기 분석 작업 상태 조회
+    @GetMapping("/jobs/{jobId}")
+    @RequireActiveStatus
+    public ResponseEntity<Map<String, Object>> getAnalysisJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal
+    ) {
+        if (principal == null) {
+            return createErrorResponse("로그인이 필요합니다.", 401);
+        }
+        
+        return analysisJobService.findJob(jobId, principal.getUsername())
+                .map(job -> {
+                    Map<String, Object> response = switch (job.getStatus()) {
+                        case COMPLETED -> createAnalysisResponse(job.getResult());
+                        case FAILED -> {
+                            Map<String, Object> failed = new HashMap<>();
+                            failed.put("success", false);
+                            failed.put("message", job.getErrorMessage());
+                            failed.put("errorStatus", job.getErrorStatusCode());
+                            yield failed;
+                        }
+                        case PENDING -> {
+                            Map<String, Object> pending = new HashMap<>();
+                            pending.put("success", true);
+                            pending.put("message", "오디오 분석이 진행 중입니다.");
+                            yield pending;
+                        }
+                    };
+                    response.put("jobId", job.getJobId());
+                    response.put("status", job.getStatus());
+                    response.put("submittedAt", job.getSubmittedAt());
+                    response.put("completedAt", job.getCompletedAt());
+                    return ResponseEntity.ok(response);
+                })
+                .orElseGet(() -> createErrorResponse("분석 작업을 찾을 수 없습니다.", 404));
+    }
+    
+    // CHANGED: 성공 응답 생성 (AI 응답 필드 모두 포함)
+    private Map<String, Object> createAnalysisResponse(AudioAnalysisService.AnalysisResult result) {
+        AiAnalysisResponse aiResponse = result.aiResponse();
+        Event savedEvent = result.event();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("eventId", savedEvent.getId());
+        response.put("eventType", aiResponse.getLabel());
+        response.put("confidence", aiResponse.getConfidence()); // 0-100 그대로 전달
+        response.put("text", aiResponse.getText());
+        response.put("isDanger", aiResponse.getIsDanger());
+        response.put("dangerLevel", aiResponse.getIsDanger() ? "위험" : "안전"); // 추가
+        response.put("description", aiResponse.getText()); // 설명 필드 추가
+        response.put("locationLabel", savedEvent.getLocationLabel());
+        response.put("detectedAt", savedEvent.getDetectedAt());
+        response.put("audioBlobId", savedEvent.getAudioBlobId()); // CHANGED: 파일 경로 대신 저장소 blob id
+        response.put("peakOffsetMs", savedEvent.getPeakOffsetMs()); // ADDED: 긴 녹음 최고 신뢰도 구간 위치
+        if (result.events().size() > 1) {
+            response.put("eventIds", result.events().stream().map(Event::getId).toList()); // ADDED: 구간별 이벤트
+        }
+        response.put("cached", result.source() == AudioAnalysisService.ResultSource.CACHE);
+        response.put("resultSource", result.source());
+        response.put("message", "오디오 분석이 완료되었습니다.");
+        return response;
+    }
+    
     // ADDED: 파일 검증 메서드
     private void validateUploadedFile(MultipartFile file) throws FileValidationException {
         // 파일 존재 확인
@@ -198,8 +335,12 @@ public class AudioController {
             throw new FileValidationException("업로드할 파일을 선택해주세요.");
         }
         
+        validateFileMetadata(file.getOriginalFilename(), file.getSize());
+    }
+    
+    // ADDED: 파일명/크기 검증 (multipart/스트리밍 업로드 공통)
+    private void validateFileMetadata(String originalFilename, long size) throws FileValidationException {
         // 파일명 확인
-        String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
             throw new FileValidationException("올바른 파일명이 필요합니다.");
         }
@@ -213,8 +354,8 @@ public class AudioController {
             );
         }
         
-        // 파일 크기 검증
-        if (file.getSize() > MAX_FILE_SIZE) {
+        // 파일 크기 검증 (스트리밍 업로드에서 길이를 모르면 -1, 저장 중에 다시 검사)
+        if (size > MAX_FILE_SIZE) {
             throw new FileValidationException(
                 String.format("파일 크기가 너무 큽니다. 최대 크기: %.1fMB", 
                     MAX_FILE_SIZE / (1024.0 * 1024.0))
@@ -222,7 +363,7 @@ public class AudioController {
         }
         
         log.debug("파일 검증 통과 - 파일명: {}, 크기: {}KB, 확장자: {}", 
-                originalFilename, file.getSize() / 1024, extension);
+                originalFilename, size / 1024, extension);
     }
     
     // ADDED: 파일 확장자 추출 헬퍼 메서드
@@ -243,52 +384,20 @@ public class AudioController {
             @AuthenticationPrincipal CustomUserDetailsService.CustomUserPrincipal principal
     ) {
         // analyze 메서드로 리다이렉트
-        return analyzeAudio(file, locationLabel, principal);
+        return analyzeAudio(file, locationLabel, false, principal);
     }
     
-    // ADDED: AI 서버 호출 메서드 (에러 처리 분리)
-    private AiAnalysisResponse callAiServer(Path filePath) throws AiServerException {
-        try {
-            log.debug("AI 서버 호출 시작: {}", filePath.getFileName());
-            
-            // MultiValueMap을 직접 생성하여 multipart 데이터 구성
-            org.springframework.util.MultiValueMap<String, Object> parts = 
-                new org.springframework.util.LinkedMultiValueMap<>();
-            parts.add("file", new FileSystemResource(filePath.toFile()));
-            
-            String responseJson = webClient.post()
-                    .uri(aiServerUrl + "/predict")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(parts))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            
-            if (responseJson == null || responseJson.trim().isEmpty()) {
-                throw new AiServerException("AI 서버로부터 빈 응답을 받았습니다.", 502);
-            }
-            
-            // JSON 파싱
-            AiAnalysisResponse aiResponse = objectMapper.readValue(responseJson, AiAnalysisResponse.class);
-            log.debug("AI 분석 완료: label={}, confidence={}", aiResponse.getLabel(), aiResponse.getConfidence());
-            
-            return aiResponse;
-            
-        } catch (WebClientRequestException e) {
-            // 연결 실패, 타임아웃 등
-            log.warn("AI 서버 연결 실패 (요청 오류): {}", e.getMessage());
-            throw new AiServerException("AI 분석 서버에 연결할 수 없습니다.", 503);
-            
-        } catch (WebClientResponseException e) {
-            // AI 서버에서 4xx, 5xx 응답
-            log.warn("AI 서버 응답 오류: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new AiServerException("AI 분석 서버에서 오류가 발생했습니다.", 502);
-            
-        } catch (Exception e) {
-            // JSON 파싱 오류 등
-            log.warn("AI 서버 응답 처리 실패: {}", e.getMessage());
-            throw new AiServerException("AI 분석 결과를 처리할 수 없습니다.", 502);
-        }
+    // ADDED: 탐지 시간대(SCHEDULED 모드) 밖 요청 응답 (이벤트 없음)
+    private ResponseEntity<Map<String, Object>> createOutOfScheduleResponse(String locationLabel) {
+        settingsService.recordOutOfSchedule();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("skipped", true);
+        response.put("reason", "OUT_OF_SCHEDULE");
+        response.put("locationLabel", locationLabel);
+        response.put("message", "탐지 시간대가 아니어서 분석하지 않았습니다.");
+        response.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.ok(response);
     }
     
     // ADDED: 에러 응답 생성 헬퍼 메서드
@@ -307,18 +416,4 @@ public class AudioController {
             super(message);
         }
     }
-    
-    // ADDED: AI 서버 관련 예외 클래스
-    private static class AiServerException extends Exception {
-        private final int statusCode;
-        
-        public AiServerException(String message, int statusCode) {
-            super(message);
-            this.statusCode = statusCode;
-        }
-        
-        public int getStatusCode() {
-            return statusCode;
-        }
-    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.Alertory.controller;
 
 import com.example.Alertory.entity.Event;
 import com.example.Alertory.repository.EventRepository;
+import com.example.Alertory.service.EventRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +17,7 @@ import java.util.Map;
 public class DashboardController {
     
     private final EventRepository eventRepository;
+    private final EventRollupService eventRollupService; // ADDED: 위치별 합계
     
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboard(
@@ -23,33 +25,28 @@ public class DashboardController {
         Map<String, Object> dashboard = new HashMap<>();
         
         // 최근 이벤트 10개 (위치 필터링 적용)
-        List<Event> recentEvents;
-        if (location != null && !location.isEmpty()) {
-            recentEvents = eventRepository.findAll().stream()
-                .filter(e -> e.getLocationLabel().equals(location))
-                .sorted((e1, e2) -> e2.getDetectedAt().compareTo(e1.getDetectedAt()))
-                .limit(10)
-                .toList();
-        } else {
-            recentEvents = eventRepository.findTop10ByOrderByDetectedAtDesc();
-        }
+        // CHANGED: 전체 이벤트를 메모리로 읽어 정렬/집계하지 않고 인덱스 조회 + DB 건수 집계로 처리
+        boolean filtered = location != null && !location.isEmpty();
+        List<Event> recentEvents = filtered
+            ? eventRepository.findTop10ByLocationLabelOrderByDetectedAtDesc(location)
+            : eventRepository.findTop10ByOrderByDetectedAtDesc();
         dashboard.put("recentEvents", recentEvents);
         
         // 통계 정보 (위치 필터링 적용)
-        List<Event> filteredEvents;
-        if (location != null && !location.isEmpty()) {
-            filteredEvents = eventRepository.findAll().stream()
-                .filter(e -> e.getLocationLabel().equals(location))
-                .toList();
+        // CHANGED: 합계는 이벤트 테이블 건수 집계(전체 스캔) 대신 유지 중인 위치 x 상태별 합계에서 읽음
+        long totalEvents;
+        long newEvents;
+        if (eventRollupService.isEnabled()) {
+            Map<Event.EventStatus, Long> counts = eventRollupService.countByStatus(filtered ? location : null);
+            totalEvents = counts.values().stream().mapToLong(Long::longValue).sum();
+            newEvents = counts.getOrDefault(Event.EventStatus.NEW, 0L);
         } else {
-            filteredEvents = eventRepository.findAll();
+            totalEvents = filtered ? eventRepository.countByLocationLabel(location) : eventRepository.count();
+            newEvents = filtered
+                ? eventRepository.countByLocationLabelAndStatus(location, Event.EventStatus.NEW)
+                : eventRepository.countByStatus(Event.EventStatus.NEW);
         }
         
-        long totalEvents = filteredEvents.size();
-        long newEvents = filteredEvents.stream()
-            .mapToLong(e -> e.getStatus() == Event.EventStatus.NEW ? 1 : 0)
-            .sum();
-        
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalEvents", totalEvents);
         stats.put("newEvents", newEvents);
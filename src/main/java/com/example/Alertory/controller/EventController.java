@@ -1,25 +1,37 @@
 package com.example.Alertory.controller;
 
 import com.example.Alertory.annotation.RequireActiveStatus;
+import com.example.Alertory.audio.WaveformPreview;
 import com.example.Alertory.dto.EventDto;
 import com.example.Alertory.entity.Event;
+import com.example.Alertory.service.AudioDownloadService;
+import com.example.Alertory.service.AudioPreviewService;
 import com.example.Alertory.service.EventService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 // CHANGED: ACTIVE 상태 사용자만 이벤트 관련 기능 사용 가능
 @RestController
@@ -28,7 +40,15 @@ import java.time.LocalDateTime;
 @RequireActiveStatus
 public class EventController {
     
+    // ADDED: Tomcat sendfile 요청 속성 (NIO 커넥터가 지원할 때 support 속성이 TRUE)
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    
     private final EventService eventService;
+    private final AudioDownloadService audioDownloadService;
+    private final AudioPreviewService audioPreviewService;
     
     /**
      * 이벤트 생성
@@ -56,25 +76,68 @@ public class EventController {
         }
     }
     
+    /**
+     * ADDED: 이벤트 일괄 생성 (엣지 게이트웨이 수집분)
+     * POST /api/events/batch
+     * 검증을 통과한 항목만 한 트랜잭션으로 저장하고 거부된 항목은 errors 에 index 와 함께 반환
+     * 하나라도 저장되면 201, 모두 거부되면 400
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createEvents(@RequestBody List<EventDto.CreateRequest> requests) {
+        try {
+            EventDto.BatchResponse result = eventService.createEvents(requests);
+            HttpStatus status = result.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(result);
+        } catch (IllegalArgumentException e) {
+            EventDto.ErrorResponse errorResponse = new EventDto.ErrorResponse(
+                "Validation failed",
+                e.getMessage(),
+                "events"
+            );
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            EventDto.ErrorResponse errorResponse = new EventDto.ErrorResponse(
+                "Internal server error",
+                "Failed to create events: " + e.getMessage(),
+                null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
     /**
      * 이벤트 목록 조회 (필터링 및 페이징)
      * GET /api/events
+     * ADDED: cursor 파라미터가 있으면 (빈 값 = 첫 페이지) 커서 페이지 응답 - nextCursor 로 다음 페이지 요청,
+     * 전체 건수는 includeTotal=true 일 때만 계산
      */
     @GetMapping
-    public ResponseEntity<Page<EventDto>> getEvents(
+    public ResponseEntity<?> getEvents(
             @RequestParam(required = false) String eventType,
             @RequestParam(required = false) Event.EventStatus status,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
         // size 최대값 제한
         if (size > 100) {
             size = 100;
         }
         
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(eventService.getEventsByCursor(
+                        eventType, status, location, startDate, endDate, cursor, Math.max(size, 1), includeTotal));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest()
+                    .body(new EventDto.ErrorResponse("Invalid cursor", e.getMessage(), "cursor"));
+            }
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
         Page<EventDto> events = eventService.getEvents(
                 eventType, status, location, startDate, endDate, pageable);
@@ -123,32 +186,194 @@ public class EventController {
     /**
      * 오디오 파일 다운로드
      * GET /api/events/{id}/audio
+     * CHANGED: 단일 Range 요청은 206 부분 응답, ETag / Last-Modified 조건부 요청은 304,
+     * 본문은 Tomcat sendfile (미지원 시 FileChannel.transferTo) 로 힙에 올리지 않고 전송
      */
     @GetMapping("/{id}/audio")
-    public ResponseEntity<Resource> downloadAudio(@PathVariable Long id) {
+    public void downloadAudio(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<AudioDownloadService.AudioSource> resolved;
         try {
-            EventDto eventDto = eventService.getEventById(id);
-            
-            if (eventDto.getAudioFilePath() == null || eventDto.getAudioFilePath().isEmpty()) {
-                return ResponseEntity.notFound().build();
+            resolved = audioDownloadService.resolve(eventService.getEventById(id));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (resolved.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        AudioDownloadService.AudioSource source = resolved.get();
+
+        response.setHeader(HttpHeaders.ETAG, source.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, source.lastModifiedMillis());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (isNotModified(request, source)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long length = source.length();
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, source)) {
+            ByteRange range = parseRange(rangeHeader, source.length());
+            if (range == ByteRange.UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + source.length());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
             }
-            
-            Path filePath = Paths.get(eventDto.getAudioFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            if (resource.exists() && resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                               "attachment; filename=\"event_" + id + "_audio.wav\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
+            if (range != null) {
+                start = range.start();
+                length = range.end() - range.start() + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + range.end() + "/" + source.length());
+            }
+        }
+
+        response.setContentType(source.format().getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("event_" + id + "_audio." + source.format().getExtension())
+                .build().toString());
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        long position = source.offset() + start;
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            // 응답 본문은 Tomcat 이 커넥터에서 sendfile 로 직접 전송
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, source.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, position);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, position + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(source.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long end = position + length;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+    
+    /**
+     * ADDED: 오디오 미리보기 (파형 피크 + 저해상도 스펙트로그램, 수 KB)
+     * GET /api/events/{id}/preview
+     * 오디오가 없으면 404, WAV 가 아니면 415
+     */
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<?> getAudioPreview(@PathVariable Long id, WebRequest webRequest) throws IOException {
+        Optional<AudioDownloadService.AudioSource> resolved;
+        try {
+            resolved = audioDownloadService.resolve(eventService.getEventById(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new EventDto.ErrorResponse("Event not found", e.getMessage(), "id"));
+        }
+        if (resolved.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new EventDto.ErrorResponse("Audio not found", "이벤트에 저장된 오디오가 없습니다.", "id"));
+        }
+        
+        // 미리보기는 오디오 버전에서 결정되므로 오디오 ETag 로 검증자를 만든다
+        String audioEtag = resolved.get().etag();
+        String etag = audioEtag.substring(0, audioEtag.length() - 1) + "-preview\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        Optional<WaveformPreview> preview = audioPreviewService.preview(resolved.get());
+        if (preview.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .body(new EventDto.ErrorResponse("Preview unavailable", "WAV 오디오만 미리보기를 지원합니다.", "audio"));
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+            .body(preview.get());
+    }
+    
+    // ADDED: If-None-Match (약한 비교) 우선, 없으면 If-Modified-Since 로 변경 여부 판단
+    private boolean isNotModified(HttpServletRequest request, AudioDownloadService.AudioSource source) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || stripWeak(tag).equals(source.etag())) {
+                    return true;
+                }
             }
+            return false;
+        }
+        long ifModifiedSince = readDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && source.lastModifiedMillis() / 1000 <= ifModifiedSince / 1000;
+    }
+    
+    // ADDED: If-Range 가 현재 버전과 다르면 Range 를 무시하고 전체 응답 (강한 비교)
+    private boolean ifRangeMatches(HttpServletRequest request, AudioDownloadService.AudioSource source) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        String tag = ifRange.trim();
+        if (tag.startsWith("\"") || tag.startsWith("W/")) {
+            return tag.equals(source.etag());
+        }
+        long date = readDateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && source.lastModifiedMillis() / 1000 == date / 1000;
+    }
+    
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+    
+    private static long readDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.notFound().build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return -1;
+        }
+    }
+    
+    /**
+     * ADDED: 단일 바이트 범위 파싱 (bytes=a-b, bytes=a-, bytes=-n)
+     * 형식 오류 / 다중 범위는 null (Range 무시, 전체 응답), 만족할 수 없는 범위는 UNSATISFIABLE
+     */
+    static ByteRange parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return ByteRange.UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            return start <= end ? new ByteRange(start, end) : null;
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
     
@@ -171,4 +396,9 @@ public class EventController {
         
         return null;
     }
-}
\ No newline at end of file
+    
+    // ADDED: 요청 바이트 범위 (양 끝 포함)
+    record ByteRange(long start, long end) {
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+    }
+}
@@ -1,48 +1,52 @@
 package com.example.Alertory.controller;
 
 import com.example.Alertory.annotation.RequireActiveStatus;
+import com.example.Alertory.entity.LocationSettings;
 import com.example.Alertory.entity.Settings;
-import com.example.Alertory.repository.SettingsRepository;
+import com.example.Alertory.service.SettingsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
+import java.util.List;
 
 // CHANGED: ACTIVE 상태 사용자만 설정 관리 가능
+// CHANGED: 조회는 메모리 스냅샷에서, 변경은 저장 후 스냅샷 교체 (SettingsService)
 @RestController
 @RequestMapping("/api/settings")
 @RequiredArgsConstructor
 @RequireActiveStatus
 public class SettingsController {
-    
-    private final SettingsRepository settingsRepository;
-    
+
+    private final SettingsService settingsService;
+
     @GetMapping("/me")
     public ResponseEntity<Settings> getSettings() {
-        // 첫 번째 설정을 가져오거나 기본값 생성
-        Optional<Settings> settingsOpt = settingsRepository.findAll().stream().findFirst();
-        if (settingsOpt.isPresent()) {
-            return ResponseEntity.ok(settingsOpt.get());
-        } else {
-            // 기본 설정 생성
-            Settings defaultSettings = Settings.builder().build();
-            Settings saved = settingsRepository.save(defaultSettings);
-            return ResponseEntity.ok(saved);
-        }
+        return ResponseEntity.ok(settingsService.getSettings());
     }
-    
+
     @PutMapping("/me")
     public ResponseEntity<Settings> updateSettings(@RequestBody Settings settings) {
-        // ID가 없으면 첫 번째 설정을 업데이트하거나 새로 생성
-        if (settings.getId() == null) {
-            Optional<Settings> existingOpt = settingsRepository.findAll().stream().findFirst();
-            if (existingOpt.isPresent()) {
-                settings.setId(existingOpt.get().getId());
-            }
-        }
-        
-        Settings saved = settingsRepository.save(settings);
-        return ResponseEntity.ok(saved);
+        // ID가 없으면 현재 설정을 업데이트
+        return ResponseEntity.ok(settingsService.updateSettings(settings));
+    }
+
+    // ADDED: 위치별 탐지 설정 (값이 없는 항목은 전역 설정을 따름)
+    @GetMapping("/locations")
+    public ResponseEntity<List<LocationSettings>> getLocationSettings() {
+        return ResponseEntity.ok(settingsService.getLocationSettings());
+    }
+
+    @PutMapping("/locations/{locationLabel}")
+    public ResponseEntity<LocationSettings> updateLocationSettings(
+            @PathVariable String locationLabel, @RequestBody LocationSettings settings) {
+        return ResponseEntity.ok(settingsService.saveLocationSettings(locationLabel, settings));
+    }
+
+    @DeleteMapping("/locations/{locationLabel}")
+    public ResponseEntity<Void> deleteLocationSettings(@PathVariable String locationLabel) {
+        return settingsService.deleteLocationSettings(locationLabel)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
-}
\ No newline at end of file
+}
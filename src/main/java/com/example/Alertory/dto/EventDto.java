@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -20,6 +21,8 @@ public class EventDto {
     private Double confidence;
     private Event.EventStatus status;
     private String audioFilePath;
+    private Long audioBlobId; // ADDED
+    private Long peakOffsetMs; // ADDED
     private LocalDateTime detectedAt;
     private LocalDateTime acknowledgedAt;
     
@@ -32,6 +35,8 @@ public class EventDto {
                 .confidence(event.getConfidence())
                 .status(event.getStatus())
                 .audioFilePath(event.getAudioFilePath())
+                .audioBlobId(event.getAudioBlobId())
+                .peakOffsetMs(event.getPeakOffsetMs())
                 .detectedAt(event.getDetectedAt())
                 .acknowledgedAt(event.getAcknowledgedAt())
                 .build();
@@ -47,6 +52,39 @@ public class EventDto {
         private Double confidence;
     }
     
+    // ADDED: 커서(keyset) 페이지 응답 (totalElements 는 includeTotal=true 일 때만)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CursorPage {
+        private List<EventDto> content;
+        private int size;
+        private boolean hasNext;
+        private String nextCursor;
+        private Long totalElements;
+    }
+    
+    // ADDED: 일괄 생성 응답 (ids 는 요청 순서, 거부된 항목은 null)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchResponse {
+        private int received;
+        private int created;
+        private List<Long> ids;
+        private List<BatchError> errors;
+    }
+    
+    // ADDED: 일괄 생성 항목별 오류 (index 는 요청 배열 위치)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchError {
+        private int index;
+        private String field;
+        private String message;
+    }
+    
     // 에러 응답용 DTO
     @Data
     @NoArgsConstructor
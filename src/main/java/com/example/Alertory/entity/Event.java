@@ -9,15 +9,26 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+// ADDED: 대시보드 조회용 인덱스 (최근 이벤트 / 위치별 최근 이벤트 / 상태별 건수)
+// CHANGED: 목록 필터용 (유형 / 상태 + detected_at) 추가 - 필터 조건 하나로 범위를 좁히고 최신순 정렬까지 인덱스로 처리
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_detected_at", columnList = "detected_at"),
+    @Index(name = "idx_events_location_detected_at", columnList = "location_label, detected_at"),
+    @Index(name = "idx_events_status_detected_at", columnList = "status, detected_at"),
+    @Index(name = "idx_events_type_detected_at", columnList = "event_type, detected_at"),
+    @Index(name = "idx_events_status_location", columnList = "status, location_label")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Event {
     
+    // CHANGED: IDENTITY 는 INSERT 마다 키를 받아와야 해서 JDBC 배치가 꺼짐 → 시퀀스에서 50개씩 미리 할당 (pooled)
+    // 시퀀스가 없는 DB(MySQL)에서는 Hibernate 가 events_seq 테이블로 대신함
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -33,7 +44,15 @@ public class Event {
     @Column(nullable = false)
     private EventStatus status;
     
-    private String audioFilePath;
+    private String audioFilePath; // 세그먼트 저장소 도입 이전 이벤트의 파일 경로
+    
+    // ADDED: 세그먼트 오디오 저장소 blob id
+    @Column(name = "audio_blob_id")
+    private Long audioBlobId;
+    
+    // ADDED: 긴 녹음 분할 분석 시 최고 신뢰도 창의 시작 위치 (ms, 단일 클립 분석은 null)
+    @Column(name = "peak_offset_ms")
+    private Long peakOffsetMs;
     
     @Column(name = "detected_at")
     private LocalDateTime detectedAt;
@@ -0,0 +1,52 @@
+package com.example.Alertory.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+// ADDED: 시간(정시) x 위치 x 유형 x 상태별 이벤트 집계
+// 이벤트 생성 / 확인 시 같은 트랜잭션에서 갱신되며, 월/연 단위 분석은 원본 대신 이 테이블을 읽는다.
+@Entity
+@Table(name = "event_hourly_rollups",
+    uniqueConstraints = @UniqueConstraint(name = "uk_event_rollups_bucket",
+        columnNames = {"bucket_hour", "location_label", "event_type", "status"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventHourlyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour; // 탐지 시각을 정시로 내림
+    
+    @Column(name = "location_label", nullable = false)
+    private String locationLabel;
+    
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Event.EventStatus status;
+    
+    @Column(nullable = false)
+    private long eventCount;
+    
+    @Column(nullable = false)
+    private double confidenceSum;
+    
+    // 확인된 이벤트 수와 탐지 → 확인까지 걸린 시간(초) 합계
+    @Column(nullable = false)
+    private long acknowledgedCount;
+    
+    @Column(nullable = false)
+    private long ackLatencySecondsSum;
+}
@@ -0,0 +1,34 @@
+package com.example.Alertory.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+// ADDED: 위치 x 상태별 전체 이벤트 수
+// 시간별 집계 칸과 같은 트랜잭션에서 증감되며, 대시보드 합계는 원본 건수 집계 대신 이 테이블을 읽는다.
+@Entity
+@Table(name = "event_location_totals",
+    uniqueConstraints = @UniqueConstraint(name = "uk_event_location_totals",
+        columnNames = {"location_label", "status"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventLocationTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_label", nullable = false)
+    private String locationLabel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Event.EventStatus status;
+
+    @Column(nullable = false)
+    private long eventCount;
+}
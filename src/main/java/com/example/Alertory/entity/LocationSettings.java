@@ -0,0 +1,40 @@
+package com.example.Alertory.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalTime;
+
+// ADDED: 위치별 탐지 설정 (값이 null 인 항목은 전역 Settings 값을 그대로 사용)
+@Entity
+@Table(name = "location_settings",
+    uniqueConstraints = @UniqueConstraint(name = "uk_location_settings_label", columnNames = "location_label"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationSettings {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_label", nullable = false)
+    private String locationLabel;
+
+    private Double noiseThreshold;
+
+    private Double screamThreshold;
+
+    private Boolean alertEnabled;
+
+    @Enumerated(EnumType.STRING)
+    private Settings.DetectMode detectMode;
+
+    private LocalTime activeStart;
+
+    private LocalTime activeEnd;
+}
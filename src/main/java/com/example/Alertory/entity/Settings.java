@@ -28,6 +28,16 @@ public class Settings {
     @Builder.Default
     private Double screamThreshold = 0.8;
     
+    // ADDED: 서버측 무음 게이트 (RMS 임계값 + 최소 활성 블록 수, python/sound_detact.py 기준과 동일)
+    @Builder.Default
+    private Boolean energyGateEnabled = true;
+    
+    @Builder.Default
+    private Double silenceRmsThreshold = 0.01;
+    
+    @Builder.Default
+    private Integer minActiveBlocks = 10;
+    
     @Column(nullable = false)
     @Builder.Default
     private Boolean alertEnabled = true;
@@ -16,8 +16,10 @@ import java.time.LocalDateTime;
 @Builder
 public class UserActivityLog {
     
+    // CHANGED: 지연 기록 시 INSERT 를 JDBC 배치로 묶도록 시퀀스 id (pooled, Event 와 같은 방식)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_activity_logs_seq")
+    @SequenceGenerator(name = "user_activity_logs_seq", sequenceName = "user_activity_logs_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -41,8 +43,11 @@ public class UserActivityLog {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
+    // CHANGED: 지연 기록 시 저장 시각이 아닌 활동 시각 유지 (미리 채워져 있으면 그대로)
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
\ No newline at end of file
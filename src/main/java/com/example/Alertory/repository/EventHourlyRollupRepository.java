@@ -0,0 +1,70 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.entity.EventHourlyRollup;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// CHANGED: 칸 증감은 EventHourlyRollupRepositoryCustom.upsertBucket (칸이 없으면 만들면서 한 문장으로)
+@Repository
+public interface EventHourlyRollupRepository extends JpaRepository<EventHourlyRollup, Long>,
+        EventHourlyRollupRepositoryCustom {
+    
+    // 분석용 집계 칸 스트림 [from, to)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT r.bucketHour AS bucketHour, r.locationLabel AS locationLabel, r.eventType AS eventType, " +
+           "r.eventCount AS eventCount, r.acknowledgedCount AS acknowledgedCount, " +
+           "r.ackLatencySecondsSum AS ackLatencySecondsSum " +
+           "FROM EventHourlyRollup r WHERE r.bucketHour >= :from AND r.bucketHour < :to AND r.eventCount > 0")
+    Stream<BucketRow> streamBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // ADDED: 기간 [from, to) / cutoff 이전 / 전체 칸의 위치 x 상태별 이벤트 수 (재구축 / 정리 시 위치별 합계 보정용)
+    @Query("SELECT r.locationLabel AS locationLabel, r.status AS status, SUM(r.eventCount) AS eventCount " +
+           "FROM EventHourlyRollup r WHERE r.bucketHour >= :from AND r.bucketHour < :to " +
+           "GROUP BY r.locationLabel, r.status")
+    List<LocationStatusCount> sumByLocationAndStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT r.locationLabel AS locationLabel, r.status AS status, SUM(r.eventCount) AS eventCount " +
+           "FROM EventHourlyRollup r WHERE r.bucketHour < :cutoff GROUP BY r.locationLabel, r.status")
+    List<LocationStatusCount> sumByLocationAndStatusBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("SELECT r.locationLabel AS locationLabel, r.status AS status, SUM(r.eventCount) AS eventCount " +
+           "FROM EventHourlyRollup r GROUP BY r.locationLabel, r.status")
+    List<LocationStatusCount> sumAllByLocationAndStatus();
+    
+    @Modifying
+    @Query("DELETE FROM EventHourlyRollup r WHERE r.bucketHour >= :from AND r.bucketHour < :to")
+    int deleteBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EventHourlyRollup r WHERE r.bucketHour < :cutoff")
+    int deleteByBucketHourBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // 분석용 집계 칸 (엔티티 대신 필요한 컬럼만)
+    interface BucketRow {
+        LocalDateTime getBucketHour();
+        String getLocationLabel();
+        String getEventType();
+        long getEventCount();
+        long getAcknowledgedCount();
+        long getAckLatencySecondsSum();
+    }
+    
+    // ADDED: 위치 x 상태별 이벤트 수
+    interface LocationStatusCount {
+        String getLocationLabel();
+        Event.EventStatus getStatus();
+        long getEventCount();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.Event;
+
+import java.time.LocalDateTime;
+
+// ADDED: DB 별 upsert 가 필요한 집계 칸 / 위치별 합계 증감
+public interface EventHourlyRollupRepositoryCustom {
+
+    /**
+     * 집계 칸에 증감 반영 - 칸이 없으면 증감량으로 새로 만든다 (호출한 트랜잭션 안에서 한 문장으로)
+     */
+    void upsertBucket(LocalDateTime bucketHour, String locationLabel, String eventType, Event.EventStatus status,
+                      long count, double confidence, long acknowledgedCount, long ackLatencySeconds);
+
+    /**
+     * ADDED: 위치 x 상태별 전체 이벤트 수에 증감 반영 - 행이 없으면 새로 만든다 (호출한 트랜잭션 안에서 한 문장으로)
+     */
+    void upsertLocationTotal(String locationLabel, Event.EventStatus status, long count);
+}
@@ -0,0 +1,125 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+
+// ADDED: 집계 칸 upsert
+// 예전처럼 UPDATE 후 별도 트랜잭션에서 INSERT 하면 MySQL(REPEATABLE READ)에서 0건 UPDATE 가 잡은 갭 락을
+// INSERT 쪽 연결이 기다리고 바깥 트랜잭션은 그 INSERT 를 기다려 락 대기 시간 초과로 끝난다.
+// 그래서 호출한 트랜잭션 안에서 한 문장으로 처리한다 (MySQL / MariaDB: ON DUPLICATE KEY UPDATE, 그 외(H2): MERGE).
+public class EventHourlyRollupRepositoryImpl implements EventHourlyRollupRepositoryCustom {
+
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO event_hourly_rollups (bucket_hour, location_label, event_type, status, " +
+            "event_count, confidence_sum, acknowledged_count, ack_latency_seconds_sum) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "event_count = event_count + ?, " +
+            "confidence_sum = confidence_sum + ?, " +
+            "acknowledged_count = acknowledged_count + ?, " +
+            "ack_latency_seconds_sum = ack_latency_seconds_sum + ?";
+
+    private static final String MERGE_UPSERT =
+            "MERGE INTO event_hourly_rollups r " +
+            "USING (SELECT CAST(? AS TIMESTAMP) AS bucket_hour, CAST(? AS VARCHAR(255)) AS location_label, " +
+            "CAST(? AS VARCHAR(255)) AS event_type, CAST(? AS VARCHAR(255)) AS status, " +
+            "CAST(? AS BIGINT) AS event_count, CAST(? AS DOUBLE PRECISION) AS confidence_sum, " +
+            "CAST(? AS BIGINT) AS acknowledged_count, CAST(? AS BIGINT) AS ack_latency_seconds_sum) d " +
+            "ON (r.bucket_hour = d.bucket_hour AND r.location_label = d.location_label " +
+            "AND r.event_type = d.event_type AND r.status = d.status) " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "event_count = r.event_count + d.event_count, " +
+            "confidence_sum = r.confidence_sum + d.confidence_sum, " +
+            "acknowledged_count = r.acknowledged_count + d.acknowledged_count, " +
+            "ack_latency_seconds_sum = r.ack_latency_seconds_sum + d.ack_latency_seconds_sum " +
+            "WHEN NOT MATCHED THEN INSERT (bucket_hour, location_label, event_type, status, " +
+            "event_count, confidence_sum, acknowledged_count, ack_latency_seconds_sum) " +
+            "VALUES (d.bucket_hour, d.location_label, d.event_type, d.status, " +
+            "d.event_count, d.confidence_sum, d.acknowledged_count, d.ack_latency_seconds_sum)";
+
+    // ADDED: 위치 x 상태별 전체 이벤트 수
+    private static final String MYSQL_TOTAL_UPSERT =
+            "INSERT INTO event_location_totals (location_label, status, event_count) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE event_count = event_count + ?";
+
+    private static final String MERGE_TOTAL_UPSERT =
+            "MERGE INTO event_location_totals t " +
+            "USING (SELECT CAST(? AS VARCHAR(255)) AS location_label, CAST(? AS VARCHAR(255)) AS status, " +
+            "CAST(? AS BIGINT) AS event_count) d " +
+            "ON (t.location_label = d.location_label AND t.status = d.status) " +
+            "WHEN MATCHED THEN UPDATE SET event_count = t.event_count + d.event_count " +
+            "WHEN NOT MATCHED THEN INSERT (location_label, status, event_count) " +
+            "VALUES (d.location_label, d.status, d.event_count)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean mysql;
+
+    @Override
+    public void upsertBucket(LocalDateTime bucketHour, String locationLabel, String eventType, Event.EventStatus status,
+                             long count, double confidence, long acknowledgedCount, long ackLatencySeconds) {
+        upsert(MYSQL_UPSERT, MERGE_UPSERT,
+                new Object[]{bucketHour, locationLabel, eventType, status.name(),
+                        count, confidence, acknowledgedCount, ackLatencySeconds},
+                new Object[]{count, confidence, acknowledgedCount, ackLatencySeconds});
+    }
+
+    @Override
+    public void upsertLocationTotal(String locationLabel, Event.EventStatus status, long count) {
+        upsert(MYSQL_TOTAL_UPSERT, MERGE_TOTAL_UPSERT,
+                new Object[]{locationLabel, status.name(), count}, new Object[]{count});
+    }
+
+    // CHANGED: 칸 / 합계 upsert 공통 실행 (MySQL 은 ON DUPLICATE KEY UPDATE 절의 증감량을 한 번 더 바인딩)
+    private void upsert(String mysqlSql, String mergeSql, Object[] values, Object[] deltas) {
+        boolean onDuplicateKey = isMySql();
+        // 실패한 문장 때문에 트랜잭션이 rollback-only 로 표시되지 않도록 JDBC 로 직접 실행
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(onDuplicateKey ? mysqlSql : mergeSql)) {
+                int index = 1;
+                for (Object value : values) {
+                    statement.setObject(index++, value);
+                }
+                if (onDuplicateKey) {
+                    for (Object delta : deltas) {
+                        statement.setObject(index++, delta);
+                    }
+                }
+                try {
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    // MERGE 는 원자적이지 않아 다른 트랜잭션이 같은 칸을 먼저 만들면 유일 제약 위반 - 그 커밋 후 한 번 더 (이번엔 UPDATE)
+                    if (onDuplicateKey || !isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    statement.executeUpdate();
+                }
+            }
+        });
+    }
+
+    private boolean isMySql() {
+        Boolean result = mysql;
+        if (result == null) {
+            result = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof MySQLDialect;
+            mysql = result;
+        }
+        return result;
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("23"));
+    }
+}
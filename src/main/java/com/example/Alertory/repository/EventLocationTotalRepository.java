@@ -0,0 +1,14 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.EventLocationTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// ADDED: 위치 x 상태별 전체 이벤트 수 (증감은 EventHourlyRollupRepositoryCustom.upsertLocationTotal)
+@Repository
+public interface EventLocationTotalRepository extends JpaRepository<EventLocationTotal, Long> {
+
+    List<EventLocationTotal> findByLocationLabel(String locationLabel);
+}
@@ -1,39 +1,116 @@
 package com.example.Alertory.repository;
 
 import com.example.Alertory.entity.Event;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+// CHANGED: 목록 필터는 JpaSpecificationExecutor + EventSpecifications (주어진 조건만 WHERE 절에 포함)
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
     
     // 최근 이벤트 조회
     List<Event> findTop10ByOrderByDetectedAtDesc();
     
+    // ADDED: 가장 오래된 이벤트 (시간별 집계 백필 시작점)
+    Optional<Event> findTopByOrderByDetectedAtAsc();
+    
+    // ADDED: 위치별 최근 이벤트 (location_label, detected_at 인덱스 역순 조회)
+    List<Event> findTop10ByLocationLabelOrderByDetectedAtDesc(String locationLabel);
+    
+    // ADDED: 대시보드 건수 (엔티티를 읽지 않고 DB 에서 집계)
+    long countByLocationLabel(String locationLabel);
+    
+    long countByStatus(Event.EventStatus status);
+    
+    long countByLocationLabelAndStatus(String locationLabel, Event.EventStatus status);
+    
     // 날짜 범위로 이벤트 조회
     List<Event> findByDetectedAtBetweenOrderByDetectedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
     
-    // 필터링된 이벤트 조회
-    @Query("SELECT e FROM Event e WHERE " +
-           "(:eventType IS NULL OR e.eventType = :eventType) AND " +
-           "(:status IS NULL OR e.status = :status) AND " +
-           "(:location IS NULL OR e.locationLabel = :location) AND " +
-           "(:startDate IS NULL OR e.detectedAt >= :startDate) AND " +
-           "(:endDate IS NULL OR e.detectedAt <= :endDate) " +
-           "ORDER BY e.detectedAt DESC")
-    Page<Event> findEventsWithFilters(
-        @Param("eventType") String eventType,
-        @Param("status") Event.EventStatus status,
-        @Param("location") String location,
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate,
-        Pageable pageable
-    );
-}
\ No newline at end of file
+    // ADDED: 분석 집계용 스트림 (엔티티 대신 필요한 컬럼만, 1000건씩 가져옴 - 트랜잭션 안에서 닫아야 함)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.eventType AS eventType, e.locationLabel AS locationLabel, " +
+           "e.detectedAt AS detectedAt, e.acknowledgedAt AS acknowledgedAt " +
+           "FROM Event e WHERE e.detectedAt BETWEEN :startDate AND :endDate")
+    Stream<AnalyticsRow> streamAnalyticsRows(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+    
+    // ADDED: 분석 구간 경계(정시 전후)의 원본 이벤트 [startDate, endDate)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.eventType AS eventType, e.locationLabel AS locationLabel, " +
+           "e.detectedAt AS detectedAt, e.acknowledgedAt AS acknowledgedAt " +
+           "FROM Event e WHERE e.detectedAt >= :startDate AND e.detectedAt < :endDate")
+    Stream<AnalyticsRow> streamAnalyticsRowsHalfOpen(@Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+    
+    // ADDED: 시간별 집계 재구축용 원본 행 [startDate, endDate)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.eventType AS eventType, e.locationLabel AS locationLabel, e.status AS status, " +
+           "e.confidence AS confidence, e.detectedAt AS detectedAt, e.acknowledgedAt AS acknowledgedAt " +
+           "FROM Event e WHERE e.detectedAt >= :startDate AND e.detectedAt < :endDate")
+    Stream<RollupSourceRow> streamRollupSourceRows(@Param("startDate") LocalDateTime startDate,
+                                                   @Param("endDate") LocalDateTime endDate);
+    
+    // ADDED: 보존 기간 정리 - 만료 이벤트를 오래된 순으로 한 배치씩 (엔티티 대신 오디오 위치만 조회)
+    // CHANGED: 삭제와 같은 트랜잭션에서 시간별 집계 / 위치별 합계를 빼도록 집계 칸 컬럼도 조회
+    @Query("SELECT e.id AS id, e.audioBlobId AS audioBlobId, e.audioFilePath AS audioFilePath, " +
+           "e.eventType AS eventType, e.locationLabel AS locationLabel, e.status AS status, " +
+           "e.confidence AS confidence, e.detectedAt AS detectedAt, e.acknowledgedAt AS acknowledgedAt " +
+           "FROM Event e WHERE e.detectedAt < :cutoff ORDER BY e.detectedAt, e.id")
+    List<ExpiredEvent> findExpired(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    // ADDED: 배치 밖 이벤트가 아직 참조하는 오디오 (구간 이벤트 / 캐시 재사용은 같은 오디오를 공유)
+    @Query("SELECT DISTINCT e.audioBlobId FROM Event e WHERE e.audioBlobId IN :blobIds AND e.id NOT IN :ids")
+    List<Long> findAudioBlobIdsReferencedOutside(@Param("blobIds") Collection<Long> blobIds,
+                                                 @Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT e.audioFilePath FROM Event e WHERE e.audioFilePath IN :paths AND e.id NOT IN :ids")
+    List<String> findAudioFilePathsReferencedOutside(@Param("paths") Collection<String> paths,
+                                                     @Param("ids") Collection<Long> ids);
+    
+    // ADDED: 집합 단위 삭제 (배치마다 짧은 트랜잭션 하나)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Event e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // ADDED: 분석 집계 행
+    interface AnalyticsRow {
+        String getEventType();
+        String getLocationLabel();
+        LocalDateTime getDetectedAt();
+        LocalDateTime getAcknowledgedAt();
+    }
+    
+    // ADDED: 시간별 집계 재구축 행
+    interface RollupSourceRow {
+        String getEventType();
+        String getLocationLabel();
+        Event.EventStatus getStatus();
+        Double getConfidence();
+        LocalDateTime getDetectedAt();
+        LocalDateTime getAcknowledgedAt();
+    }
+    
+    // ADDED: 만료 이벤트 조회 결과
+    // CHANGED: 집계 칸 컬럼 포함 (RollupSourceRow)
+    interface ExpiredEvent extends RollupSourceRow {
+        Long getId();
+        Long getAudioBlobId();
+        String getAudioFilePath();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// ADDED: 이벤트 목록 동적 필터
+// 주어진 조건만 WHERE 절에 넣는다 (":x IS NULL OR ..." 형태는 플래너가 어느 인덱스도 고르지 못함).
+// 조건별 인덱스: 유형 / 상태 / 위치 + detected_at, 기간만 있으면 detected_at (Event @Table 참고)
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * 필터 조합 (null / 빈 문자열 조건은 생략, 모두 없으면 전체)
+     */
+    public static Specification<Event> filter(String eventType, Event.EventStatus status, String location,
+                                              LocalDateTime startDate, LocalDateTime endDate) {
+        List<Specification<Event>> specs = new ArrayList<>();
+        if (eventType != null && !eventType.isEmpty()) {
+            specs.add(hasEventType(eventType));
+        }
+        if (status != null) {
+            specs.add(hasStatus(status));
+        }
+        if (location != null && !location.isEmpty()) {
+            specs.add(atLocation(location));
+        }
+        if (startDate != null) {
+            specs.add(detectedFrom(startDate));
+        }
+        if (endDate != null) {
+            specs.add(detectedUntil(endDate));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Event> hasEventType(String eventType) {
+        return (root, query, cb) -> cb.equal(root.get("eventType"), eventType);
+    }
+
+    public static Specification<Event> hasStatus(Event.EventStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Event> atLocation(String location) {
+        return (root, query, cb) -> cb.equal(root.get("locationLabel"), location);
+    }
+
+    public static Specification<Event> detectedFrom(LocalDateTime startDate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("detectedAt"), startDate);
+    }
+
+    public static Specification<Event> detectedUntil(LocalDateTime endDate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("detectedAt"), endDate);
+    }
+
+    /**
+     * 커서 다음 위치 ((detectedAt, id) 내림차순에서 주어진 행 이후)
+     */
+    public static Specification<Event> after(LocalDateTime cursorAt, long cursorId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("detectedAt"), cursorAt),
+                cb.and(cb.equal(root.get("detectedAt"), cursorAt), cb.lessThan(root.get("id"), cursorId)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.LocationSettings;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// ADDED: 위치별 탐지 설정
+@Repository
+public interface LocationSettingsRepository extends JpaRepository<LocationSettings, Long> {
+
+    Optional<LocationSettings> findByLocationLabel(String locationLabel);
+}
@@ -4,6 +4,11 @@ import com.example.Alertory.entity.Settings;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface SettingsRepository extends JpaRepository<Settings, Long> {
-}
\ No newline at end of file
+
+    // ADDED: 전역 설정 행 (전체 조회 대신 첫 행만)
+    Optional<Settings> findFirstByOrderByIdAsc();
+}
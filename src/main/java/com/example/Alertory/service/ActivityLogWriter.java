@@ -0,0 +1,188 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.UserActivityLog;
+import com.example.Alertory.repository.UserActivityLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: 사용자 활동 로그 지연 기록 (write-behind)
+// 요청 스레드는 제한된 큐에 넣기만 하고, 전용 스레드가 모아서 한 트랜잭션의 JDBC 배치 INSERT 로 저장한다.
+// 종료 시 큐에 남은 로그를 모두 저장한 뒤 멈춘다. 큐가 가득 차면 overflow 정책을 따른다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityLogWriter {
+
+    private final UserActivityLogRepository activityLogRepository;
+
+    // ADDED: false 면 호출 스레드에서 바로 저장 (이전 방식)
+    @Value("${app.activity-log.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.activity-log.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // ADDED: 한 번에 저장할 최대 로그 수 (hibernate.jdbc.batch_size 와 맞춤) / 로그가 뜸할 때 모으는 최대 대기 시간
+    @Value("${app.activity-log.write-behind.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.activity-log.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${app.activity-log.write-behind.overflow:CALLER_RUNS}")
+    private OverflowPolicy overflowPolicy;
+
+    // ADDED: 종료 시 writer 스레드가 남은 로그를 저장하길 기다리는 최대 시간
+    @Value("${app.activity-log.write-behind.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    private BlockingQueue<UserActivityLog> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::runWriter, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 로그 기록 요청 (write-behind 모드면 큐에 넣고 바로 반환)
+     */
+    public void submit(UserActivityLog entry) {
+        if (!enabled || !running) {
+            activityLogRepository.save(entry);
+            return;
+        }
+        if (queue.offer(entry)) {
+            // CHANGED: 확인과 offer 사이에 종료가 시작됐으면 shutdown 의 마지막 비우기가 이미 끝났을 수 있으므로 직접 비움
+            if (!running) {
+                flushRemaining();
+            }
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            log.warn("활동 로그 큐 가득 참 - 로그 버림: {} {}", entry.getUsername(), entry.getAction());
+            return;
+        }
+        // 큐가 가득 차면 호출 스레드에서 직접 저장 (로그 유실 없이 요청 지연으로 역압)
+        callerRuns.increment();
+        activityLogRepository.save(entry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // 진행 중인 저장을 끊지 않도록 인터럽트 대신 플래그로 멈춤 (최대 flush-interval 안에 루프 종료)
+        running = false;
+        writer.join(shutdownTimeoutMillis);
+        if (writer.isAlive()) {
+            log.warn("활동 로그 writer 종료 대기 시간 초과 - 남은 로그 {}건", queue.size());
+            return;
+        }
+        // writer 종료 직전에 submit 된 로그까지 저장 (이후 큐에 들어온 로그는 submit 이 직접 저장)
+        flushRemaining();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("overflowPolicy", overflowPolicy.name());
+        metrics.put("queued", queue == null ? 0 : queue.size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("written", written.sum());
+        metrics.put("batches", batches.sum());
+        metrics.put("callerRuns", callerRuns.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("failed", failed.sum());
+        return metrics;
+    }
+
+    private void runWriter() {
+        List<UserActivityLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                UserActivityLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flushRemaining();
+    }
+
+    private void flushRemaining() {
+        List<UserActivityLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    // 한 트랜잭션으로 저장 (id 는 시퀀스에서 미리 할당되므로 INSERT 가 batch_size 단위로 묶임)
+    private void write(List<UserActivityLog> batch) {
+        try {
+            activityLogRepository.saveAll(batch);
+            written.add(batch.size());
+            batches.increment();
+        } catch (RuntimeException e) {
+            log.warn("활동 로그 {}건 일괄 저장 실패 - 건별 저장으로 재시도: {}", batch.size(), e.getMessage());
+            writeEach(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    // ADDED: 일괄 저장이 롤백되면 건별로 저장 (잘못된 로그 1건 때문에 나머지가 유실되지 않도록)
+    private void writeEach(List<UserActivityLog> batch) {
+        for (UserActivityLog entry : batch) {
+            // 롤백된 트랜잭션에서 할당된 id 는 버리고 새로 할당 (detached 로 보고 merge 하지 않도록)
+            entry.setId(null);
+            try {
+                activityLogRepository.save(entry);
+                written.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("활동 로그 저장 실패: {} {} - {}", entry.getUsername(), entry.getAction(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // ADDED: 큐가 가득 찼을 때 처리 방식
+    public enum OverflowPolicy {
+        CALLER_RUNS, DROP
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.AiAnalysisResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: 동시 분석 요청을 짧은 시간 창 동안 모아 /predict/batch 한 번으로 전송하는 마이크로 배처
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AiBatchClient {
+
+    private final AiServerClient aiServerClient;
+
+    // ADDED: 배치 모드 사용 여부 (AI 서버에 /predict/batch 가 있어야 함)
+    @Value("${app.ai-server.batch.enabled:false}")
+    private boolean enabled;
+
+    // ADDED: 한 배치의 최대 클립 수 (도달 즉시 전송)
+    @Value("${app.ai-server.batch.max-size:8}")
+    private int maxBatchSize;
+
+    // ADDED: 첫 요청 도착 후 배치를 모으는 최대 대기 시간
+    @Value("${app.ai-server.batch.window-ms:20}")
+    private long windowMillis;
+
+    private final List<PendingPrediction> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush; // pending 잠금 하에서만 접근
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ai-batch-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // ADDED: 배치 크기 / 대기 시간 지표
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchedClipCount = new LongAdder();
+    private final LongAdder failedBatchCount = new LongAdder();
+    private final LongAdder totalQueueWaitMicros = new LongAdder();
+    private final AtomicLong maxObservedBatchSize = new AtomicLong();
+    private final AtomicLong maxQueueWaitMicros = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 분석 요청을 배치 대기열에 추가하고 해당 클립의 결과를 반환
+     */
+    public Mono<AiAnalysisResponse> submit(AudioIngestService.StoredAudio storedAudio) {
+        return Mono.defer(() -> {
+            Sinks.One<AiAnalysisResponse> result = Sinks.one();
+            List<PendingPrediction> ready = null;
+
+            synchronized (pending) {
+                pending.add(new PendingPrediction(storedAudio, result, System.nanoTime()));
+                if (pending.size() >= maxBatchSize) {
+                    ready = drainPending();
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = flusher.schedule(this::flushWindow, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            if (ready != null) {
+                dispatch(ready);
+            }
+            return result.asMono();
+        });
+    }
+
+    /**
+     * 배치 지표 조회
+     */
+    public Map<String, Object> getMetrics() {
+        long batches = batchCount.sum();
+        long clips = batchedClipCount.sum();
+        int queued;
+        synchronized (pending) {
+            queued = pending.size();
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("maxBatchSize", maxBatchSize);
+        metrics.put("windowMs", windowMillis);
+        metrics.put("queued", queued);
+        metrics.put("batches", batches);
+        metrics.put("failedBatches", failedBatchCount.sum());
+        metrics.put("clips", clips);
+        metrics.put("avgBatchSize", batches == 0 ? 0.0 : Math.round(clips * 100.0 / batches) / 100.0);
+        metrics.put("maxObservedBatchSize", maxObservedBatchSize.get());
+        metrics.put("avgQueueWaitMs", clips == 0 ? 0.0 : Math.round(totalQueueWaitMicros.sum() / 10.0 / clips) / 100.0);
+        metrics.put("maxQueueWaitMs", maxQueueWaitMicros.get() / 1000.0);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    // 시간 창 만료 시 모인 요청 전송
+    private void flushWindow() {
+        List<PendingPrediction> ready;
+        synchronized (pending) {
+            scheduledFlush = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            ready = drainPending();
+        }
+        dispatch(ready);
+    }
+
+    // pending 잠금 하에서 호출
+    private List<PendingPrediction> drainPending() {
+        List<PendingPrediction> ready = new ArrayList<>(pending);
+        pending.clear();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(List<PendingPrediction> batch) {
+        long now = System.nanoTime();
+        List<AudioIngestService.StoredAudio> clips = new ArrayList<>(batch.size());
+        for (PendingPrediction prediction : batch) {
+            long waitMicros = (now - prediction.enqueuedAtNanos()) / 1000;
+            totalQueueWaitMicros.add(waitMicros);
+            maxQueueWaitMicros.accumulateAndGet(waitMicros, Math::max);
+            clips.add(prediction.storedAudio());
+        }
+        batchCount.increment();
+        batchedClipCount.add(batch.size());
+        maxObservedBatchSize.accumulateAndGet(batch.size(), Math::max);
+
+        log.debug("AI 배치 전송 - 클립 수: {}", batch.size());
+
+        aiServerClient.predictBatch(clips).subscribe(
+                items -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        AiServerClient.BatchItem item = items.get(i);
+                        Sinks.One<AiAnalysisResponse> result = batch.get(i).result();
+                        if (item.error() != null) {
+                            result.tryEmitError(item.error());
+                        } else {
+                            result.tryEmitValue(item.response());
+                        }
+                    }
+                },
+                error -> {
+                    failedBatchCount.increment();
+                    log.warn("AI 배치 요청 실패 - 클립 수: {}, 오류: {}", batch.size(), error.getMessage());
+                    batch.forEach(prediction -> prediction.result().tryEmitError(error));
+                });
+    }
+
+    private record PendingPrediction(AudioIngestService.StoredAudio storedAudio,
+                                     Sinks.One<AiAnalysisResponse> result,
+                                     long enqueuedAtNanos) {
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.Alertory.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// ADDED: AI 서버 복제본 목록과 클라이언트측 라우팅 (least-outstanding-requests + 지연 가중치)
+// 각 요청은 (진행 중 요청 수 + 1) x 평균 지연이 가장 작은 복제본으로 보낸다.
+// 헬스 프로브 / 연속 요청 실패로 제외된 복제본은 프로브가 연속 성공하면 다시 포함한다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AiEndpointPool {
+
+    // 헬스 프로브는 분석 요청과 분리된 커넥션 풀 사용
+    @Qualifier("aiHealthWebClient")
+    private final WebClient healthWebClient;
+
+    // ADDED: AI 서버 단일 URL (기존 설정, urls 미지정 시 사용)
+    @Value("${app.ai-server.url:http://localhost:8001}")
+    private String aiServerUrl;
+
+    // ADDED: AI 서버 복제본 URL 목록 (쉼표 구분)
+    @Value("${app.ai-server.urls:}")
+    private String aiServerUrls;
+
+    // ADDED: 제외 / 복귀 기준 (연속 프로브 실패 / 성공 횟수, 연속 요청 실패 횟수)
+    @Value("${app.ai-server.pool.unhealthy-threshold:2}")
+    private int unhealthyThreshold;
+
+    @Value("${app.ai-server.pool.healthy-threshold:2}")
+    private int healthyThreshold;
+
+    @Value("${app.ai-server.pool.passive-failure-threshold:5}")
+    private int passiveFailureThreshold;
+
+    // CHANGED: 호출 1건 최대 대기 시간 (AiServerGuard 에서 옮김, 설정 키는 그대로)
+    // 시간 초과는 복제본 장애로 집계해야 하므로 취소가 아닌 TimeoutException 오류로 여기서 발생시킨다.
+    @Value("${app.ai-server.guard.call-timeout-ms:30000}")
+    private long callTimeoutMillis;
+
+    private List<Endpoint> endpoints = List.of();
+
+    @PostConstruct
+    void init() {
+        String configured = aiServerUrls == null || aiServerUrls.isBlank() ? aiServerUrl : aiServerUrls;
+        List<Endpoint> created = new ArrayList<>();
+        Arrays.stream(configured.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .distinct()
+                .forEach(url -> created.add(new Endpoint(url)));
+        if (created.isEmpty()) {
+            throw new IllegalStateException("app.ai-server.url(s) must not be empty");
+        }
+        endpoints = List.copyOf(created);
+        log.info("AI 서버 엔드포인트 {}개 등록: {}", endpoints.size(), describe());
+    }
+
+    /**
+     * 선택한 복제본 URL 로 호출을 실행하고, 진행 중 요청 수 / 지연 / 실패를 기록
+     */
+    public <T> Mono<T> route(Function<String, Mono<T>> call) {
+        return Mono.defer(() -> {
+            Endpoint endpoint = choose();
+            endpoint.inFlight.incrementAndGet();
+            endpoint.requests.increment();
+            long startedAt = System.nanoTime();
+
+            Mono<T> result = call.apply(endpoint.url);
+            if (callTimeoutMillis > 0) {
+                result = result.timeout(Duration.ofMillis(callTimeoutMillis));
+            }
+            // CHANGED: 시간 초과는 onRequestError 에서 지연 / 서버 장애로 기록, 하류 취소(형제 창 취소 등)는 진행 중 수만 줄임
+            return result
+                    .doOnSuccess(value -> endpoint.recordSuccess(System.nanoTime() - startedAt))
+                    .doOnError(error -> onRequestError(endpoint, error, System.nanoTime() - startedAt))
+                    .doFinally(signal -> endpoint.inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * 헬스 체크 대상 URL (현재 가장 여유 있는 복제본)
+     */
+    public String healthCheckUrl() {
+        return choose().url;
+    }
+
+    public String describe() {
+        return String.join(",", endpoints.stream().map(endpoint -> endpoint.url).toList());
+    }
+
+    /**
+     * 주기적 헬스 프로브 (분석 요청과 분리된 헬스 체크 커넥션 풀 사용)
+     */
+    @Scheduled(fixedDelayString = "${app.ai-server.pool.probe-interval-ms:5000}")
+    public void probe() {
+        for (Endpoint endpoint : endpoints) {
+            healthWebClient.get()
+                    .uri(endpoint.url + "/health")
+                    .retrieve()
+                    .toBodilessEntity()
+                    .subscribe(
+                            response -> onProbe(endpoint, true),
+                            error -> onProbe(endpoint, false));
+        }
+    }
+
+    /**
+     * 복제본별 상태 지표 조회
+     */
+    public List<Map<String, Object>> getMetrics() {
+        List<Map<String, Object>> metrics = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            Map<String, Object> endpointMetrics = new HashMap<>();
+            endpointMetrics.put("url", endpoint.url);
+            endpointMetrics.put("healthy", endpoint.healthy);
+            endpointMetrics.put("inFlight", endpoint.inFlight.get());
+            endpointMetrics.put("requests", endpoint.requests.sum());
+            endpointMetrics.put("failures", endpoint.failures.sum());
+            endpointMetrics.put("ejections", endpoint.ejections.sum());
+            endpointMetrics.put("ewmaLatencyMs", Math.round(endpoint.ewmaLatencyNanos / 1e4) / 100.0);
+            metrics.add(endpointMetrics);
+        }
+        return metrics;
+    }
+
+    // 정상 복제본 중 점수가 가장 낮은 곳 선택 (모두 제외 상태면 전체 중에서 선택)
+    private Endpoint choose() {
+        List<Endpoint> snapshot = endpoints;
+        if (snapshot.size() == 1) {
+            return snapshot.get(0);
+        }
+
+        double fallbackLatency = 0;
+        for (Endpoint endpoint : snapshot) {
+            double latency = endpoint.ewmaLatencyNanos;
+            if (latency > 0 && (fallbackLatency == 0 || latency < fallbackLatency)) {
+                fallbackLatency = latency;
+            }
+        }
+        if (fallbackLatency == 0) {
+            fallbackLatency = 1;
+        }
+
+        Endpoint best = pickLowestScore(snapshot, true, fallbackLatency);
+        return best != null ? best : pickLowestScore(snapshot, false, fallbackLatency);
+    }
+
+    private Endpoint pickLowestScore(List<Endpoint> snapshot, boolean healthyOnly, double fallbackLatency) {
+        Endpoint best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (Endpoint endpoint : snapshot) {
+            if (healthyOnly && !endpoint.healthy) {
+                continue;
+            }
+            // 지연을 아직 모르는 복제본은 가장 빠른 복제본 수준으로 가정 (새 복제본에도 요청이 가도록)
+            double latency = endpoint.ewmaLatencyNanos > 0 ? endpoint.ewmaLatencyNanos : fallbackLatency;
+            double score = (endpoint.inFlight.get() + 1) * latency;
+            if (score < bestScore) {
+                bestScore = score;
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    // CHANGED: 복제본 장애(5xx / 연결 실패 / 시간 초과)만 연속 실패로 집계, 4xx 등은 응답한 것으로 보고 연속 실패 초기화
+    // CHANGED: 호출 시간 초과는 경과 시간을 지연에도 반영 (응답 없는 복제본이 마지막 빠른 지연으로 계속 선택되지 않도록)
+    private void onRequestError(Endpoint endpoint, Throwable error, long elapsedNanos) {
+        if (!AiServerException.isServerFailure(error)) {
+            endpoint.resetFailures();
+            return;
+        }
+        if (error instanceof TimeoutException) {
+            endpoint.recordLatency(elapsedNanos);
+        }
+        endpoint.failures.increment();
+        synchronized (endpoint) {
+            if (++endpoint.consecutiveFailures >= passiveFailureThreshold && endpoint.healthy) {
+                eject(endpoint, "연속 요청 실패 " + endpoint.consecutiveFailures + "회");
+            }
+        }
+    }
+
+    private void onProbe(Endpoint endpoint, boolean success) {
+        synchronized (endpoint) {
+            if (success) {
+                endpoint.probeFailures = 0;
+                if (!endpoint.healthy && ++endpoint.probeSuccesses >= healthyThreshold) {
+                    endpoint.healthy = true;
+                    endpoint.consecutiveFailures = 0;
+                    log.info("AI 서버 엔드포인트 복귀: {}", endpoint.url);
+                }
+            } else {
+                endpoint.probeSuccesses = 0;
+                if (++endpoint.probeFailures >= unhealthyThreshold && endpoint.healthy) {
+                    eject(endpoint, "헬스 프로브 실패 " + endpoint.probeFailures + "회");
+                }
+            }
+        }
+    }
+
+    // endpoint 잠금 하에서 호출
+    private void eject(Endpoint endpoint, String reason) {
+        endpoint.healthy = false;
+        endpoint.probeSuccesses = 0;
+        endpoint.ejections.increment();
+        log.warn("AI 서버 엔드포인트 제외: {} ({})", endpoint.url, reason);
+    }
+
+    // ADDED: 복제본 상태
+    private static final class Endpoint {
+        private final String url;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder ejections = new LongAdder();
+        private volatile double ewmaLatencyNanos;
+        private volatile boolean healthy = true;
+
+        // 아래 카운터는 endpoint 잠금 하에서만 접근
+        private int consecutiveFailures;
+        private int probeFailures;
+        private int probeSuccesses;
+
+        Endpoint(String url) {
+            this.url = url;
+        }
+
+        synchronized void resetFailures() {
+            consecutiveFailures = 0;
+        }
+
+        synchronized void recordSuccess(long latencyNanos) {
+            consecutiveFailures = 0;
+            recordLatency(latencyNanos);
+        }
+
+        synchronized void recordLatency(long latencyNanos) {
+            ewmaLatencyNanos = ewmaLatencyNanos == 0 ? latencyNanos : ewmaLatencyNanos * 0.8 + latencyNanos * 0.2;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.audio.MelFeatureExtractor;
+import com.example.Alertory.dto.AiAnalysisResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.PooledByteBufAllocator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+// CHANGED: AudioController.callAiServer 를 분리한 AI 서버 클라이언트 (동기/비동기 공용)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AiServerClient {
+
+    private final WebClient webClient;
+    // ADDED: 헬스 체크 전용 WebClient (분석 요청과 커넥션 풀 분리)
+    @Qualifier("aiHealthWebClient")
+    private final WebClient healthWebClient;
+    private final ObjectMapper objectMapper;
+    private final AiServerGuard aiServerGuard;
+    private final AiEndpointPool aiEndpointPool;
+
+    // ADDED: AI 서버 전송 시 파일 읽기 청크 크기 및 Netty 버퍼 팩토리
+    private static final int UPLOAD_CHUNK_BYTES = 64 * 1024;
+    private static final NettyDataBufferFactory UPLOAD_BUFFER_FACTORY =
+            new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    /**
+     * AI 서버 분석 요청 (논블로킹)
+     * 저장 파일을 큰 청크 단위로 직접 읽어 multipart 본문으로 스트리밍한다.
+     * 실패 시 AiServerException 으로 변환된 에러 신호를 내보낸다.
+     */
+    public Mono<AiAnalysisResponse> predict(AudioIngestService.StoredAudio storedAudio) {
+        log.debug("AI 서버 호출 시작: {}", storedAudio.path().getFileName());
+
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        addAudioPart(parts, "file", storedAudio);
+
+        return post("/predict", MediaType.MULTIPART_FORM_DATA,
+                BodyInserters.fromMultipartData(parts.build()), this::parseResponse);
+    }
+
+    /**
+     * ADDED: 메모리상의 WAV 바이트 분석 요청 (스트리밍 창 등 파일로 저장하지 않은 클립)
+     * 요청이 끝날 때까지 호출자는 wav 배열을 수정하지 않아야 한다.
+     */
+    public Mono<AiAnalysisResponse> predictWav(byte[] wav, String filename) {
+        log.debug("AI 서버 호출 시작 (메모리 클립): {} ({}bytes)", filename, wav.length);
+
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        parts.part("file", wav)
+                .filename(filename)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM);
+
+        return post("/predict", MediaType.MULTIPART_FORM_DATA,
+                BodyInserters.fromMultipartData(parts.build()), this::parseResponse);
+    }
+
+    /**
+     * AI 서버 특징 벡터 분석 요청 (POST /predict/features)
+     * 원본 오디오 대신 백엔드에서 추출한 514차원 특징 벡터만 JSON 으로 전송한다.
+     */
+    public Mono<AiAnalysisResponse> predictFeatures(String filename, float[] features) {
+        log.debug("AI 서버 특징 벡터 호출 시작: {} ({}차원)", filename, features.length);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("filename", filename);
+        payload.put("sample_rate", MelFeatureExtractor.SAMPLE_RATE);
+        payload.put("features", features);
+
+        return post("/predict/features", MediaType.APPLICATION_JSON,
+                BodyInserters.fromValue(payload), this::parseResponse);
+    }
+
+    /**
+     * AI 서버 배치 분석 요청 (POST /predict/batch)
+     * 여러 클립을 "files" 파트로 한 번에 전송하고, 요청 순서와 동일한 순서의 결과 목록을 받는다.
+     * 응답 형식: {"results": [{label, confidence, text, is_danger} | {"error": "..."}]}
+     */
+    public Mono<List<BatchItem>> predictBatch(List<AudioIngestService.StoredAudio> clips) {
+        log.debug("AI 서버 배치 호출 시작: {}개 클립", clips.size());
+
+        MultipartBodyBuilder parts = new MultipartBodyBuilder();
+        for (AudioIngestService.StoredAudio clip : clips) {
+            addAudioPart(parts, "files", clip);
+        }
+
+        return post("/predict/batch", MediaType.MULTIPART_FORM_DATA,
+                BodyInserters.fromMultipartData(parts.build()),
+                responseJson -> parseBatchResponse(responseJson, clips.size()));
+    }
+
+    /**
+     * ADDED: 보호(제한/차단) → 복제본 선택 → POST → 응답 해석 → 오류 변환 공통 경로
+     */
+    private <T> Mono<T> post(String path, MediaType contentType,
+                             BodyInserter<?, ? super ClientHttpRequest> body, ResponseParser<T> parser) {
+        return aiServerGuard.protect(aiEndpointPool.route(url -> webClient.post()
+                .uri(url + path)
+                .contentType(contentType)
+                .body(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .switchIfEmpty(Mono.error(() -> new AiServerException("AI 서버로부터 빈 응답을 받았습니다.", 502)))
+                .handle((String responseJson, SynchronousSink<T> sink) -> {
+                    try {
+                        sink.next(parser.parse(responseJson));
+                    } catch (AiServerException e) {
+                        sink.error(e);
+                    }
+                })
+                .onErrorMap(this::translateError)));
+    }
+
+    /**
+     * AI 서버 분석 요청 (블로킹)
+     */
+    public AiAnalysisResponse analyze(AudioIngestService.StoredAudio storedAudio) throws AiServerException {
+        return await(predict(storedAudio));
+    }
+
+    /**
+     * 분석 결과 Mono 를 블로킹으로 기다리고 오류를 AiServerException 으로 변환
+     */
+    public <T> T await(Mono<T> prediction) throws AiServerException {
+        try {
+            return prediction.block();
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof AiServerException aiServerException) {
+                throw aiServerException;
+            }
+            throw translateError(cause);
+        }
+    }
+
+    /**
+     * AI 서버 헬스 체크
+     * CHANGED: 분석 요청과 분리된 커넥션 풀 사용, 동시성 제한/서킷 브레이커 미적용
+     */
+    public Mono<String> health() {
+        return healthWebClient.get()
+                .uri(aiEndpointPool.healthCheckUrl() + "/health")
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    public String getAiServerUrl() {
+        return aiEndpointPool.describe();
+    }
+
+    // 저장 파일을 큰 청크 단위로 직접 읽어 multipart 파트로 추가 (중간 Resource 버퍼링 없음)
+    private void addAudioPart(MultipartBodyBuilder parts, String name, AudioIngestService.StoredAudio storedAudio) {
+        Flux<DataBuffer> audioBody = DataBufferUtils.read(
+                storedAudio.path(), UPLOAD_BUFFER_FACTORY, UPLOAD_CHUNK_BYTES);
+        parts.asyncPart(name, audioBody, DataBuffer.class)
+                .filename(storedAudio.originalFilename())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private List<BatchItem> parseBatchResponse(String responseJson, int expectedSize) throws AiServerException {
+        if (responseJson == null || responseJson.trim().isEmpty()) {
+            throw new AiServerException("AI 서버로부터 빈 응답을 받았습니다.", 502);
+        }
+
+        try {
+            JsonNode results = objectMapper.readTree(responseJson).path("results");
+            if (!results.isArray() || results.size() != expectedSize) {
+                log.warn("AI 서버 배치 응답 개수 불일치: expected={}, actual={}", expectedSize, results.size());
+                throw new AiServerException("AI 분석 결과를 처리할 수 없습니다.", 502);
+            }
+
+            List<BatchItem> items = new ArrayList<>(expectedSize);
+            for (JsonNode result : results) {
+                if (result.hasNonNull("error")) {
+                    log.warn("AI 서버 배치 항목 오류: {}", result.get("error").asText());
+                    items.add(new BatchItem(null, new AiServerException("AI 분석 서버에서 오류가 발생했습니다.", 502)));
+                } else {
+                    items.add(new BatchItem(objectMapper.treeToValue(result, AiAnalysisResponse.class), null));
+                }
+            }
+            return items;
+        } catch (AiServerException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("AI 서버 배치 응답 처리 실패: {}", e.getMessage());
+            throw new AiServerException("AI 분석 결과를 처리할 수 없습니다.", 502);
+        }
+    }
+
+    private AiAnalysisResponse parseResponse(String responseJson) throws AiServerException {
+        if (responseJson == null || responseJson.trim().isEmpty()) {
+            throw new AiServerException("AI 서버로부터 빈 응답을 받았습니다.", 502);
+        }
+
+        try {
+            // JSON 파싱
+            AiAnalysisResponse aiResponse = objectMapper.readValue(responseJson, AiAnalysisResponse.class);
+            log.debug("AI 분석 완료: label={}, confidence={}", aiResponse.getLabel(), aiResponse.getConfidence());
+            return aiResponse;
+        } catch (Exception e) {
+            log.warn("AI 서버 응답 처리 실패: {}", e.getMessage());
+            throw new AiServerException("AI 분석 결과를 처리할 수 없습니다.", 502);
+        }
+    }
+
+    // CHANGED: 서버 장애(연결 실패 / 시간 초과 / 5xx)만 serverFailure 로 표시
+    // 4xx 도 호출자에게는 502 로 응답한다 (AI 서버의 401/404 가 업로더 자신의 인증 만료 / 경로 오류로 보이지 않도록)
+    private AiServerException translateError(Throwable e) {
+        if (e instanceof AiServerException aiServerException) {
+            return aiServerException;
+        }
+
+        if (e instanceof TimeoutException) {
+            log.warn("AI 서버 응답 시간 초과: {}", e.getMessage());
+            return new AiServerException("AI 분석 서버 응답 시간이 초과되었습니다.", 504, true);
+        }
+
+        if (e instanceof WebClientRequestException) {
+            // 연결 실패, 타임아웃 등
+            log.warn("AI 서버 연결 실패 (요청 오류): {}", e.getMessage());
+            return new AiServerException("AI 분석 서버에 연결할 수 없습니다.", 503, true);
+        }
+
+        if (e instanceof WebClientResponseException responseException) {
+            log.warn("AI 서버 응답 오류: status={}, body={}",
+                    responseException.getStatusCode(), responseException.getResponseBodyAsString());
+            if (responseException.getStatusCode().is4xxClientError()) {
+                // 요청 자체의 문제 (잘못된 오디오 등) - 서버 장애로 집계하지 않되 상태 코드는 노출하지 않음
+                return new AiServerException("AI 분석 서버가 요청을 처리할 수 없습니다.", 502);
+            }
+            return new AiServerException("AI 분석 서버에서 오류가 발생했습니다.", 502, true);
+        }
+
+        log.warn("AI 서버 응답 처리 실패: {}", e.getMessage());
+        return new AiServerException("AI 분석 결과를 처리할 수 없습니다.", 502);
+    }
+
+    // ADDED: 응답 본문 해석기 (해석 실패 시 AiServerException)
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(String responseJson) throws AiServerException;
+    }
+
+    // ADDED: 배치 응답의 클립별 결과 (성공 시 response, 실패 시 error)
+    public record BatchItem(AiAnalysisResponse response, AiServerException error) {
+    }
+}
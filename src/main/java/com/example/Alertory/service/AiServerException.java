@@ -0,0 +1,44 @@
+package com.example.Alertory.service;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeoutException;
+
+// CHANGED: AudioController 내부 클래스에서 분리 (비동기 분석 작업에서도 사용)
+public class AiServerException extends Exception {
+    private final int statusCode;
+    // ADDED: AI 서버 자체 장애 (5xx 응답 / 연결 실패 / 시간 초과) 여부 - 서킷 브레이커 실패로 집계
+    private final boolean serverFailure;
+    
+    public AiServerException(String message, int statusCode) {
+        this(message, statusCode, false);
+    }
+    
+    public AiServerException(String message, int statusCode, boolean serverFailure) {
+        super(message);
+        this.statusCode = statusCode;
+        this.serverFailure = serverFailure;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    public boolean isServerFailure() {
+        return serverFailure;
+    }
+    
+    /**
+     * ADDED: AI 서버 자체 장애인지 (4xx 응답 / 응답 해석 실패 / 대기열 거절 등은 서버 장애가 아님)
+     */
+    public static boolean isServerFailure(Throwable error) {
+        if (error instanceof AiServerException aiServerException) {
+            return aiServerException.isServerFailure();
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.Alertory.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: AI 서버 호출 보호 (적응형 동시성 제한 + 서킷 브레이커)
+// AI 서버가 느려지면 허용 동시 호출 수를 줄여 초과 요청을 즉시 거절하고,
+// 실패율이 높으면 일정 시간 동안 호출 자체를 차단하여 30초 타임아웃 대기가 쌓이지 않도록 한다.
+@Service
+@Slf4j
+public class AiServerGuard {
+
+    @Value("${app.ai-server.guard.enabled:true}")
+    private boolean enabled;
+
+    // ADDED: 적응형 동시성 제한 (지연이 기준 대비 tolerance 배 이상 늘면 제한 축소)
+    @Value("${app.ai-server.guard.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.ai-server.guard.limiter.min-limit:2}")
+    private int minLimit;
+
+    @Value("${app.ai-server.guard.limiter.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.ai-server.guard.limiter.latency-tolerance:1.5}")
+    private double latencyTolerance;
+
+    @Value("${app.ai-server.guard.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    // ADDED: 서킷 브레이커 (최근 window-size 건 중 실패율이 임계값 이상이면 open-ms 동안 차단)
+    @Value("${app.ai-server.guard.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.ai-server.guard.breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${app.ai-server.guard.breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${app.ai-server.guard.breaker.open-ms:10000}")
+    private long openMillis;
+
+    @Value("${app.ai-server.guard.breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    // 아래 상태는 this 잠금 하에서만 접근
+    private double limit = -1;
+    private int inFlight;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private long openUntilNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+    private boolean[] outcomes; // 최근 호출 결과 (true = 실패) 원형 버퍼
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+
+    private final LongAdder acceptedCalls = new LongAdder();
+    private final LongAdder limitRejections = new LongAdder();
+    private final LongAdder circuitRejections = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder nonServerErrors = new LongAdder(); // ADDED: 실패로 세지 않은 오류 (4xx 등)
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder limitIncreases = new LongAdder();
+    private final LongAdder limitDecreases = new LongAdder();
+    private final LongAdder circuitOpens = new LongAdder();
+
+    /**
+     * AI 서버 호출을 제한/차단 정책으로 감싼다.
+     * 거절 시 구독 즉시 503 AiServerException 을 내보낸다.
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit.rejection() != null) {
+                return Mono.error(permit.rejection());
+            }
+
+            long startedAt = System.nanoTime();
+            // CHANGED: 호출 시간 초과는 AiEndpointPool.route 가 TimeoutException 오류로 내보냄
+            // (여기서 취소하면 복제본 쪽에서는 일반 취소와 구분할 수 없음)
+            return call
+                    .onErrorMap(TimeoutException.class, e -> {
+                        timeouts.increment();
+                        return new AiServerException("AI 분석 서버 응답 시간이 초과되었습니다.", 504, true);
+                    })
+                    .doOnSuccess(value -> onComplete(permit, System.nanoTime() - startedAt, false))
+                    // CHANGED: 서버 장애(5xx / 연결 실패 / 시간 초과)만 실패로 집계, 4xx / 응답 해석 실패는 응답한 호출로 취급
+                    .doOnError(error -> {
+                        boolean serverFailure = AiServerException.isServerFailure(error);
+                        if (!serverFailure) {
+                            nonServerErrors.increment();
+                        }
+                        onComplete(permit, System.nanoTime() - startedAt, serverFailure);
+                    })
+                    .doOnCancel(() -> onCancel(permit));
+        });
+    }
+
+    /**
+     * ADDED: 현재 허용 동시 호출 수 (적응형 제한, 비활성화 시 Integer.MAX_VALUE) - 추론 스케줄러 슬롯 수로 사용
+     */
+    public synchronized int concurrencyLimit() {
+        return enabled ? (int) currentLimit() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * 제한기 / 서킷 브레이커 지표 조회
+     */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("circuitState", state.name());
+        metrics.put("limit", (int) Math.round(currentLimit()));
+        metrics.put("inFlight", inFlight);
+        metrics.put("accepted", acceptedCalls.sum());
+        metrics.put("limitRejections", limitRejections.sum());
+        metrics.put("circuitRejections", circuitRejections.sum());
+        metrics.put("failures", failedCalls.sum());
+        metrics.put("nonServerErrors", nonServerErrors.sum());
+        metrics.put("timeouts", timeouts.sum());
+        metrics.put("limitIncreases", limitIncreases.sum());
+        metrics.put("limitDecreases", limitDecreases.sum());
+        metrics.put("circuitOpens", circuitOpens.sum());
+        metrics.put("recentFailureRate", outcomeCount == 0 ? 0.0
+                : Math.round(failureCount * 1000.0 / outcomeCount) / 1000.0);
+        metrics.put("shortRttMs", Math.round(shortRttNanos / 1e4) / 100.0);
+        metrics.put("longRttMs", Math.round(longRttNanos / 1e4) / 100.0);
+        return metrics;
+    }
+
+    private synchronized Permit tryAcquire() {
+        long now = System.nanoTime();
+        if (state == CircuitState.OPEN) {
+            if (now - openUntilNanos < 0) {
+                circuitRejections.increment();
+                return Permit.rejected("AI 분석 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.");
+            }
+            transitionTo(CircuitState.HALF_OPEN);
+        }
+        if (state == CircuitState.HALF_OPEN && halfOpenInFlight >= halfOpenCalls) {
+            circuitRejections.increment();
+            return Permit.rejected("AI 분석 서버 상태를 확인하는 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (inFlight >= (int) currentLimit()) {
+            limitRejections.increment();
+            return Permit.rejected("AI 분석 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        inFlight++;
+        boolean trial = state == CircuitState.HALF_OPEN;
+        if (trial) {
+            halfOpenInFlight++;
+        }
+        acceptedCalls.increment();
+        return new Permit(null, trial);
+    }
+
+    private synchronized void onComplete(Permit permit, long latencyNanos, boolean failed) {
+        inFlight--;
+        // 시험 호출이 끝나기 전에 다른 시험 호출 실패로 다시 OPEN 되었으면 시험 결과로 보지 않는다
+        boolean trial = permit.trial() && state == CircuitState.HALF_OPEN;
+        if (trial) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+        }
+
+        if (failed) {
+            failedCalls.increment();
+            decreaseLimit();
+        } else {
+            adjustLimit(latencyNanos);
+        }
+
+        if (trial) {
+            if (failed) {
+                transitionTo(CircuitState.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(CircuitState.CLOSED);
+            }
+            return;
+        }
+
+        if (state == CircuitState.CLOSED) {
+            recordOutcome(failed);
+            if (outcomeCount >= minimumCalls && (double) failureCount / outcomeCount >= failureRateThreshold) {
+                transitionTo(CircuitState.OPEN);
+            }
+        }
+    }
+
+    private synchronized void onCancel(Permit permit) {
+        inFlight--;
+        if (permit.trial() && state == CircuitState.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+        }
+    }
+
+    // 지연 기울기 기반 제한 조정: 단기 평균 지연이 장기 평균의 tolerance 배를 넘으면 축소, 아니면 확대
+    private void adjustLimit(long latencyNanos) {
+        if (longRttNanos == 0) {
+            shortRttNanos = latencyNanos;
+            longRttNanos = latencyNanos;
+        } else {
+            shortRttNanos += (latencyNanos - shortRttNanos) * 0.2;
+            longRttNanos += (latencyNanos - longRttNanos) * 0.02;
+        }
+
+        double current = currentLimit();
+        // 제한의 절반도 쓰지 않는 동안에는 늘리지 않는다 (부하 없이 제한만 커지는 것 방지)
+        if (inFlight + 1 < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, latencyTolerance * longRttNanos / shortRttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        setLimit(current * 0.8 + target * 0.2);
+    }
+
+    private void decreaseLimit() {
+        setLimit(currentLimit() * backoffRatio);
+    }
+
+    private void setLimit(double newLimit) {
+        double previous = currentLimit();
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        long before = Math.round(previous);
+        long after = Math.round(limit);
+        if (after > before) {
+            limitIncreases.increment();
+        } else if (after < before) {
+            limitDecreases.increment();
+            log.debug("AI 호출 동시성 제한 축소: {} -> {}", before, after);
+        }
+    }
+
+    private double currentLimit() {
+        if (limit < 0) {
+            limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        }
+        return limit;
+    }
+
+    private void recordOutcome(boolean failed) {
+        if (outcomes == null || outcomes.length != windowSize) {
+            outcomes = new boolean[windowSize];
+            outcomeIndex = 0;
+            outcomeCount = 0;
+            failureCount = 0;
+        }
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeIndex]) {
+                failureCount--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    }
+
+    private void transitionTo(CircuitState next) {
+        if (state == next) {
+            return;
+        }
+        log.warn("AI 서버 서킷 상태 변경: {} -> {} (최근 실패율 {}/{})", state, next, failureCount, outcomeCount);
+        state = next;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (next == CircuitState.OPEN) {
+            circuitOpens.increment();
+            openUntilNanos = System.nanoTime() + Duration.ofMillis(openMillis).toNanos();
+        } else if (next == CircuitState.CLOSED) {
+            outcomeIndex = 0;
+            outcomeCount = 0;
+            failureCount = 0;
+        }
+    }
+
+    // 호출 허가 (rejection 이 있으면 거절, trial = HALF_OPEN 상태의 시험 호출)
+    private record Permit(AiServerException rejection, boolean trial) {
+        static Permit rejected(String message) {
+            return new Permit(new AiServerException(message, 503), false);
+        }
+    }
+
+    // ADDED: 서킷 브레이커 상태
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
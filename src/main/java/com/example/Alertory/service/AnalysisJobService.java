@@ -0,0 +1,135 @@
+package com.example.Alertory.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ADDED: 비동기 오디오 분석 작업 관리 (202 Accepted + 결과 폴링)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisJobService {
+
+    private final AudioAnalysisService audioAnalysisService;
+    private final AudioIngestService audioIngestService;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+    private volatile LocalDateTime lastSweepAt = LocalDateTime.now();
+
+    // ADDED: 동시에 진행 가능한 최대 비동기 작업 수 (초과 시 503)
+    @Value("${app.analysis.async.max-pending-jobs:500}")
+    private int maxPendingJobs;
+
+    // ADDED: 완료된 작업 결과 보관 시간
+    @Value("${app.analysis.async.result-ttl-minutes:30}")
+    private long resultTtlMinutes;
+
+    /**
+     * 분석 작업 등록 후 즉시 반환 (AI 응답 대기 중 스레드를 점유하지 않음)
+     */
+    public AnalysisJob submit(AudioIngestService.StoredAudio storedAudio, String locationLabel, String requestedBy)
+            throws AiServerException {
+        sweepExpiredJobs();
+
+        if (pendingJobs.incrementAndGet() > maxPendingJobs) {
+            pendingJobs.decrementAndGet();
+            audioIngestService.discard(storedAudio);
+            log.warn("비동기 분석 대기열 초과 - 대기 작업 수: {}", maxPendingJobs);
+            throw new AiServerException("분석 대기 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.", 503);
+        }
+
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), requestedBy, locationLabel);
+        jobs.put(job.getJobId(), job);
+
+        audioAnalysisService.analyzeAsync(storedAudio, locationLabel)
+                .doFinally(signal -> pendingJobs.decrementAndGet())
+                .subscribe(
+                        job::complete,
+                        error -> {
+                            int statusCode = error instanceof AiServerException aiServerException
+                                    ? aiServerException.getStatusCode() : 500;
+                            String message = error instanceof AiServerException
+                                    ? error.getMessage() : "서버 내부 오류가 발생했습니다.";
+                            log.warn("비동기 분석 실패 - 작업: {}, 오류: {}", job.getJobId(), error.getMessage());
+                            job.fail(message, statusCode);
+                        });
+
+        log.info("비동기 분석 작업 등록 - 작업: {}, 사용자: {}", job.getJobId(), requestedBy);
+        return job;
+    }
+
+    /**
+     * 작업 조회 (요청한 사용자 본인의 작업만 조회 가능)
+     */
+    public Optional<AnalysisJob> findJob(String jobId, String requestedBy) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null || !job.getRequestedBy().equals(requestedBy)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    public int getPendingJobCount() {
+        return pendingJobs.get();
+    }
+
+    // 완료 후 보관 시간이 지난 작업 정리 (최대 1분에 한 번)
+    private void sweepExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        if (Duration.between(lastSweepAt, now).toSeconds() < 60) {
+            return;
+        }
+        lastSweepAt = now;
+
+        LocalDateTime expiredBefore = now.minusMinutes(resultTtlMinutes);
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(expiredBefore));
+    }
+
+    // ADDED: 비동기 분석 작업 상태
+    @Getter
+    public static class AnalysisJob {
+        private final String jobId;
+        private final String requestedBy;
+        private final String locationLabel;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile JobStatus status = JobStatus.PENDING;
+        private volatile AudioAnalysisService.AnalysisResult result;
+        private volatile String errorMessage;
+        private volatile int errorStatusCode;
+        private volatile LocalDateTime completedAt;
+
+        AnalysisJob(String jobId, String requestedBy, String locationLabel) {
+            this.jobId = jobId;
+            this.requestedBy = requestedBy;
+            this.locationLabel = locationLabel;
+        }
+
+        void complete(AudioAnalysisService.AnalysisResult result) {
+            this.result = result;
+            this.completedAt = LocalDateTime.now();
+            this.status = JobStatus.COMPLETED;
+        }
+
+        void fail(String errorMessage, int errorStatusCode) {
+            this.errorMessage = errorMessage;
+            this.errorStatusCode = errorStatusCode;
+            this.completedAt = LocalDateTime.now();
+            this.status = JobStatus.FAILED;
+        }
+    }
+
+    public enum JobStatus {
+        PENDING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.AiAnalysisResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: 오디오 내용 해시(SHA-256) 기반 AI 분석 결과 캐시 (크기 제한 + TTL 만료)
+// 엣지 장비의 재전송 / 동일 클립 재업로드 시 AI 호출을 생략한다.
+@Service
+public class AnalysisResultCache {
+
+    @Value("${app.analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    // ADDED: 최대 보관 항목 수 (초과 시 가장 오래 사용되지 않은 항목부터 제거)
+    @Value("${app.analysis.cache.max-entries:10000}")
+    private int maxEntries;
+
+    // ADDED: 항목 유효 시간
+    @Value("${app.analysis.cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    // ADDED: 캐시 적중 시 새로 저장한 파일 대신 기존 오디오 파일을 재사용할지 여부
+    @Value("${app.analysis.cache.reuse-audio-file:false}")
+    private boolean reuseAudioFile;
+
+    // 접근 순서 LinkedHashMap (LRU), this 잠금 하에서만 접근
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public boolean isReuseAudioFile() {
+        return reuseAudioFile;
+    }
+
+    /**
+     * 해시로 캐시 조회 (만료된 항목은 제거 후 미적중 처리)
+     */
+    public Optional<CachedResult> get(String contentHash) {
+        if (!enabled || contentHash == null) {
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            CachedResult cached = entries.get(contentHash);
+            if (cached != null && cached.expiresAtNanos() - System.nanoTime() <= 0) {
+                entries.remove(contentHash);
+                expirations.increment();
+                cached = null;
+            }
+            if (cached == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(cached);
+        }
+    }
+
+    /**
+     * 분석 결과 저장
+     */
+    public void put(String contentHash, AiAnalysisResponse response, Long audioBlobId) {
+        if (!enabled || contentHash == null) {
+            return;
+        }
+
+        long expiresAtNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(ttlMinutes);
+        synchronized (this) {
+            entries.put(contentHash, new CachedResult(response, audioBlobId, expiresAtNanos));
+            evictOverflow();
+        }
+    }
+
+    /**
+     * 캐시 지표 조회 (크기 산정용)
+     */
+    public Map<String, Object> getMetrics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("size", size);
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("ttlMinutes", ttlMinutes);
+        metrics.put("hits", hitCount);
+        metrics.put("misses", missCount);
+        metrics.put("hitRate", hitCount + missCount == 0 ? 0.0
+                : Math.round(hitCount * 1000.0 / (hitCount + missCount)) / 1000.0);
+        metrics.put("evictions", evictions.sum());
+        metrics.put("expirations", expirations.sum());
+        return metrics;
+    }
+
+    // this 잠금 하에서 호출: 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거
+    private void evictOverflow() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        Iterator<CachedResult> iterator = entries.values().iterator();
+        while (iterator.hasNext() && entries.size() > maxEntries) {
+            CachedResult cached = iterator.next();
+            iterator.remove();
+            if (cached.expiresAtNanos() - now <= 0) {
+                expirations.increment();
+            } else {
+                evictions.increment();
+            }
+        }
+    }
+
+    // ADDED: 캐시 항목 (AI 응답 + 최초 저장된 오디오 blob id)
+    public record CachedResult(AiAnalysisResponse response, Long audioBlobId, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,448 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.audio.EnergyAnalyzer;
+import com.example.Alertory.audio.PcmAudio;
+import com.example.Alertory.audio.WavDecoder;
+import com.example.Alertory.dto.AiAnalysisResponse;
+import com.example.Alertory.entity.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// ADDED: 저장된 오디오의 AI 분석 및 이벤트 저장 (동기 요청/비동기 작업 공용)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AudioAnalysisService {
+
+    private final EventService eventService; // CHANGED: 이벤트 저장은 시간별 집계와 함께 EventService 에서
+    private final NotificationService notificationService; // ADDED: 위험 탐지 시 긴급 알림
+    private final AiServerClient aiServerClient;
+    private final AiBatchClient aiBatchClient;
+    private final AnalysisResultCache analysisResultCache;
+    private final AudioIngestService audioIngestService;
+    private final AudioBlobStore audioBlobStore;
+    private final EnergyGateService energyGateService;
+    private final SettingsService settingsService; // ADDED: 라벨별 임계값 / 알림 여부 (메모리 스냅샷)
+    private final AudioFeatureService audioFeatureService;
+    private final AudioWindowingService audioWindowingService;
+    private final InferencePriorityScheduler inferencePriorityScheduler;
+    private final ObjectMapper objectMapper;
+    private final Scheduler analysisScheduler;
+
+    // ADDED: 긴 녹음 분할 분석 결과 집계 방식 (single: 클립당 이벤트 1개, span: 연속 탐지 구간마다 이벤트 1개)
+    @Value("${app.analysis.windowing.event-mode:single}")
+    private String windowEventMode;
+
+    // ADDED: 분할 분석에서 탐지로 볼 라벨 (is_danger=true 는 항상 탐지)
+    @Value("${app.analysis.windowing.detection-labels:SCREAM,HELP_REQUEST}")
+    private String detectionLabels;
+
+    private Set<String> detectionLabelSet;
+
+    @PostConstruct
+    void init() {
+        detectionLabelSet = Arrays.stream(detectionLabels.split(","))
+                .map(label -> label.trim().toUpperCase(Locale.ROOT))
+                .filter(label -> !label.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 동기 분석: AI 응답을 기다린 뒤 이벤트를 저장하고 결과를 반환
+     * CHANGED: 동일 내용(해시)의 최근 분석 결과가 있으면 AI 호출 생략
+     * CHANGED: 명백한 무음 클립은 AI 호출 없이 NORMAL 처리
+     * CHANGED: 긴 WAV 녹음은 겹치는 창으로 나눠 병렬 분석 후 집계
+     * CHANGED: 분석이 끝난 업로드는 세그먼트 저장소로 옮기고, AI 분석 실패 시 업로드 임시 파일 삭제
+     */
+    public AnalysisResult analyze(AudioIngestService.StoredAudio storedAudio, String locationLabel) throws AiServerException {
+        Optional<EnergyAnalyzer.EnergyStats> silence = energyGateService.detectSilence(storedAudio);
+        if (silence.isPresent()) {
+            return saveSilentResult(storedAudio, locationLabel, silence.get());
+        }
+
+        Optional<AnalysisResultCache.CachedResult> cached = analysisResultCache.get(storedAudio.contentHash());
+        if (cached.isPresent()) {
+            return saveCachedResult(storedAudio, locationLabel, cached.get());
+        }
+
+        try {
+            Optional<PcmAudio> longClip = audioWindowingService.decodeLongClip(storedAudio);
+            if (longClip.isPresent()) {
+                return aiServerClient.await(analyzeWindows(storedAudio, locationLabel, longClip.get()));
+            }
+
+            log.info("AI 서버 요청 시작 - URL: {}/predict", aiServerClient.getAiServerUrl());
+            AiAnalysisResponse aiResponse = aiServerClient.await(requestPrediction(storedAudio, locationLabel));
+            return saveResult(storedAudio, locationLabel, aiResponse);
+        } catch (AiServerException e) {
+            audioIngestService.discard(storedAudio);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 분석: 요청 스레드를 점유하지 않고 AI 응답 수신 후 이벤트를 저장
+     * JPA 저장은 블로킹이므로 Netty 이벤트 루프가 아닌 analysisScheduler 에서 수행한다.
+     * (가상 스레드 모드에서는 가상 스레드, 그 외에는 boundedElastic)
+     */
+    public Mono<AnalysisResult> analyzeAsync(AudioIngestService.StoredAudio storedAudio, String locationLabel) {
+        Optional<EnergyAnalyzer.EnergyStats> silence = energyGateService.detectSilence(storedAudio);
+        if (silence.isPresent()) {
+            return Mono.fromCallable(() -> saveSilentResult(storedAudio, locationLabel, silence.get()))
+                    .subscribeOn(analysisScheduler);
+        }
+
+        Optional<AnalysisResultCache.CachedResult> cached = analysisResultCache.get(storedAudio.contentHash());
+        if (cached.isPresent()) {
+            return Mono.fromCallable(() -> saveCachedResult(storedAudio, locationLabel, cached.get()))
+                    .subscribeOn(analysisScheduler);
+        }
+
+        Optional<PcmAudio> longClip = audioWindowingService.decodeLongClip(storedAudio);
+        if (longClip.isPresent()) {
+            return analyzeWindows(storedAudio, locationLabel, longClip.get())
+                    .doOnError(error -> audioIngestService.discard(storedAudio));
+        }
+
+        log.info("AI 서버 비동기 요청 시작 - URL: {}/predict", aiServerClient.getAiServerUrl());
+        return requestPrediction(storedAudio, locationLabel)
+                .publishOn(analysisScheduler)
+                .handle((AiAnalysisResponse aiResponse, SynchronousSink<AnalysisResult> sink) -> {
+                    try {
+                        sink.next(saveResult(storedAudio, locationLabel, aiResponse));
+                    } catch (AiServerException e) {
+                        sink.error(e);
+                    }
+                })
+                .doOnError(error -> audioIngestService.discard(storedAudio));
+    }
+
+    // ADDED: 긴 녹음 창별 분석 후 집계 결과 저장 (분할 결과는 해시 캐시에 넣지 않음)
+    private Mono<AnalysisResult> analyzeWindows(AudioIngestService.StoredAudio storedAudio, String locationLabel,
+                                                PcmAudio audio) {
+        return audioWindowingService.predictWindows(audio, storedAudio.originalFilename(), locationLabel)
+                .publishOn(analysisScheduler)
+                .handle((List<AudioWindowingService.WindowPrediction> windows, SynchronousSink<AnalysisResult> sink) -> {
+                    try {
+                        sink.next(saveWindowedResult(storedAudio, locationLabel, windows));
+                    } catch (AiServerException e) {
+                        sink.error(e);
+                    }
+                });
+    }
+
+    /**
+     * ADDED: 창별 결과 집계
+     * 탐지 창이 있으면 최고 신뢰도 탐지 창(span 모드는 연속 탐지 구간별 최고 창)으로, 없으면 전체 최고 신뢰도 창으로 이벤트 저장.
+     * 이벤트에는 해당 창의 시작 위치(peakOffsetMs)를 함께 기록한다.
+     */
+    private AnalysisResult saveWindowedResult(AudioIngestService.StoredAudio storedAudio, String locationLabel,
+                                              List<AudioWindowingService.WindowPrediction> windows)
+            throws AiServerException {
+        if (windows.isEmpty()) {
+            return saveSilentResult(storedAudio, locationLabel, "모든 분석 구간이 무음으로 판단되어 AI 분석을 생략했습니다.");
+        }
+
+        for (AudioWindowingService.WindowPrediction window : windows) {
+            if (!window.response().isValid()) {
+                String validationError = window.response().getValidationError();
+                log.warn("AI 서버 응답 검증 실패 (구간 {}ms): {}", window.offsetMs(), validationError);
+                throw new AiServerException("AI 분석 결과가 유효하지 않습니다: " + validationError, 502);
+            }
+        }
+
+        Comparator<AudioWindowingService.WindowPrediction> byConfidence =
+                Comparator.comparingDouble(window -> window.response().getConfidence());
+        List<List<AudioWindowingService.WindowPrediction>> spans = detectionSpans(windows);
+        Long audioBlobId = storeBlob(storedAudio);
+
+        if (spans.isEmpty()) {
+            AudioWindowingService.WindowPrediction peak = windows.stream().max(byConfidence).orElseThrow();
+            Event event = saveEvent(audioBlobId, locationLabel, peak.response(), peak.offsetMs());
+            return new AnalysisResult(event, peak.response(), ResultSource.AI_SERVER);
+        }
+
+        if (!"span".equalsIgnoreCase(windowEventMode)) {
+            AudioWindowingService.WindowPrediction peak = spans.stream().flatMap(List::stream).max(byConfidence).orElseThrow();
+            log.info("긴 녹음 탐지 - 구간 {}개, 최고 label={}, confidence={}, offset={}ms",
+                    spans.size(), peak.response().getLabel(), peak.response().getConfidence(), peak.offsetMs());
+            Event event = saveEvent(audioBlobId, locationLabel, peak.response(), peak.offsetMs());
+            return new AnalysisResult(event, peak.response(), ResultSource.AI_SERVER);
+        }
+
+        List<Event> events = new ArrayList<>(spans.size());
+        AudioWindowingService.WindowPrediction overallPeak = null;
+        Event overallPeakEvent = null;
+        for (List<AudioWindowingService.WindowPrediction> span : spans) {
+            AudioWindowingService.WindowPrediction peak = span.stream().max(byConfidence).orElseThrow();
+            Event event = saveEvent(audioBlobId, locationLabel, peak.response(), peak.offsetMs());
+            events.add(event);
+            if (overallPeak == null || byConfidence.compare(peak, overallPeak) > 0) {
+                overallPeak = peak;
+                overallPeakEvent = event;
+            }
+        }
+        log.info("긴 녹음 탐지 - 구간별 이벤트 {}개 저장", events.size());
+        return new AnalysisResult(overallPeakEvent, overallPeak.response(), ResultSource.AI_SERVER, events);
+    }
+
+    // 연속(겹치거나 맞닿은)된 같은 라벨의 탐지 창을 하나의 구간으로 묶음
+    private List<List<AudioWindowingService.WindowPrediction>> detectionSpans(
+            List<AudioWindowingService.WindowPrediction> windows) {
+        List<List<AudioWindowingService.WindowPrediction>> spans = new ArrayList<>();
+        List<AudioWindowingService.WindowPrediction> current = null;
+        long currentEndMs = 0;
+        String currentLabel = null;
+
+        for (AudioWindowingService.WindowPrediction window : windows) {
+            AiAnalysisResponse response = window.response();
+            String label = response.getLabel().toUpperCase(Locale.ROOT);
+            if (!Boolean.TRUE.equals(response.getIsDanger()) && !detectionLabelSet.contains(label)) {
+                current = null;
+                continue;
+            }
+            if (current == null || !label.equals(currentLabel) || window.offsetMs() > currentEndMs) {
+                current = new ArrayList<>();
+                spans.add(current);
+                currentLabel = label;
+            }
+            current.add(window);
+            currentEndMs = window.offsetMs() + window.durationMs();
+        }
+        return spans;
+    }
+
+    /**
+     * ADDED: 실시간 스트리밍 분석 창 1개 분석
+     * 무음 창은 AI 호출을 생략하고, 탐지 결과(위험 또는 eventLabels 라벨)일 때만 창 오디오를 저장하고 이벤트를 만든다.
+     *
+     * @param wav 분석 창 WAV 바이트 (완료 신호 전까지 호출자가 수정하지 않음)
+     * @param eventLabels 이벤트를 생성할 라벨 (대문자)
+     * @return 이벤트가 생성되면 분석 결과, 아니면 empty
+     */
+    public Mono<Optional<AnalysisResult>> analyzeStreamWindow(byte[] wav, String filename, String locationLabel,
+                                                              Set<String> eventLabels) {
+        PcmAudio audio = WavDecoder.decode(ByteBuffer.wrap(wav));
+        return Mono.fromCallable(() -> energyGateService.detectSilence(audio, filename))
+                .subscribeOn(analysisScheduler)
+                .flatMap(silence -> silence.isPresent()
+                        ? Mono.just(Optional.<AnalysisResult>empty())
+                        : requestWindowPrediction(wav, audio, filename, locationLabel)
+                                .publishOn(analysisScheduler)
+                                .handle((AiAnalysisResponse aiResponse, SynchronousSink<Optional<AnalysisResult>> sink) -> {
+                                    try {
+                                        sink.next(saveStreamDetection(wav, filename, locationLabel, aiResponse, eventLabels));
+                                    } catch (AiServerException | IOException e) {
+                                        sink.error(e);
+                                    }
+                                }));
+    }
+
+    // CHANGED: AI 호출은 위치 우선순위 스케줄러를 거쳐 실행
+    private Mono<AiAnalysisResponse> requestWindowPrediction(byte[] wav, PcmAudio audio, String filename,
+                                                             String locationLabel) {
+        if (audioFeatureService.isFeaturePayload()) {
+            return Mono.fromCallable(() -> audioFeatureService.extract(audio))
+                    .subscribeOn(analysisScheduler)
+                    .flatMap(features -> inferencePriorityScheduler.schedule(locationLabel,
+                            aiServerClient.predictFeatures(filename, features)));
+        }
+        return inferencePriorityScheduler.schedule(locationLabel, aiServerClient.predictWav(wav, filename));
+    }
+
+    private Optional<AnalysisResult> saveStreamDetection(byte[] wav, String filename, String locationLabel,
+                                                         AiAnalysisResponse aiResponse, Set<String> eventLabels)
+            throws AiServerException, IOException {
+        if (!aiResponse.isValid()) {
+            String validationError = aiResponse.getValidationError();
+            log.warn("AI 서버 응답 검증 실패 (스트리밍): {}", validationError);
+            throw new AiServerException("AI 분석 결과가 유효하지 않습니다: " + validationError, 502);
+        }
+
+        String label = aiResponse.getLabel().toUpperCase(Locale.ROOT);
+        if (!Boolean.TRUE.equals(aiResponse.getIsDanger()) && !eventLabels.contains(label)) {
+            return Optional.empty();
+        }
+        // ADDED: 설정 임계값 미만이면 탐지로 보지 않음 (창 오디오 / 이벤트 저장 생략)
+        if (!settingsService.policyFor(locationLabel).meetsThreshold(label, aiResponse.getConfidence())) {
+            settingsService.recordBelowThreshold();
+            log.debug("스트리밍 탐지 임계값 미만 - 위치: {}, label={}, confidence={}",
+                    locationLabel, label, aiResponse.getConfidence());
+            return Optional.empty();
+        }
+
+        long audioBlobId = audioBlobStore.append(ByteBuffer.wrap(wav));
+        log.info("스트리밍 탐지 - 위치: {}, label={}, confidence={}", locationLabel, label, aiResponse.getConfidence());
+        return Optional.of(new AnalysisResult(saveEvent(audioBlobId, locationLabel, aiResponse),
+                aiResponse, ResultSource.AI_SERVER));
+    }
+
+    // ADDED: 특징 벡터 모드이면 백엔드에서 추출한 특징만 전송 (추출 불가 클립은 원본 오디오 전송)
+    // CHANGED: AI 호출은 위치 우선순위 스케줄러를 거쳐 실행
+    private Mono<AiAnalysisResponse> requestPrediction(AudioIngestService.StoredAudio storedAudio, String locationLabel) {
+        if (audioFeatureService.isFeaturePayload()) {
+            return Mono.fromCallable(() -> audioFeatureService.extract(storedAudio))
+                    .subscribeOn(analysisScheduler)
+                    .flatMap(features -> inferencePriorityScheduler.schedule(locationLabel, features.isPresent()
+                            ? aiServerClient.predictFeatures(storedAudio.originalFilename(), features.get())
+                            : requestAudioPrediction(storedAudio)));
+        }
+        return inferencePriorityScheduler.schedule(locationLabel, requestAudioPrediction(storedAudio));
+    }
+
+    // ADDED: 배치 모드이면 마이크로 배처를 거쳐, 아니면 단건으로 AI 서버 호출
+    private Mono<AiAnalysisResponse> requestAudioPrediction(AudioIngestService.StoredAudio storedAudio) {
+        if (aiBatchClient.isEnabled()) {
+            return aiBatchClient.submit(storedAudio);
+        }
+        return aiServerClient.predict(storedAudio);
+    }
+
+    private AnalysisResult saveResult(AudioIngestService.StoredAudio storedAudio, String locationLabel,
+                                      AiAnalysisResponse aiResponse) throws AiServerException {
+        // ADDED: AI 서버 응답 전체 로깅
+        log.info("AI 서버 응답 전체: label={}, confidence={}, text={}, isDanger={}",
+                aiResponse.getLabel(), aiResponse.getConfidence(),
+                aiResponse.getText(), aiResponse.getIsDanger());
+
+        // ADDED: AI 응답 유효성 검증
+        if (!aiResponse.isValid()) {
+            String validationError = aiResponse.getValidationError();
+            log.warn("AI 서버 응답 검증 실패: {}", validationError);
+            throw new AiServerException("AI 분석 결과가 유효하지 않습니다: " + validationError, 502);
+        }
+
+        Long audioBlobId = storeBlob(storedAudio);
+        analysisResultCache.put(storedAudio.contentHash(), aiResponse, audioBlobId);
+        return new AnalysisResult(saveEvent(audioBlobId, locationLabel, aiResponse), aiResponse, ResultSource.AI_SERVER);
+    }
+
+    // ADDED: 캐시 적중 결과로 이벤트 저장 (설정 시 기존 오디오 파일 재사용, 새 파일은 삭제)
+    private AnalysisResult saveCachedResult(AudioIngestService.StoredAudio storedAudio, String locationLabel,
+                                            AnalysisResultCache.CachedResult cached) {
+        Long audioBlobId;
+        if (analysisResultCache.isReuseAudioFile() && cached.audioBlobId() != null
+                && audioBlobStore.exists(cached.audioBlobId())) {
+            audioIngestService.discard(storedAudio);
+            audioBlobId = cached.audioBlobId();
+        } else {
+            audioBlobId = storeBlob(storedAudio);
+        }
+
+        log.info("분석 결과 캐시 적중 - 해시: {}, label={}", storedAudio.contentHash(), cached.response().getLabel());
+        return new AnalysisResult(saveEvent(audioBlobId, locationLabel, cached.response()), cached.response(), ResultSource.CACHE);
+    }
+
+    // ADDED: 무음 판정 클립은 AI 서버와 동일한 응답 형식의 NORMAL 결과로 저장
+    private AnalysisResult saveSilentResult(AudioIngestService.StoredAudio storedAudio, String locationLabel,
+                                            EnergyAnalyzer.EnergyStats stats) {
+        return saveSilentResult(storedAudio, locationLabel,
+                String.format("무음 구간으로 판단되어 AI 분석을 생략했습니다. (활성 블록 %d/%d, 최대 RMS %.4f)",
+                        stats.activeBlocks(), stats.blockCount(), stats.maxBlockRms()));
+    }
+
+    private AnalysisResult saveSilentResult(AudioIngestService.StoredAudio storedAudio, String locationLabel,
+                                            String text) {
+        Map<String, Object> normal = new HashMap<>();
+        normal.put("label", "NORMAL");
+        normal.put("confidence", 100.0);
+        normal.put("text", text);
+        normal.put("is_danger", false);
+        AiAnalysisResponse aiResponse = objectMapper.convertValue(normal, AiAnalysisResponse.class);
+
+        return new AnalysisResult(saveEvent(storeBlob(storedAudio), locationLabel, aiResponse),
+                aiResponse, ResultSource.ENERGY_GATE);
+    }
+
+    // ADDED: 업로드 임시 파일을 세그먼트 저장소로 옮기고 blob id 반환
+    // CHANGED: 저장소 기록이 실패해도 임시 파일은 삭제 (업로드 디렉터리에 남지 않도록)
+    private Long storeBlob(AudioIngestService.StoredAudio storedAudio) {
+        try {
+            return audioBlobStore.append(storedAudio.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException("오디오 저장소 기록 실패: " + storedAudio.path().getFileName(), e);
+        } finally {
+            audioIngestService.discard(storedAudio);
+        }
+    }
+
+    private Event saveEvent(Long audioBlobId, String locationLabel, AiAnalysisResponse aiResponse) {
+        return saveEvent(audioBlobId, locationLabel, aiResponse, null);
+    }
+
+    private Event saveEvent(Long audioBlobId, String locationLabel, AiAnalysisResponse aiResponse, Long peakOffsetMs) {
+        // CHANGED: Event 엔티티 생성 및 저장 (AI 응답 필드 추가)
+        Event event = Event.builder()
+                .eventType(aiResponse.getLabel())
+                .confidence(aiResponse.getConfidence()) // 0-100 그대로 저장
+                .audioBlobId(audioBlobId) // CHANGED: 파일 경로 대신 세그먼트 저장소 blob id
+                .peakOffsetMs(peakOffsetMs)
+                .detectedAt(LocalDateTime.now())
+                .locationLabel(locationLabel)
+                .status(Event.EventStatus.NEW)
+                .build();
+
+        Event savedEvent = eventService.saveDetectedEvent(event); // CHANGED: 시간별 집계와 함께 저장
+        inferencePriorityScheduler.recordEvent(locationLabel, aiResponse.getLabel(), aiResponse.getIsDanger());
+        // CHANGED: 위치의 알림 설정이 켜져 있고 라벨별 임계값 이상일 때만 긴급 알림
+        if (Boolean.TRUE.equals(aiResponse.getIsDanger())) {
+            SettingsService.DetectionPolicy policy = settingsService.policyFor(locationLabel);
+            if (!policy.alertEnabled()) {
+                log.debug("알림 꺼짐 - 긴급 알림 생략, 위치: {}", locationLabel);
+            } else if (policy.meetsThreshold(aiResponse.getLabel(), aiResponse.getConfidence())) {
+                createEmergencyAlert(savedEvent);
+            } else {
+                settingsService.recordBelowThreshold();
+            }
+        }
+
+        log.info("DB 저장 완료 - Event ID: {}, Type: {}, Confidence: {}%",
+                savedEvent.getId(), savedEvent.getEventType(), savedEvent.getConfidence());
+
+        return savedEvent;
+    }
+
+    // ADDED: 긴급 알림 저장 + 실시간 푸시 (실패해도 이벤트 저장 / 분석 응답은 유지)
+    private void createEmergencyAlert(Event event) {
+        try {
+            notificationService.createEmergencyAlert(event);
+        } catch (RuntimeException e) {
+            log.error("긴급 알림 생성 실패 - Event ID: {}, 오류: {}", event.getId(), e.getMessage(), e);
+        }
+    }
+
+    // ADDED: 분석 결과 (저장된 이벤트 + AI 응답 + 결과 출처)
+    // CHANGED: 긴 녹음 구간별 이벤트 모드에서는 events 에 구간별 이벤트 전체 (event 는 최고 신뢰도 구간)
+    public record AnalysisResult(Event event, AiAnalysisResponse aiResponse, ResultSource source, List<Event> events) {
+        public AnalysisResult(Event event, AiAnalysisResponse aiResponse, ResultSource source) {
+            this(event, aiResponse, source, List.of(event));
+        }
+    }
+
+    // ADDED: 분석 결과 출처 (AI 서버 / 해시 캐시 / 무음 게이트)
+    public enum ResultSource {
+        AI_SERVER, CACHE, ENERGY_GATE
+    }
+}
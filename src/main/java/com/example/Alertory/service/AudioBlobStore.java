@@ -0,0 +1,486 @@
+package com.example.Alertory.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// ADDED: 추가 전용 세그먼트 오디오 저장소 (업로드마다 파일 1개 대신 큰 세그먼트 파일에 이어 붙임)
+// segment-00000001.dat : [헤더 16바이트 (magic, length, blobId)][오디오 바이트] 반복, segment-max-bytes 초과 시 다음 세그먼트로 교체
+// blobs.idx           : 32바이트 고정 길이 레코드 (blobId, segmentId, flags, offset, length) 추가 기록, 나중 레코드가 우선
+// 읽기는 봉인된 세그먼트를 통째로 mmap 한 버퍼의 슬라이스로 제공하고, 삭제 비율이 높은 세그먼트는 압축(살아 있는 클립만 재기록)한다.
+@Service
+@Slf4j
+public class AudioBlobStore {
+
+    private static final int RECORD_MAGIC = 0xA0D10B10;
+    private static final int RECORD_HEADER_BYTES = 16;
+    private static final int INDEX_ENTRY_BYTES = 32;
+    private static final int FLAG_LIVE = 0;
+    private static final int FLAG_DELETED = 1;
+    private static final String INDEX_FILE = "blobs.idx";
+
+    @Value("${app.blob-store.dir:uploads/segments/}")
+    private String storeDir;
+
+    // ADDED: 세그먼트 최대 크기 (봉인 후 통째로 mmap 하므로 2GB 미만)
+    @Value("${app.blob-store.segment-max-bytes:268435456}")
+    private long segmentMaxBytes;
+
+    // ADDED: 삭제된 바이트 비율이 이 값 이상인 봉인 세그먼트를 압축
+    @Value("${app.blob-store.compaction-threshold:0.5}")
+    private double compactionThreshold;
+
+    // ADDED: 압축된 세그먼트 파일 삭제 유예 시간 (진행 중인 sendfile 전송이 파일을 다시 열 수 있도록)
+    @Value("${app.blob-store.retired-delete-delay-ms:60000}")
+    private long retiredDeleteDelayMillis;
+
+    private Path directory;
+
+    // blobId -> 위치 (살아 있는 클립만)
+    private final Map<Long, BlobLocation> locations = new ConcurrentHashMap<>();
+    // 봉인 세그먼트 mmap 캐시
+    private final Map<Integer, MappedByteBuffer> sealedMappings = new ConcurrentHashMap<>();
+    // 압축 후 삭제 대기 중인 세그먼트 파일 -> 압축 시각
+    private final Map<Path, Long> retiredSegments = new ConcurrentHashMap<>();
+
+    // 아래 상태는 this 잠금 하에서만 변경
+    private final Map<Integer, SegmentStats> segments = new HashMap<>();
+    private FileChannel indexChannel;
+    private FileChannel activeChannel;
+    private int activeSegmentId;
+    private long activeSize;
+    private long nextBlobId = 1;
+
+    private final LongAdder appendedBlobs = new LongAdder();
+    private final LongAdder appendedBytes = new LongAdder();
+    private final LongAdder deletedBlobs = new LongAdder();
+    private final LongAdder compactedSegments = new LongAdder();
+    private final LongAdder reclaimedBytes = new LongAdder();
+
+    @PostConstruct
+    synchronized void init() throws IOException {
+        directory = Paths.get(storeDir).toAbsolutePath();
+        Files.createDirectories(directory);
+
+        List<Integer> segmentIds = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-") && name.endsWith(".dat"))
+                    .forEach(name -> segmentIds.add(Integer.parseInt(name.substring(8, name.length() - 4))));
+        }
+        for (int segmentId : segmentIds) {
+            segments.put(segmentId, new SegmentStats(Files.size(segmentPath(segmentId))));
+        }
+
+        replayIndex();
+
+        activeSegmentId = segmentIds.stream().mapToInt(Integer::intValue).max().orElse(0);
+        if (activeSegmentId == 0) {
+            activeSegmentId = 1;
+            segments.put(activeSegmentId, new SegmentStats(0));
+        }
+        activeChannel = FileChannel.open(segmentPath(activeSegmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeSize = activeChannel.size();
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        log.info("오디오 세그먼트 저장소 - 경로: {}, 세그먼트 {}개, 클립 {}개", directory, segments.size(), locations.size());
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.force(true);
+            activeChannel.close();
+        }
+        if (indexChannel != null) {
+            indexChannel.force(true);
+            indexChannel.close();
+        }
+    }
+
+    /**
+     * 파일 내용을 현재 세그먼트 끝에 추가 (FileChannel.transferTo 로 커널 내 복사)
+     *
+     * @return 새 blob id
+     */
+    public long append(Path source) throws IOException {
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = input.size();
+            synchronized (this) {
+                long dataOffset = beginRecord(length);
+                long copied = 0;
+                while (copied < length) {
+                    long transferred = input.transferTo(copied, length - copied,
+                            activeChannel.position(dataOffset + copied));
+                    if (transferred <= 0) {
+                        throw new IOException("Short transfer while appending " + source);
+                    }
+                    copied += transferred;
+                }
+                return commitRecord(dataOffset, (int) length);
+            }
+        }
+    }
+
+    /**
+     * 메모리의 오디오 바이트를 현재 세그먼트 끝에 추가
+     */
+    public synchronized long append(ByteBuffer source) throws IOException {
+        ByteBuffer data = source.duplicate();
+        int length = data.remaining();
+        long dataOffset = beginRecord(length);
+        long position = dataOffset;
+        while (data.hasRemaining()) {
+            position += activeChannel.write(data, position);
+        }
+        return commitRecord(dataOffset, length);
+    }
+
+    /**
+     * 클립 내용을 읽기 전용 버퍼로 반환 (봉인 세그먼트는 mmap 슬라이스, 복사 없음)
+     */
+    public Optional<ByteBuffer> read(long blobId) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            BlobLocation location = locations.get(blobId);
+            if (location == null) {
+                return Optional.empty();
+            }
+
+            try {
+                MappedByteBuffer sealed = sealedMappings.get(location.segmentId());
+                if (sealed == null && isSealed(location.segmentId())) {
+                    sealed = sealedMappings.computeIfAbsent(location.segmentId(), this::mapSegment);
+                }
+                if (sealed != null) {
+                    return Optional.of(sealed.slice((int) location.offset(), location.length()).asReadOnlyBuffer());
+                }
+
+                // 기록 중인 세그먼트는 해당 클립 영역만 매핑
+                Path segment = segmentPath(location.segmentId());
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                    return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, location.offset(), location.length()));
+                }
+            } catch (IllegalStateException | IOException e) {
+                // 압축으로 세그먼트가 방금 삭제된 경우 옮겨진 위치로 한 번 더 시도
+                if (attempt > 0 || locations.get(blobId) == location) {
+                    throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * ADDED: 클립이 위치한 세그먼트 파일 구간 (sendfile / transferTo 전송용)
+     * 압축으로 옮겨진 뒤에도 이전 세그먼트 파일은 retired-delete-delay-ms 동안 유지된다.
+     */
+    public Optional<BlobFile> locate(long blobId) {
+        return Optional.ofNullable(locations.get(blobId))
+                .map(location -> new BlobFile(segmentPath(location.segmentId()), location.offset(), location.length()));
+    }
+
+    public boolean exists(long blobId) {
+        return locations.containsKey(blobId);
+    }
+
+    /**
+     * 클립 삭제 (삭제 기록만 남기고 공간은 압축 시 회수)
+     */
+    public synchronized boolean delete(long blobId) throws IOException {
+        BlobLocation location = locations.remove(blobId);
+        if (location == null) {
+            return false;
+        }
+        writeIndexEntry(blobId, location.segmentId(), FLAG_DELETED, location.offset(), location.length());
+        SegmentStats stats = segments.get(location.segmentId());
+        if (stats != null) {
+            stats.liveBytes -= RECORD_HEADER_BYTES + location.length();
+        }
+        deletedBlobs.increment();
+        return true;
+    }
+
+    /**
+     * 삭제 비율이 높은 봉인 세그먼트의 살아 있는 클립을 현재 세그먼트로 옮기고 세그먼트 파일 삭제
+     * 압축 후 인덱스도 살아 있는 클립만으로 다시 쓴다.
+     */
+    @Scheduled(fixedDelayString = "${app.blob-store.compaction-interval-ms:600000}")
+    public void compact() {
+        purgeRetiredSegments();
+
+        List<Integer> candidates = new ArrayList<>();
+        synchronized (this) {
+            segments.forEach((segmentId, stats) -> {
+                if (segmentId != activeSegmentId && stats.size > 0
+                        && (double) (stats.size - stats.liveBytes) / stats.size >= compactionThreshold) {
+                    candidates.add(segmentId);
+                }
+            });
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int segmentId : candidates) {
+                compactSegment(segmentId);
+            }
+            rewriteIndex();
+        } catch (IOException e) {
+            log.error("세그먼트 압축 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public synchronized Map<String, Object> getMetrics() {
+        long totalBytes = 0;
+        long liveBytes = 0;
+        for (SegmentStats stats : segments.values()) {
+            totalBytes += stats.size;
+            liveBytes += stats.liveBytes;
+        }
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("segments", segments.size());
+        metrics.put("activeSegment", activeSegmentId);
+        metrics.put("blobs", locations.size());
+        metrics.put("totalBytes", totalBytes);
+        metrics.put("liveBytes", liveBytes);
+        metrics.put("appended", appendedBlobs.sum());
+        metrics.put("appendedBytes", appendedBytes.sum());
+        metrics.put("deleted", deletedBlobs.sum());
+        metrics.put("compactedSegments", compactedSegments.sum());
+        metrics.put("reclaimedBytes", reclaimedBytes.sum());
+        return metrics;
+    }
+
+    private void compactSegment(int segmentId) throws IOException {
+        List<Long> live = new ArrayList<>();
+        locations.forEach((blobId, location) -> {
+            if (location.segmentId() == segmentId) {
+                live.add(blobId);
+            }
+        });
+
+        MappedByteBuffer mapped = sealedMappings.computeIfAbsent(segmentId, this::mapSegment);
+        for (long blobId : live) {
+            synchronized (this) {
+                BlobLocation location = locations.get(blobId);
+                if (location == null || location.segmentId() != segmentId) {
+                    continue; // 압축 중 삭제됨
+                }
+                ByteBuffer data = mapped.slice((int) location.offset(), location.length());
+                long dataOffset = beginRecord(location.length(), blobId);
+                long position = dataOffset;
+                while (data.hasRemaining()) {
+                    position += activeChannel.write(data, position);
+                }
+                commitRecord(dataOffset, location.length(), blobId);
+            }
+        }
+
+        long reclaimed;
+        synchronized (this) {
+            SegmentStats stats = segments.remove(segmentId);
+            reclaimed = stats == null ? 0 : stats.size - stats.liveBytes;
+        }
+        // 진행 중인 읽기가 가진 매핑은 파일 삭제 후에도 GC 전까지 유효, 파일은 유예 시간 후 삭제
+        sealedMappings.remove(segmentId);
+        retiredSegments.put(segmentPath(segmentId), System.currentTimeMillis());
+        compactedSegments.increment();
+        reclaimedBytes.add(reclaimed);
+        log.info("세그먼트 압축 완료 - 세그먼트: {}, 이동 클립: {}개, 회수: {}bytes", segmentId, live.size(), reclaimed);
+    }
+
+    // this 잠금 하에서 호출: 필요 시 세그먼트 교체 후 레코드 헤더 기록, 데이터 시작 위치 반환
+    private long beginRecord(long length) throws IOException {
+        return beginRecord(length, nextBlobId);
+    }
+
+    private long beginRecord(long length, long blobId) throws IOException {
+        if (length > Integer.MAX_VALUE - RECORD_HEADER_BYTES) {
+            throw new IOException("Blob too large: " + length);
+        }
+        if (activeSize > 0 && activeSize + RECORD_HEADER_BYTES + length > segmentMaxBytes) {
+            rollSegment();
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(RECORD_MAGIC).putInt((int) length).putLong(blobId).flip();
+        long position = activeSize;
+        while (header.hasRemaining()) {
+            position += activeChannel.write(header, position);
+        }
+        return activeSize + RECORD_HEADER_BYTES;
+    }
+
+    private long commitRecord(long dataOffset, int length) throws IOException {
+        long blobId = nextBlobId++;
+        commitRecord(dataOffset, length, blobId);
+        appendedBlobs.increment();
+        appendedBytes.add(length);
+        return blobId;
+    }
+
+    // 데이터 기록 후 인덱스 기록 (인덱스 기록 전 장애 시 세그먼트의 해당 바이트는 무시됨)
+    private void commitRecord(long dataOffset, int length, long blobId) throws IOException {
+        writeIndexEntry(blobId, activeSegmentId, FLAG_LIVE, dataOffset, length);
+        activeSize = dataOffset + length;
+        BlobLocation previous = locations.put(blobId, new BlobLocation(activeSegmentId, dataOffset, length));
+        if (previous != null) {
+            SegmentStats previousStats = segments.get(previous.segmentId());
+            if (previousStats != null) {
+                previousStats.liveBytes -= RECORD_HEADER_BYTES + previous.length();
+            }
+        }
+        SegmentStats stats = segments.get(activeSegmentId);
+        stats.size = activeSize;
+        stats.liveBytes += RECORD_HEADER_BYTES + length;
+    }
+
+    private void rollSegment() throws IOException {
+        activeChannel.force(true);
+        activeChannel.close();
+        indexChannel.force(true);
+        activeSegmentId++;
+        activeChannel = FileChannel.open(segmentPath(activeSegmentId),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        activeSize = 0;
+        segments.put(activeSegmentId, new SegmentStats(0));
+        log.info("새 오디오 세그먼트 시작: {}", activeSegmentId);
+    }
+
+    private void writeIndexEntry(long blobId, int segmentId, int flags, long offset, int length) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(blobId).putInt(segmentId).putInt(flags).putLong(offset).putInt(length).putInt(0).flip();
+        while (entry.hasRemaining()) {
+            indexChannel.write(entry);
+        }
+    }
+
+    // 인덱스 파일을 처음부터 읽어 마지막 상태 복원 (불완전한 마지막 레코드는 무시)
+    private void replayIndex() throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            long entries = channel.size() / INDEX_ENTRY_BYTES;
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, entries * INDEX_ENTRY_BYTES);
+            index.order(ByteOrder.LITTLE_ENDIAN);
+            for (long i = 0; i < entries; i++) {
+                long blobId = index.getLong();
+                int segmentId = index.getInt();
+                int flags = index.getInt();
+                long offset = index.getLong();
+                int length = index.getInt();
+                index.getInt();
+
+                nextBlobId = Math.max(nextBlobId, blobId + 1);
+                if (flags == FLAG_DELETED) {
+                    locations.remove(blobId);
+                } else if (segments.containsKey(segmentId) && offset + length <= segments.get(segmentId).size) {
+                    locations.put(blobId, new BlobLocation(segmentId, offset, length));
+                }
+            }
+        }
+        locations.values().forEach(location ->
+                segments.get(location.segmentId()).liveBytes += RECORD_HEADER_BYTES + location.length());
+    }
+
+    // 살아 있는 클립만으로 인덱스 재작성 (임시 파일 기록 후 교체)
+    private synchronized void rewriteIndex() throws IOException {
+        Path temp = directory.resolve(INDEX_FILE + ".tmp");
+        indexChannel.force(true);
+        indexChannel.close();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            indexChannel = channel;
+            // 삭제된 마지막 id 가 재사용되지 않도록 최대 id 를 삭제 레코드로 먼저 남김 (살아 있으면 아래 레코드가 덮어씀)
+            if (nextBlobId > 1) {
+                writeIndexEntry(nextBlobId - 1, 0, FLAG_DELETED, 0, 0);
+            }
+            for (Map.Entry<Long, BlobLocation> entry : locations.entrySet()) {
+                BlobLocation location = entry.getValue();
+                writeIndexEntry(entry.getKey(), location.segmentId(), FLAG_LIVE, location.offset(), location.length());
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(INDEX_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void purgeRetiredSegments() {
+        long deleteBefore = System.currentTimeMillis() - retiredDeleteDelayMillis;
+        retiredSegments.entrySet().removeIf(entry -> {
+            if (entry.getValue() > deleteBefore) {
+                return false;
+            }
+            try {
+                Files.deleteIfExists(entry.getKey());
+                return true;
+            } catch (IOException e) {
+                log.warn("압축된 세그먼트 삭제 실패 - 경로: {}, 오류: {}", entry.getKey(), e.getMessage());
+                return false;
+            }
+        });
+    }
+
+    private boolean isSealed(int segmentId) {
+        synchronized (this) {
+            return segmentId != activeSegmentId;
+        }
+    }
+
+    private MappedByteBuffer mapSegment(int segmentId) {
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentId), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map segment " + segmentId, e);
+        }
+    }
+
+    private Path segmentPath(int segmentId) {
+        return directory.resolve(String.format("segment-%08d.dat", segmentId));
+    }
+
+    // 클립 위치 (세그먼트 내 데이터 시작 오프셋, 길이)
+    private record BlobLocation(int segmentId, long offset, int length) {
+    }
+
+    // ADDED: 클립의 세그먼트 파일 구간
+    public record BlobFile(Path path, long offset, long length) {
+    }
+
+    private static final class SegmentStats {
+        private long size;
+        private long liveBytes;
+
+        SegmentStats(long size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.EventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.Optional;
+
+// ADDED: 이벤트 오디오 다운로드 대상 해석 (세그먼트 저장소 클립 / 이전 방식 파일)
+// 본문은 읽지 않고 파일 구간과 형식(앞 12바이트로 판별), 검증자(ETag / Last-Modified)만 만든다.
+@Service
+@RequiredArgsConstructor
+public class AudioDownloadService {
+
+    private static final int SNIFF_BYTES = 12;
+
+    private final AudioBlobStore audioBlobStore;
+
+    /**
+     * 이벤트의 오디오 구간 조회 (저장된 오디오가 없으면 empty)
+     */
+    public Optional<AudioSource> resolve(EventDto event) throws IOException {
+        if (event.getAudioBlobId() != null) {
+            Optional<AudioBlobStore.BlobFile> blob = audioBlobStore.locate(event.getAudioBlobId());
+            if (blob.isEmpty()) {
+                return Optional.empty();
+            }
+            AudioBlobStore.BlobFile file = blob.get();
+            AudioFormat format = sniff(file.path(), file.offset(), file.length());
+            // 저장소 클립은 변경되지 않으므로 blob id 가 곧 강한 ETag
+            long lastModified = event.getDetectedAt() == null ? 0
+                    : event.getDetectedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return Optional.of(new AudioSource(file.path(), file.offset(), file.length(), format,
+                    "\"b" + event.getAudioBlobId() + "\"", lastModified));
+        }
+
+        if (event.getAudioFilePath() == null || event.getAudioFilePath().isEmpty()) {
+            return Optional.empty();
+        }
+        Path path = Paths.get(event.getAudioFilePath());
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            return Optional.empty();
+        }
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        return Optional.of(new AudioSource(path, 0, size, sniff(path, 0, size),
+                "\"f" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"", lastModified));
+    }
+
+    // 파일 구간 앞부분의 시그니처로 형식 판별 (판별 불가 시 octet-stream)
+    private AudioFormat sniff(Path path, long offset, long length) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate((int) Math.min(SNIFF_BYTES, length));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            do {
+                read = channel.read(head, offset + head.position());
+            } while (read > 0 && head.hasRemaining());
+        }
+        return AudioFormat.detect(head.flip());
+    }
+
+    // ADDED: 다운로드 대상 파일 구간과 응답 헤더 정보
+    public record AudioSource(Path path, long offset, long length, AudioFormat format,
+                              String etag, long lastModifiedMillis) {
+    }
+
+    // ADDED: 업로드 허용 형식별 Content-Type / 확장자
+    public enum AudioFormat {
+        WAV("audio/wav", "wav"),
+        MP3("audio/mpeg", "mp3"),
+        OGG("audio/ogg", "ogg"),
+        WEBM("audio/webm", "webm"),
+        FLAC("audio/flac", "flac"),
+        M4A("audio/mp4", "m4a"),
+        UNKNOWN("application/octet-stream", "bin");
+
+        private final String contentType;
+        private final String extension;
+
+        AudioFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        static AudioFormat detect(ByteBuffer head) {
+            int length = head.remaining();
+            if (length >= 12 && startsWith(head, 0, "RIFF") && startsWith(head, 8, "WAVE")) {
+                return WAV;
+            }
+            if (length >= 4 && startsWith(head, 0, "OggS")) {
+                return OGG;
+            }
+            if (length >= 4 && startsWith(head, 0, "fLaC")) {
+                return FLAC;
+            }
+            if (length >= 8 && startsWith(head, 4, "ftyp")) {
+                return M4A;
+            }
+            if (length >= 4 && (head.getInt(0) == 0x1A45DFA3)) { // EBML (webm / matroska)
+                return WEBM;
+            }
+            if (length >= 3 && startsWith(head, 0, "ID3")) {
+                return MP3;
+            }
+            if (length >= 2 && (head.get(0) & 0xFF) == 0xFF && (head.get(1) & 0xE0) == 0xE0) { // MPEG 프레임 동기
+                return MP3;
+            }
+            return UNKNOWN;
+        }
+
+        private static boolean startsWith(ByteBuffer head, int offset, String signature) {
+            for (int i = 0; i < signature.length(); i++) {
+                if (head.get(offset + i) != (byte) signature.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
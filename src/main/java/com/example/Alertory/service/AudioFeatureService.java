@@ -0,0 +1,91 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.audio.MelFeatureExtractor;
+import com.example.Alertory.audio.PcmAudio;
+import com.example.Alertory.audio.WavDecoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: AI 서버로 원본 오디오 대신 514차원 특징 벡터를 보내기 위한 특징 추출 서비스
+@Service
+@Slf4j
+public class AudioFeatureService {
+
+    // ADDED: AI 서버 전송 방식 (audio: 원본 파일 multipart, features: 특징 벡터 JSON)
+    @Value("${app.ai-server.payload:audio}")
+    private String payloadMode;
+
+    // 작업 버퍼를 가진 추출기 재사용 풀 (추출기는 스레드 안전하지 않음)
+    private final ConcurrentLinkedQueue<MelFeatureExtractor> extractors = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder extractedClips = new LongAdder();
+    private final LongAdder skippedClips = new LongAdder();
+    private final LongAdder totalExtractMicros = new LongAdder();
+
+    public boolean isFeaturePayload() {
+        return "features".equalsIgnoreCase(payloadMode);
+    }
+
+    /**
+     * 저장된 클립의 특징 벡터 추출
+     * WAV 가 아니거나 디코딩할 수 없으면 empty 반환 (원본 오디오 전송으로 대체)
+     */
+    public Optional<float[]> extract(AudioIngestService.StoredAudio storedAudio) {
+        if (!storedAudio.originalFilename().toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            skippedClips.increment();
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(storedAudio.path(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Optional.of(extract(WavDecoder.decode(mapped)));
+
+        } catch (IOException | IllegalArgumentException e) {
+            skippedClips.increment();
+            log.debug("특징 추출 생략 - 파일: {}, 사유: {}", storedAudio.path().getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * ADDED: 디코딩된 PCM 오디오의 특징 벡터 추출 (스트리밍 창 등)
+     */
+    public float[] extract(PcmAudio audio) {
+        MelFeatureExtractor extractor = extractors.poll();
+        if (extractor == null) {
+            extractor = new MelFeatureExtractor();
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            float[] features = extractor.extract(audio);
+            extractedClips.increment();
+            totalExtractMicros.add((System.nanoTime() - startedAt) / 1000);
+            return features;
+        } finally {
+            extractors.offer(extractor);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long extracted = extractedClips.sum();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("payload", isFeaturePayload() ? "features" : "audio");
+        metrics.put("extracted", extracted);
+        metrics.put("skipped", skippedClips.sum());
+        metrics.put("avgExtractMs", extracted == 0 ? 0.0 : Math.round(totalExtractMicros.sum() / 10.0 / extracted) / 100.0);
+        return metrics;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.Alertory.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// ADDED: 업로드 오디오를 최종 위치에 한 번만 기록하는 수집 서비스
+@Service
+@Slf4j
+public class AudioIngestService {
+
+    // ADDED: 업로드 저장 경로 (기존 AudioController 하드코딩 값과 동일)
+    @Value("${app.upload.dir:uploads/audio/}")
+    private String uploadDir;
+
+    // ADDED: FileChannel.transferFrom 1회 호출당 최대 전송 크기
+    @Value("${app.upload.transfer-chunk-bytes:1048576}")
+    private long transferChunkBytes;
+
+    /**
+     * 입력 채널을 최종 저장 위치로 스트리밍 기록
+     * 중간 버퍼 파일 없이 FileChannel.transferFrom 으로 한 번만 디스크에 쓴다.
+     * CHANGED: 기록과 동시에 SHA-256 해시를 계산 (결과 캐시 키)
+     *
+     * @param source 업로드 본문 채널 (호출자가 닫음)
+     * @param originalFilename 원본 파일명
+     * @param maxBytes 허용 최대 크기 (초과 시 저장 파일 삭제 후 예외)
+     */
+    public StoredAudio store(ReadableByteChannel source, String originalFilename, long maxBytes) throws IOException {
+        Path uploadPath = Paths.get(uploadDir);
+        if (!Files.exists(uploadPath)) {
+            Files.createDirectories(uploadPath);
+        }
+
+        // 파일 저장 (고유한 파일명 생성)
+        String fileName = UUID.randomUUID().toString() + "_" + originalFilename;
+        Path filePath = uploadPath.resolve(fileName);
+
+        DigestingChannel digestingSource = new DigestingChannel(source);
+        long written = 0;
+        try (FileChannel target = FileChannel.open(filePath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (true) {
+                long transferred = target.transferFrom(digestingSource, written, transferChunkBytes);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+                if (written > maxBytes) {
+                    throw new UploadTooLargeException(maxBytes);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(filePath);
+            throw e;
+        }
+
+        log.debug("오디오 스트리밍 저장 완료 - 경로: {}, 크기: {}bytes", filePath, written);
+        return new StoredAudio(filePath.toAbsolutePath(), originalFilename, written, digestingSource.hexDigest());
+    }
+
+    /**
+     * 저장된 오디오 파일 삭제 (분석 실패 등으로 보관할 필요가 없을 때)
+     */
+    public void discard(StoredAudio audio) {
+        try {
+            Files.deleteIfExists(audio.path());
+        } catch (IOException e) {
+            log.warn("오디오 파일 삭제 실패 - 경로: {}, 오류: {}", audio.path(), e.getMessage());
+        }
+    }
+
+    public String getUploadDir() {
+        return uploadDir;
+    }
+
+    // ADDED: 저장 완료된 오디오 정보 (contentHash: SHA-256 hex)
+    public record StoredAudio(Path path, String originalFilename, long size, String contentHash) {
+    }
+
+    // ADDED: 읽은 바이트로 해시를 갱신하는 채널 래퍼 (추가 복사 없이 같은 버퍼를 참조)
+    private static class DigestingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel delegate;
+        private final MessageDigest digest;
+
+        DigestingChannel(ReadableByteChannel delegate) {
+            this.delegate = delegate;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            int read = delegate.read(dst);
+            if (read > 0) {
+                ByteBuffer view = dst.duplicate();
+                view.limit(start + read);
+                view.position(start);
+                digest.update(view);
+            }
+            return read;
+        }
+
+        String hexDigest() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    // ADDED: 스트리밍 중 크기 제한 초과 예외
+    public static class UploadTooLargeException extends IOException {
+        public UploadTooLargeException(long maxBytes) {
+            super(String.format("파일 크기가 너무 큽니다. 최대 크기: %.1fMB", maxBytes / (1024.0 * 1024.0)));
+        }
+    }
+}
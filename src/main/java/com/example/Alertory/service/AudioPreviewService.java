@@ -0,0 +1,100 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.audio.PcmAudio;
+import com.example.Alertory.audio.WavDecoder;
+import com.example.Alertory.audio.WaveformPreview;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: 이벤트 오디오 미리보기 (파형 피크 + 저해상도 스펙트로그램)
+// 처음 요청될 때 클립을 매핑해 계산하고, 오디오 버전(ETag)별로 LRU 캐시에 보관한다. (WAV 만 지원)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AudioPreviewService {
+
+    @Value("${app.preview.peaks:400}")
+    private int peakCount;
+
+    @Value("${app.preview.spectrogram-frames:64}")
+    private int spectrogramFrames;
+
+    @Value("${app.preview.spectrogram-bands:32}")
+    private int spectrogramBands;
+
+    // ADDED: 캐시 최대 항목 수 (항목당 약 3KB)
+    @Value("${app.preview.cache-max-entries:2000}")
+    private int maxEntries;
+
+    // 접근 순서 LinkedHashMap (LRU), this 잠금 하에서만 접근
+    private final LinkedHashMap<String, WaveformPreview> cache = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder unsupported = new LongAdder();
+    private final LongAdder totalComputeMicros = new LongAdder();
+
+    /**
+     * 오디오 구간의 미리보기 (WAV 가 아니거나 디코딩할 수 없으면 empty)
+     */
+    public Optional<WaveformPreview> preview(AudioDownloadService.AudioSource source) throws IOException {
+        synchronized (this) {
+            WaveformPreview cached = cache.get(source.etag());
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+        misses.increment();
+        if (source.format() != AudioDownloadService.AudioFormat.WAV) {
+            unsupported.increment();
+            return Optional.empty();
+        }
+
+        long startedAt = System.nanoTime();
+        WaveformPreview preview;
+        try (FileChannel channel = FileChannel.open(source.path(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, source.offset(), source.length());
+            PcmAudio audio = WavDecoder.decode(mapped);
+            preview = WaveformPreview.compute(audio, peakCount, spectrogramFrames, spectrogramBands);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.debug("미리보기를 만들 수 없는 오디오: {} - {}", source.path(), e.getMessage());
+            unsupported.increment();
+            return Optional.empty();
+        }
+        totalComputeMicros.add((System.nanoTime() - startedAt) / 1000);
+
+        synchronized (this) {
+            cache.put(source.etag(), preview);
+            if (cache.size() > maxEntries) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        return Optional.of(preview);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        long computed = misses.sum() - unsupported.sum();
+        synchronized (this) {
+            metrics.put("entries", cache.size());
+        }
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("unsupported", unsupported.sum());
+        metrics.put("avgComputeMs", computed <= 0 ? 0.0 : Math.round(totalComputeMicros.sum() / 10.0 / computed) / 100.0);
+        return metrics;
+    }
+}
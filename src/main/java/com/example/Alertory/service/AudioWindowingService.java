@@ -0,0 +1,194 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.audio.PcmAudio;
+import com.example.Alertory.audio.WavDecoder;
+import com.example.Alertory.audio.WavEncoder;
+import com.example.Alertory.dto.AiAnalysisResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: 긴 녹음 분할 분석 (AI 모델은 앞 3초만 보므로 겹치는 고정 길이 창으로 나눠 병렬 요청)
+// 창은 원본 mmap 버퍼의 슬라이스로 만들고, 요청 직전에만 16bit 모노 WAV 로 변환한다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AudioWindowingService {
+
+    private final AiServerClient aiServerClient;
+    private final AudioFeatureService audioFeatureService;
+    private final EnergyGateService energyGateService;
+    private final InferencePriorityScheduler inferencePriorityScheduler;
+    private final Scheduler analysisScheduler;
+
+    @Value("${app.analysis.windowing.enabled:true}")
+    private boolean enabled;
+
+    // ADDED: 분석 창 길이 / 간격 (모델 입력 길이 3초, 기본 50% 겹침)
+    @Value("${app.analysis.windowing.window-ms:3000}")
+    private int windowMillis;
+
+    @Value("${app.analysis.windowing.hop-ms:1500}")
+    private int hopMillis;
+
+    // ADDED: 이 길이를 넘는 클립만 분할 (짧은 클립은 기존 단건 요청)
+    @Value("${app.analysis.windowing.min-duration-ms:4000}")
+    private int minDurationMillis;
+
+    // ADDED: 클립 1개당 동시 AI 요청 수 / 최대 창 수 (초과분은 간격을 넓혀 전체 구간을 덮음)
+    @Value("${app.analysis.windowing.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${app.analysis.windowing.max-windows:120}")
+    private int maxWindows;
+
+    private final LongAdder windowedClips = new LongAdder();
+    private final LongAdder requestedWindows = new LongAdder();
+    private final LongAdder silentWindows = new LongAdder();
+
+    /**
+     * 분할 분석 대상(WAV 이고 min-duration 초과)이면 디코딩된 오디오 반환
+     */
+    public Optional<PcmAudio> decodeLongClip(AudioIngestService.StoredAudio storedAudio) {
+        if (!enabled || !storedAudio.originalFilename().toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(storedAudio.path(), StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫은 뒤에도 버퍼가 참조되는 동안 유효
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            PcmAudio audio = WavDecoder.decode(mapped);
+            return audio.durationSeconds() * 1000 > minDurationMillis ? Optional.of(audio) : Optional.empty();
+
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("분할 분석 생략 - 파일: {}, 사유: {}", storedAudio.path().getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 창별 AI 분석을 max-concurrency 개씩 병렬로 수행
+     * 무음 창은 요청하지 않으며 결과 목록에서 빠진다. 창 하나라도 실패하면 전체가 실패한다.
+     *
+     * @return 창 시작 위치 순으로 정렬된 창별 결과
+     */
+    public Mono<List<WindowPrediction>> predictWindows(PcmAudio audio, String originalFilename, String locationLabel) {
+        List<Long> offsets = windowOffsets(audio.frameCount(), audio.sampleRate());
+        int windowFrames = windowFrames(audio.sampleRate());
+        String baseName = originalFilename.replaceFirst("(?i)\\.wav$", "");
+        windowedClips.increment();
+        log.info("긴 녹음 분할 분석 - 파일: {}, 길이: {}s, 창 {}개", originalFilename,
+                Math.round(audio.durationSeconds() * 10) / 10.0, offsets.size());
+
+        return Flux.fromIterable(offsets)
+                .flatMap(startFrame -> {
+                    PcmAudio window = slice(audio, startFrame.intValue(), windowFrames);
+                    long offsetMs = startFrame * 1000 / audio.sampleRate();
+                    String filename = baseName + "_" + offsetMs + "ms.wav";
+                    return Mono.fromCallable(() -> energyGateService.detectSilence(window, filename))
+                            .subscribeOn(analysisScheduler)
+                            .flatMap(silence -> {
+                                if (silence.isPresent()) {
+                                    silentWindows.increment();
+                                    return Mono.empty();
+                                }
+                                requestedWindows.increment();
+                                return inferencePriorityScheduler
+                                        .schedule(locationLabel, requestWindow(window, filename))
+                                        .map(response -> new WindowPrediction(offsetMs,
+                                                (long) window.frameCount() * 1000 / window.sampleRate(), response));
+                            });
+                }, maxConcurrency)
+                .collectSortedList(Comparator.comparingLong(WindowPrediction::offsetMs));
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("windowMs", windowMillis);
+        metrics.put("hopMs", hopMillis);
+        metrics.put("maxConcurrency", maxConcurrency);
+        metrics.put("clips", windowedClips.sum());
+        metrics.put("requestedWindows", requestedWindows.sum());
+        metrics.put("silentWindows", silentWindows.sum());
+        return metrics;
+    }
+
+    // 창 시작 프레임 목록 (마지막 창은 클립 끝에 맞춤)
+    List<Long> windowOffsets(int frameCount, int sampleRate) {
+        long windowFrames = windowFrames(sampleRate);
+        long hopFrames = Math.max(1, (long) sampleRate * hopMillis / 1000);
+        long lastStart = Math.max(0, frameCount - windowFrames);
+        long needed = lastStart / hopFrames + 1;
+        if (needed > maxWindows) {
+            hopFrames = (lastStart + maxWindows - 2) / Math.max(1, maxWindows - 1);
+        }
+
+        List<Long> offsets = new ArrayList<>();
+        for (long start = 0; start < lastStart && offsets.size() < maxWindows - 1; start += hopFrames) {
+            offsets.add(start);
+        }
+        offsets.add(lastStart);
+        return offsets;
+    }
+
+    private int windowFrames(int sampleRate) {
+        return (int) ((long) sampleRate * windowMillis / 1000);
+    }
+
+    private Mono<AiAnalysisResponse> requestWindow(PcmAudio window, String filename) {
+        if (audioFeatureService.isFeaturePayload()) {
+            return Mono.fromCallable(() -> audioFeatureService.extract(window))
+                    .subscribeOn(analysisScheduler)
+                    .flatMap(features -> aiServerClient.predictFeatures(filename, features));
+        }
+        return Mono.fromCallable(() -> toMonoWav16(window))
+                .subscribeOn(analysisScheduler)
+                .flatMap(wav -> aiServerClient.predictWav(wav, filename));
+    }
+
+    // 원본 버퍼를 복사하지 않는 창 뷰
+    private static PcmAudio slice(PcmAudio audio, int startFrame, int frames) {
+        int frameSize = audio.frameSize();
+        int length = Math.min(frames, audio.frameCount() - startFrame) * frameSize;
+        ByteBuffer data = audio.data().slice(startFrame * frameSize, length);
+        return new PcmAudio(audio.sampleRate(), audio.channels(), audio.bitsPerSample(), audio.encoding(), data);
+    }
+
+    // 비트 깊이 / 채널 수와 무관하게 16bit 모노 WAV 로 변환 (원본 샘플레이트 유지, 리샘플은 AI 서버가 수행)
+    private static byte[] toMonoWav16(PcmAudio window) {
+        int frames = window.frameCount();
+        byte[] wav = new byte[WavEncoder.HEADER_BYTES + frames * 2];
+        ByteBuffer target = ByteBuffer.wrap(wav);
+        WavEncoder.writePcm16Header(target, window.sampleRate(), 1, frames * 2);
+        target.order(ByteOrder.LITTLE_ENDIAN);
+        for (int frame = 0; frame < frames; frame++) {
+            float sample = Math.max(-1f, Math.min(1f, window.monoSample(frame)));
+            target.putShort((short) Math.round(sample * 32767f));
+        }
+        return wav;
+    }
+
+    // ADDED: 창 1개 분석 결과 (창 시작 위치 / 길이 ms)
+    public record WindowPrediction(long offsetMs, long durationMs, AiAnalysisResponse response) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.audio.EnergyAnalyzer;
+import com.example.Alertory.audio.PcmAudio;
+import com.example.Alertory.audio.WavDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// ADDED: AI 호출 전 무음/저에너지 클립을 걸러내는 서버측 에너지 게이트
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EnergyGateService {
+
+    private final SettingsService settingsService; // CHANGED: 설정은 메모리 스냅샷에서
+
+    private final LongAdder evaluatedClips = new LongAdder();
+    private final LongAdder silentClips = new LongAdder();
+    private final LongAdder skippedClips = new LongAdder();
+
+    /**
+     * 저장된 클립이 명백한 무음인지 판정
+     * WAV 가 아니거나 디코딩할 수 없으면 판정하지 않고 empty 반환 (AI 서버로 그대로 전달)
+     */
+    public Optional<EnergyAnalyzer.EnergyStats> detectSilence(AudioIngestService.StoredAudio storedAudio) {
+        SettingsService.DetectionPolicy policy = settingsService.policy();
+        if (!policy.energyGateEnabled()) {
+            return Optional.empty();
+        }
+        if (!storedAudio.originalFilename().toLowerCase(Locale.ROOT).endsWith(".wav")) {
+            skippedClips.increment();
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(storedAudio.path(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return evaluate(WavDecoder.decode(mapped), storedAudio.path().getFileName().toString(), policy);
+
+        } catch (IOException | IllegalArgumentException e) {
+            skippedClips.increment();
+            log.debug("에너지 게이트 판정 생략 - 파일: {}, 사유: {}", storedAudio.path().getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * ADDED: 메모리상의 PCM 구간(스트리밍 창 등)이 명백한 무음인지 판정
+     */
+    public Optional<EnergyAnalyzer.EnergyStats> detectSilence(PcmAudio audio, String name) {
+        SettingsService.DetectionPolicy policy = settingsService.policy();
+        if (!policy.energyGateEnabled()) {
+            return Optional.empty();
+        }
+        return evaluate(audio, name, policy);
+    }
+
+    private Optional<EnergyAnalyzer.EnergyStats> evaluate(PcmAudio audio, String name,
+                                                          SettingsService.DetectionPolicy policy) {
+        double rmsThreshold = policy.silenceRmsThreshold();
+        int minActiveBlocks = policy.minActiveBlocks();
+
+        EnergyAnalyzer.EnergyStats stats =
+                EnergyAnalyzer.analyze(audio, EnergyAnalyzer.DEFAULT_BLOCK_FRAMES, rmsThreshold);
+        evaluatedClips.increment();
+
+        if (stats.isSilent(minActiveBlocks)) {
+            silentClips.increment();
+            log.debug("무음 클립으로 판정 - 대상: {}, 활성 블록: {}/{}, 최대 RMS: {}",
+                    name, stats.activeBlocks(), stats.blockCount(), stats.maxBlockRms());
+            return Optional.of(stats);
+        }
+        return Optional.empty();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("evaluated", evaluatedClips.sum());
+        metrics.put("silent", silentClips.sum());
+        metrics.put("skipped", skippedClips.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.Alertory.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ADDED: 분석 대시보드 집계기 (이벤트를 한 번만 훑어 모든 지표를 동시에 계산)
+// 메모리는 이벤트 수와 무관하게 시간대 24칸 + 최근 7일 + 위치/유형 수에만 비례한다.
+// 이벤트 1건 또는 미리 묶인 집계 행(count 건)을 같은 방식으로 더할 수 있다.
+public class EventAnalyticsAggregator {
+
+    private static final int TREND_DAYS = 7;
+
+    private final LocalDate today;
+    private final long[] hourCounts = new long[24];
+    private final long[] dayCounts = new long[TREND_DAYS];
+    private final Map<String, long[]> locationCounts = new HashMap<>();
+    private final Map<String, long[]> typeCounts = new HashMap<>();
+    private long total;
+    private long emergency;
+    private long falseAlarms;
+    private long acknowledged;
+    private long responseSeconds;
+
+    public EventAnalyticsAggregator(LocalDate today) {
+        this.today = today;
+    }
+
+    /**
+     * 이벤트 1건 반영
+     */
+    public void add(String eventType, String locationLabel, LocalDateTime detectedAt, LocalDateTime acknowledgedAt) {
+        boolean isAcknowledged = acknowledgedAt != null;
+        add(eventType, locationLabel, detectedAt, 1, isAcknowledged ? 1 : 0,
+                isAcknowledged ? Duration.between(detectedAt, acknowledgedAt).getSeconds() : 0);
+    }
+
+    /**
+     * 같은 시간대(시 단위)에 속한 count 건 반영 (acknowledgedCount 건의 확인 지연 합계 responseSeconds)
+     */
+    public void add(String eventType, String locationLabel, LocalDateTime hour, long count,
+                    long acknowledgedCount, long responseSeconds) {
+        total += count;
+        if ("SCREAM".equals(eventType) || "HELP_REQUEST".equals(eventType)) {
+            emergency += count;
+        } else if ("NORMAL".equals(eventType)) {
+            falseAlarms += count;
+        }
+        acknowledged += acknowledgedCount;
+        this.responseSeconds += responseSeconds;
+
+        hourCounts[hour.getHour()] += count;
+        long daysAgo = today.toEpochDay() - hour.toLocalDate().toEpochDay();
+        if (daysAgo >= 0 && daysAgo < TREND_DAYS) {
+            dayCounts[TREND_DAYS - 1 - (int) daysAgo] += count;
+        }
+        locationCounts.computeIfAbsent(locationLabel, key -> new long[1])[0] += count;
+        typeCounts.computeIfAbsent(eventType, key -> new long[1])[0] += count;
+    }
+
+    /**
+     * 기존 /api/analytics 응답 형식 (summary / eventsByHour / eventsByLocation / eventsByType / weeklyTrend)
+     */
+    public Map<String, Object> toResponse() {
+        Map<String, Object> analytics = new HashMap<>();
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalEvents", total);
+        summary.put("emergencyEvents", emergency);
+        summary.put("falseAlarms", falseAlarms);
+        summary.put("responseTime", acknowledged == 0 ? 0.0
+                : Math.round(responseSeconds / 60.0 / acknowledged * 10.0) / 10.0);
+        analytics.put("summary", summary);
+
+        List<Map<String, Object>> eventsByHour = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            Map<String, Object> hourData = new HashMap<>();
+            hourData.put("hour", hour);
+            hourData.put("count", hourCounts[hour]);
+            eventsByHour.add(hourData);
+        }
+        analytics.put("eventsByHour", eventsByHour);
+
+        analytics.put("eventsByLocation", shares(locationCounts, "location"));
+        analytics.put("eventsByType", shares(typeCounts, "type"));
+
+        List<Map<String, Object>> weeklyTrend = new ArrayList<>();
+        for (int i = 0; i < TREND_DAYS; i++) {
+            Map<String, Object> dayData = new HashMap<>();
+            dayData.put("date", today.minusDays(TREND_DAYS - 1 - i).toString());
+            dayData.put("events", dayCounts[i]);
+            weeklyTrend.add(dayData);
+        }
+        analytics.put("weeklyTrend", weeklyTrend);
+        return analytics;
+    }
+
+    // 건수 내림차순 + 비율(소수 첫째 자리)
+    private List<Map<String, Object>> shares(Map<String, long[]> counts, String keyName) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        counts.forEach((key, count) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put(keyName, key);
+            entry.put("count", count[0]);
+            entry.put("percentage", Math.round((count[0] * 100.0 / total) * 10.0) / 10.0);
+            entries.add(entry);
+        });
+        entries.sort((a, b) -> Long.compare((Long) b.get("count"), (Long) a.get("count")));
+        return entries;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.repository.EventHourlyRollupRepository;
+import com.example.Alertory.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// ADDED: 분석 대시보드 집계 (기간 내 이벤트를 엔티티로 올리지 않고 스트림으로 한 번만 훑음)
+// CHANGED: 긴 기간은 정시 구간을 시간별 집계 테이블에서 읽고, 앞뒤 정시 밖 조각만 원본에서 읽는다.
+@Service
+@RequiredArgsConstructor
+public class EventAnalyticsService {
+
+    private final EventRepository eventRepository;
+    private final EventHourlyRollupRepository rollupRepository;
+    private final EventRollupService eventRollupService;
+
+    // ADDED: 이 시간 이상인 기간부터 시간별 집계 사용
+    @Value("${app.analytics.rollup.min-range-hours:48}")
+    private long rollupMinRangeHours;
+
+    /**
+     * 기간 내 이벤트 집계 (/api/analytics 응답 형식, endDate 포함)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getAnalytics(LocalDateTime startDate, LocalDateTime endDate) {
+        EventAnalyticsAggregator aggregator = new EventAnalyticsAggregator(LocalDate.now());
+
+        LocalDateTime hourStart = startDate.truncatedTo(ChronoUnit.HOURS);
+        if (hourStart.isBefore(startDate)) {
+            hourStart = hourStart.plusHours(1);
+        }
+        LocalDateTime hourEnd = endDate.truncatedTo(ChronoUnit.HOURS);
+        boolean useRollup = eventRollupService.isEnabled()
+                && Duration.between(startDate, endDate).toHours() >= rollupMinRangeHours
+                && hourEnd.isAfter(hourStart);
+
+        if (!useRollup) {
+            try (Stream<EventRepository.AnalyticsRow> rows = eventRepository.streamAnalyticsRows(startDate, endDate)) {
+                rows.forEach(row -> addEvent(aggregator, row));
+            }
+            return aggregator.toResponse();
+        }
+
+        // [startDate, hourStart) 원본 + [hourStart, hourEnd) 집계 + [hourEnd, endDate] 원본
+        try (Stream<EventRepository.AnalyticsRow> rows = eventRepository.streamAnalyticsRowsHalfOpen(startDate, hourStart)) {
+            rows.forEach(row -> addEvent(aggregator, row));
+        }
+        try (Stream<EventHourlyRollupRepository.BucketRow> buckets = rollupRepository.streamBuckets(hourStart, hourEnd)) {
+            buckets.forEach(bucket -> aggregator.add(bucket.getEventType(), bucket.getLocationLabel(),
+                    bucket.getBucketHour(), bucket.getEventCount(), bucket.getAcknowledgedCount(),
+                    bucket.getAckLatencySecondsSum()));
+        }
+        try (Stream<EventRepository.AnalyticsRow> rows = eventRepository.streamAnalyticsRows(hourEnd, endDate)) {
+            rows.forEach(row -> addEvent(aggregator, row));
+        }
+        return aggregator.toResponse();
+    }
+
+    private static void addEvent(EventAnalyticsAggregator aggregator, EventRepository.AnalyticsRow row) {
+        aggregator.add(row.getEventType(), row.getLocationLabel(), row.getDetectedAt(), row.getAcknowledgedAt());
+    }
+}
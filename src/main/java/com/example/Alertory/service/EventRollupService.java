@@ -0,0 +1,277 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.entity.EventHourlyRollup;
+import com.example.Alertory.entity.EventLocationTotal;
+import com.example.Alertory.repository.EventHourlyRollupRepository;
+import com.example.Alertory.repository.EventLocationTotalRepository;
+import com.example.Alertory.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// ADDED: 시간별 이벤트 집계(event_hourly_rollups) 유지
+// 이벤트 생성 / 상태 변경 시 호출한 트랜잭션 안에서 해당 칸을 증감하고, 재구축은 하루 단위 짧은 트랜잭션으로 원본에서 다시 만든다.
+// ADDED: 위치 x 상태별 전체 이벤트 수(event_location_totals)도 같은 트랜잭션에서 함께 증감한다 (대시보드 합계).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventRollupService implements SmartInitializingSingleton {
+
+    private final EventHourlyRollupRepository rollupRepository;
+    private final EventRepository eventRepository;
+    private final EventLocationTotalRepository totalRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.rollup.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 새 이벤트 반영
+     */
+    @Transactional
+    public void recordCreated(Event event) {
+        if (!enabled) {
+            return;
+        }
+        apply(event.getDetectedAt(), event.getLocationLabel(), event.getEventType(), event.getStatus(),
+                event.getConfidence(), event.getAcknowledgedAt(), 1);
+    }
+
+    /**
+     * 상태 변경 반영 (이전 상태 칸에서 빼고 현재 상태 칸에 더함)
+     */
+    @Transactional
+    public void recordStatusChange(Event event, Event.EventStatus previousStatus, LocalDateTime previousAcknowledgedAt) {
+        if (!enabled || previousStatus == event.getStatus()) {
+            return;
+        }
+        apply(event.getDetectedAt(), event.getLocationLabel(), event.getEventType(), previousStatus,
+                event.getConfidence(), previousAcknowledgedAt, -1);
+        apply(event.getDetectedAt(), event.getLocationLabel(), event.getEventType(), event.getStatus(),
+                event.getConfidence(), event.getAcknowledgedAt(), 1);
+    }
+
+    /**
+     * ADDED: 여러 이벤트를 한 번에 반영 (같은 칸끼리 먼저 합쳐 칸마다 한 번만 증감)
+     */
+    @Transactional
+    public void recordCreatedAll(Collection<Event> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        Map<BucketKey, BucketDelta> deltas = new HashMap<>();
+        for (Event event : events) {
+            BucketKey key = new BucketKey(event.getDetectedAt().truncatedTo(ChronoUnit.HOURS),
+                    event.getLocationLabel(), event.getEventType(), event.getStatus());
+            deltas.computeIfAbsent(key, k -> new BucketDelta())
+                    .add(event.getDetectedAt(), event.getConfidence(), event.getAcknowledgedAt(), 1);
+        }
+        applyAll(deltas);
+    }
+
+    /**
+     * ADDED: 삭제한 이벤트 반영 (보존 기간 정리 배치 - 행 삭제와 같은 트랜잭션에서 호출)
+     * 실행이 중간에 멈춰도 이미 지운 행이 대시보드 합계 / 시간별 집계에 남지 않는다.
+     */
+    @Transactional
+    public void recordDeletedAll(Collection<? extends EventRepository.RollupSourceRow> rows) {
+        if (!enabled || rows.isEmpty()) {
+            return;
+        }
+        Map<BucketKey, BucketDelta> deltas = new HashMap<>();
+        for (EventRepository.RollupSourceRow row : rows) {
+            BucketKey key = new BucketKey(row.getDetectedAt().truncatedTo(ChronoUnit.HOURS),
+                    row.getLocationLabel(), row.getEventType(), row.getStatus());
+            deltas.computeIfAbsent(key, k -> new BucketDelta())
+                    .add(row.getDetectedAt(), row.getConfidence(), row.getAcknowledgedAt(), -1);
+        }
+        applyAll(deltas);
+    }
+
+    // 칸마다 한 번씩 증감하고, 위치별 합계는 칸 증감을 (위치, 상태) 로 합쳐 한 번씩
+    private void applyAll(Map<BucketKey, BucketDelta> deltas) {
+        Map<TotalKey, Long> totals = new HashMap<>();
+        deltas.forEach((key, delta) -> {
+            applyBucket(key, delta);
+            totals.merge(new TotalKey(key.locationLabel(), key.status()), delta.count, Long::sum);
+        });
+        totals.forEach(this::applyTotal);
+    }
+
+    private void apply(LocalDateTime detectedAt, String locationLabel, String eventType, Event.EventStatus status,
+                       Double confidence, LocalDateTime acknowledgedAt, int sign) {
+        BucketDelta delta = new BucketDelta();
+        delta.add(detectedAt, confidence, acknowledgedAt, sign);
+        apply(new BucketKey(detectedAt.truncatedTo(ChronoUnit.HOURS), locationLabel, eventType, status), delta);
+    }
+
+    private void apply(BucketKey key, BucketDelta delta) {
+        applyBucket(key, delta);
+        applyTotal(new TotalKey(key.locationLabel(), key.status()), delta.count);
+    }
+
+    // CHANGED: 칸이 없으면 만들면서 증감 (호출한 트랜잭션 안에서 upsert 한 문장)
+    private void applyBucket(BucketKey key, BucketDelta delta) {
+        rollupRepository.upsertBucket(key.bucketHour(), key.locationLabel(), key.eventType(), key.status(),
+                delta.count, delta.confidence, delta.acknowledged, delta.latencySeconds);
+    }
+
+    private void applyTotal(TotalKey key, long count) {
+        if (count != 0) {
+            rollupRepository.upsertLocationTotal(key.locationLabel(), key.status(), count);
+        }
+    }
+
+    /**
+     * ADDED: 위치(null 이면 전체)의 상태별 이벤트 수 - 위치별 합계 행만 읽음 (원본 이벤트 건수 집계 없음)
+     */
+    @Transactional(readOnly = true)
+    public Map<Event.EventStatus, Long> countByStatus(String locationLabel) {
+        List<EventLocationTotal> rows = locationLabel == null
+                ? totalRepository.findAll()
+                : totalRepository.findByLocationLabel(locationLabel);
+        Map<Event.EventStatus, Long> counts = new EnumMap<>(Event.EventStatus.class);
+        rows.forEach(row -> counts.merge(row.getStatus(), row.getEventCount(), Long::sum));
+        return counts;
+    }
+
+    /**
+     * 기간 [from, to] 의 집계를 원본 이벤트로 다시 만듦 (하루씩 별도 트랜잭션, 만든 칸 수 반환)
+     * 재구축 중인 날짜의 이벤트가 동시에 확인 처리되면 그 변경이 빠질 수 있으므로 한가한 시간에 실행한다.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int buckets = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            Integer rebuilt = transaction.execute(status -> rebuildRange(dayStart, dayStart.plusDays(1)));
+            buckets += rebuilt == null ? 0 : rebuilt;
+        }
+        log.info("시간별 집계 재구축 완료 - {} ~ {}, {}칸", from, to, buckets);
+        return buckets;
+    }
+
+    private int rebuildRange(LocalDateTime from, LocalDateTime to) {
+        // 위치별 합계는 기존 칸 수를 빼고 다시 만든 칸 수를 더해 보정
+        Map<TotalKey, Long> totals = new HashMap<>();
+        rollupRepository.sumByLocationAndStatus(from, to).forEach(row ->
+                totals.merge(new TotalKey(row.getLocationLabel(), row.getStatus()), -row.getEventCount(), Long::sum));
+        rollupRepository.deleteBuckets(from, to);
+
+        Map<BucketKey, EventHourlyRollup> buckets = new HashMap<>();
+        try (Stream<EventRepository.RollupSourceRow> rows = eventRepository.streamRollupSourceRows(from, to)) {
+            rows.forEach(row -> {
+                BucketKey key = new BucketKey(row.getDetectedAt().truncatedTo(ChronoUnit.HOURS),
+                        row.getLocationLabel(), row.getEventType(), row.getStatus());
+                EventHourlyRollup bucket = buckets.computeIfAbsent(key, k -> EventHourlyRollup.builder()
+                        .bucketHour(k.bucketHour())
+                        .locationLabel(k.locationLabel())
+                        .eventType(k.eventType())
+                        .status(k.status())
+                        .build());
+                bucket.setEventCount(bucket.getEventCount() + 1);
+                bucket.setConfidenceSum(bucket.getConfidenceSum() + (row.getConfidence() == null ? 0.0 : row.getConfidence()));
+                if (row.getAcknowledgedAt() != null) {
+                    bucket.setAcknowledgedCount(bucket.getAcknowledgedCount() + 1);
+                    bucket.setAckLatencySecondsSum(bucket.getAckLatencySecondsSum()
+                            + Duration.between(row.getDetectedAt(), row.getAcknowledgedAt()).getSeconds());
+                }
+            });
+        }
+        rollupRepository.saveAll(buckets.values());
+        buckets.values().forEach(bucket ->
+                totals.merge(new TotalKey(bucket.getLocationLabel(), bucket.getStatus()), bucket.getEventCount(), Long::sum));
+        totals.forEach(this::applyTotal);
+        return buckets.size();
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면 시작 시 전체 이벤트로 채움 (기존 데이터 백필, 위치별 합계만 비어 있으면 집계 칸으로 채움)
+     * CHANGED: 웹 서버 / 스케줄러가 시작되기 전(싱글톤 초기화 직후)에 실행해 백필 중 실시간 증감이 겹쳐 이중 집계되지 않게 한다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfillIfEmpty();
+    }
+
+    void backfillIfEmpty() {
+        if (!enabled) {
+            return;
+        }
+        if (rollupRepository.count() == 0) {
+            // 재구축이 위치별 합계도 함께 채움
+            eventRepository.findTopByOrderByDetectedAtAsc().ifPresent(oldest ->
+                    rebuild(oldest.getDetectedAt().toLocalDate(), LocalDate.now()));
+        } else if (totalRepository.count() == 0) {
+            // ADDED: 집계 칸만 있는 기존 DB 는 위치별 합계를 칸에서 채움
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    rollupRepository.sumAllByLocationAndStatus().forEach(row ->
+                            applyTotal(new TotalKey(row.getLocationLabel(), row.getStatus()), row.getEventCount())));
+            log.info("위치별 이벤트 합계 백필 완료 - {}행", totalRepository.count());
+        }
+    }
+
+    /**
+     * cutoff 이전 집계 삭제 (보존 기간 정리와 함께 호출, 삭제한 칸 수 반환)
+     * CHANGED: cutoff 가 걸친 정시 칸은 남은 이벤트로 다시 계산 (이미 지운 이벤트가 집계에 남지 않도록)
+     * 정리 배치가 이미 칸 / 합계를 빼 두었으므로 여기서 빼는 양은 그 뒤 남은 차이(보통 0)뿐이다.
+     */
+    public int deleteBefore(LocalDateTime cutoff) {
+        LocalDateTime cutoffHour = cutoff.truncatedTo(ChronoUnit.HOURS);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // CHANGED: 지우는 칸의 이벤트 수만큼 위치별 합계도 같은 트랜잭션에서 뺌
+        Integer deleted = transaction.execute(status -> {
+            rollupRepository.sumByLocationAndStatusBefore(cutoffHour).forEach(row ->
+                    applyTotal(new TotalKey(row.getLocationLabel(), row.getStatus()), -row.getEventCount()));
+            return rollupRepository.deleteByBucketHourBefore(cutoffHour);
+        });
+        if (enabled && cutoff.isAfter(cutoffHour)) {
+            transaction.executeWithoutResult(status -> rebuildRange(cutoffHour, cutoffHour.plusHours(1)));
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    private record BucketKey(LocalDateTime bucketHour, String locationLabel, String eventType, Event.EventStatus status) {
+    }
+
+    private record TotalKey(String locationLabel, Event.EventStatus status) {
+    }
+
+    // ADDED: 한 칸에 더할 증감량
+    private static final class BucketDelta {
+        private long count;
+        private double confidence;
+        private long acknowledged;
+        private long latencySeconds;
+
+        void add(LocalDateTime detectedAt, Double confidence, LocalDateTime acknowledgedAt, int sign) {
+            count += sign;
+            this.confidence += sign * (confidence == null ? 0.0 : confidence);
+            if (acknowledgedAt != null) {
+                acknowledged += sign;
+                latencySeconds += sign * Duration.between(detectedAt, acknowledgedAt).getSeconds();
+            }
+        }
+    }
+}
@@ -3,14 +3,22 @@ package com.example.Alertory.service;
 import com.example.Alertory.dto.EventDto;
 import com.example.Alertory.entity.Event;
 import com.example.Alertory.repository.EventRepository;
+import com.example.Alertory.repository.EventSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,12 +28,26 @@ import java.util.stream.Collectors;
 public class EventService {
     
     private final EventRepository eventRepository;
+    private final InferencePriorityScheduler inferencePriorityScheduler;
+    private final EventRollupService eventRollupService;
+    private final EntityManager entityManager;
+    private final LiveUpdatePublisher liveUpdatePublisher; // ADDED: 새 이벤트 실시간 푸시 (커밋 후)
+    
+    // ADDED: 일괄 생성 - 한 요청의 최대 항목 수 / flush 단위 (hibernate.jdbc.batch_size 와 맞춤)
+    @Value("${app.events.batch.max-items:5000}")
+    private int batchMaxItems;
+    
+    @Value("${app.events.batch.flush-size:100}")
+    private int batchFlushSize;
     
     // 허용된 이벤트 타입 목록
     private static final List<String> VALID_EVENT_TYPES = Arrays.asList(
         "SCREAM", "HELP_REQUEST", "NOISE", "NORMAL"
     );
     
+    // ADDED: 목록 정렬 (커서와 같은 (detectedAt, id) 내림차순)
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Order.desc("detectedAt"), Sort.Order.desc("id"));
+    
     // 최소/최대 신뢰도 범위
     private static final double MIN_CONFIDENCE = 0.0;
     private static final double MAX_CONFIDENCE = 1.0;
@@ -50,11 +72,112 @@ public class EventService {
         
         // 저장
         Event savedEvent = eventRepository.save(event);
+        eventRollupService.recordCreated(savedEvent); // ADDED: 시간별 집계 (같은 트랜잭션)
+        inferencePriorityScheduler.recordEvent(savedEvent.getLocationLabel(), savedEvent.getEventType(), null); // ADDED
+        liveUpdatePublisher.eventCreated(savedEvent); // ADDED
         
         // DTO로 변환하여 반환
         return EventDto.fromEntity(savedEvent);
     }
     
+    /**
+     * ADDED: 이벤트 일괄 생성 (한 트랜잭션)
+     * 항목마다 검증해 통과한 것만 저장하고 거부된 항목은 위치(index)와 사유를 돌려준다.
+     * flush-size 건마다 flush(JDBC 배치 INSERT) 후 영속성 컨텍스트를 비워 메모리와 변경 감지 비용을 일정하게 유지
+     *
+     * @throws IllegalArgumentException 비어 있거나 max-items 초과
+     */
+    public EventDto.BatchResponse createEvents(List<EventDto.CreateRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("events must not be empty");
+        }
+        if (requests.size() > batchMaxItems) {
+            throw new IllegalArgumentException("Too many events: " + requests.size() + " (max " + batchMaxItems + ")");
+        }
+        
+        List<Long> ids = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<EventDto.BatchError> errors = new ArrayList<>();
+        List<Event> chunk = new ArrayList<>(batchFlushSize);
+        List<Integer> chunkIndexes = new ArrayList<>(batchFlushSize);
+        LocalDateTime now = LocalDateTime.now();
+        int created = 0;
+        
+        for (int i = 0; i < requests.size(); i++) {
+            EventDto.CreateRequest request = requests.get(i);
+            EventDto.BatchError error = validateItem(i, request);
+            if (error != null) {
+                errors.add(error);
+                continue;
+            }
+            chunk.add(Event.builder()
+                    .eventType(request.getEventType())
+                    .locationLabel(request.getLocationLabel())
+                    .confidence(request.getConfidence())
+                    .status(Event.EventStatus.NEW)
+                    .detectedAt(now)
+                    .build());
+            chunkIndexes.add(i);
+            if (chunk.size() >= batchFlushSize) {
+                created += saveChunk(chunk, chunkIndexes, ids);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += saveChunk(chunk, chunkIndexes, ids);
+        }
+        return new EventDto.BatchResponse(requests.size(), created, ids, errors);
+    }
+    
+    // 시퀀스 id 는 persist 시점에 정해지고 INSERT 는 flush 에서 batch_size 단위로 묶여 전송된다
+    private int saveChunk(List<Event> chunk, List<Integer> chunkIndexes, List<Long> ids) {
+        List<Event> saved = eventRepository.saveAll(chunk);
+        eventRollupService.recordCreatedAll(saved);
+        liveUpdatePublisher.eventsCreated(saved);
+        for (int i = 0; i < saved.size(); i++) {
+            Event event = saved.get(i);
+            ids.set(chunkIndexes.get(i), event.getId());
+            inferencePriorityScheduler.recordEvent(event.getLocationLabel(), event.getEventType(), null);
+        }
+        eventRepository.flush();
+        entityManager.clear();
+        int count = saved.size();
+        chunk.clear();
+        chunkIndexes.clear();
+        return count;
+    }
+    
+    // 일괄 생성 항목 검증 (통과하면 null)
+    private EventDto.BatchError validateItem(int index, EventDto.CreateRequest request) {
+        if (request == null) {
+            return new EventDto.BatchError(index, null, "event is required");
+        }
+        try {
+            validateEventType(request.getEventType());
+        } catch (IllegalArgumentException e) {
+            return new EventDto.BatchError(index, "eventType", e.getMessage());
+        }
+        try {
+            validateLocationLabel(request.getLocationLabel());
+        } catch (IllegalArgumentException e) {
+            return new EventDto.BatchError(index, "locationLabel", e.getMessage());
+        }
+        try {
+            validateConfidence(request.getConfidence());
+        } catch (IllegalArgumentException e) {
+            return new EventDto.BatchError(index, "confidence", e.getMessage());
+        }
+        return null;
+    }
+    
+    /**
+     * ADDED: AI 분석으로 탐지된 이벤트 저장 (시간별 집계와 같은 트랜잭션)
+     */
+    public Event saveDetectedEvent(Event event) {
+        Event savedEvent = eventRepository.save(event);
+        eventRollupService.recordCreated(savedEvent);
+        liveUpdatePublisher.eventCreated(savedEvent);
+        return savedEvent;
+    }
+    
     /**
      * 이벤트 목록 조회 (필터링 및 페이징)
      */
@@ -67,12 +190,53 @@ public class EventService {
             LocalDateTime endDate,
             Pageable pageable) {
         
-        Page<Event> events = eventRepository.findEventsWithFilters(
-                eventType, status, location, startDate, endDate, pageable);
+        // CHANGED: 주어진 필터만 조건으로 (최신순)
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), LATEST_FIRST);
+        Page<Event> events = eventRepository.findAll(
+                EventSpecifications.filter(eventType, status, location, startDate, endDate), sorted);
         
         return events.map(EventDto::fromEntity);
     }
     
+    /**
+     * ADDED: 이벤트 목록 커서 조회 (OFFSET / 전체 건수 조회 없이 (detectedAt, id) 기준 다음 페이지)
+     * cursor 가 비어 있으면 첫 페이지, totalElements 는 includeTotal 일 때만 계산
+     *
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    @Transactional(readOnly = true)
+    public EventDto.CursorPage getEventsByCursor(
+            String eventType,
+            Event.EventStatus status,
+            String location,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size,
+            boolean includeTotal) {
+        
+        // CHANGED: 주어진 필터만 조건으로, 한 건 더 읽어 다음 페이지 여부 판단 (건수 조회 없음)
+        Specification<Event> filter = EventSpecifications.filter(eventType, status, location, startDate, endDate);
+        Specification<Event> spec = filter;
+        if (cursor != null && !cursor.isEmpty()) {
+            EventCursor position = EventCursor.decode(cursor);
+            spec = filter.and(EventSpecifications.after(position.detectedAt(), position.id()));
+        }
+        List<Event> rows = eventRepository.findBy(spec, query -> query.sortBy(LATEST_FIRST).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        
+        List<EventDto> content = rows.stream().limit(size).map(EventDto::fromEntity).toList();
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            EventDto last = content.get(content.size() - 1);
+            nextCursor = new EventCursor(last.getDetectedAt(), last.getId()).encode();
+        }
+        Long total = includeTotal
+                ? eventRepository.count(filter)
+                : null;
+        return new EventDto.CursorPage(content, content.size(), hasNext, nextCursor, total);
+    }
+    
     /**
      * 이벤트 상세 조회
      */
@@ -96,10 +260,13 @@ public class EventService {
             return EventDto.fromEntity(event);
         }
         
+        Event.EventStatus previousStatus = event.getStatus();
+        LocalDateTime previousAcknowledgedAt = event.getAcknowledgedAt();
         event.setStatus(Event.EventStatus.ACKNOWLEDGED);
         event.setAcknowledgedAt(LocalDateTime.now());
         
         Event savedEvent = eventRepository.save(event);
+        eventRollupService.recordStatusChange(savedEvent, previousStatus, previousAcknowledgedAt); // ADDED
         
         return EventDto.fromEntity(savedEvent);
     }
@@ -0,0 +1,377 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// ADDED: AI 추론 우선순위 스케줄러
+// 동시 AI 호출 수를 AI 서버 가드의 적응형 제한으로 묶고, 초과 요청은 우선순위 큐에서 대기시킨다.
+// CHANGED: 고정 슬롯 수 대신 가드 제한을 따라야 가드가 제한을 줄였을 때 슬롯을 받은 요청이 가드에서 즉시 503 으로 버려지지 않는다.
+// 우선순위는 위치별 최근 위험 이벤트(감쇠 점수)로 정하고, 대기 시간 aging-ms 마다 한 단계씩 올려 기아를 막는다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InferencePriorityScheduler {
+
+    private final EventRepository eventRepository;
+    private final AiServerGuard aiServerGuard; // ADDED: 동시 호출 슬롯 수 (적응형 제한)
+
+    @Value("${app.inference.priority.enabled:true}")
+    private boolean enabled;
+
+    // ADDED: 동시 AI 호출 수 / 대기열 최대 길이 (초과 시 503)
+    // CHANGED: max-in-flight 는 가드 제한 위의 상한 (0 = 가드 제한만 사용)
+    @Value("${app.inference.priority.max-in-flight:0}")
+    private int maxInFlight;
+
+    @Value("${app.inference.priority.max-queue:1000}")
+    private int maxQueue;
+
+    // ADDED: 대기 시간 예산 (초과한 요청은 슬롯을 받기 전에 503, 0 = 제한 없음)
+    @Value("${app.inference.priority.max-wait-ms:5000}")
+    private long maxWaitMillis;
+
+    // ADDED: 대기 시간이 이 값만큼 지날 때마다 한 단계 높은 우선순위와 같게 취급
+    @Value("${app.inference.priority.aging-ms:2000}")
+    private long agingMillis;
+
+    // ADDED: 위치 위험 점수 반감기 (위험 이벤트 1건 = 1점) 와 단계별 기준 점수
+    @Value("${app.inference.priority.hot-half-life-ms:300000}")
+    private long hotHalfLifeMillis;
+
+    @Value("${app.inference.priority.emergency-score:0.5}")
+    private double emergencyScore;
+
+    @Value("${app.inference.priority.elevated-score:0.1}")
+    private double elevatedScore;
+
+    // ADDED: 위치 점수를 올리는 이벤트 라벨 (is_danger=true 는 항상 포함)
+    @Value("${app.inference.priority.hot-labels:SCREAM,HELP_REQUEST}")
+    private String hotLabels;
+
+    private Set<String> hotLabelSet;
+
+    private final Map<String, LocationHeat> heat = new ConcurrentHashMap<>();
+
+    // 아래 상태는 this 잠금 하에서만 접근
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>(
+            Comparator.comparingLong(Ticket::rank).reversed().thenComparingLong(Ticket::sequence));
+    private final EnumMap<Priority, Integer> queued = new EnumMap<>(Priority.class);
+    private int inFlight;
+    private long sequence;
+
+    private final Map<Priority, PriorityStats> stats = new EnumMap<>(Priority.class);
+
+    @PostConstruct
+    void init() {
+        hotLabelSet = Arrays.stream(hotLabels.split(","))
+                .map(label -> label.trim().toUpperCase(Locale.ROOT))
+                .filter(label -> !label.isEmpty())
+                .collect(Collectors.toSet());
+        for (Priority priority : Priority.values()) {
+            queued.put(priority, 0);
+            stats.put(priority, new PriorityStats());
+        }
+
+        // 재시작 직후에도 최근 위험 위치를 우선하도록 최근 이벤트로 점수 복원
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> recent = eventRepository.findByDetectedAtBetweenOrderByDetectedAtDesc(
+                now.minusNanos(hotHalfLifeMillis * 4 * 1_000_000), now);
+        for (Event event : recent) {
+            if (event.getEventType() != null && hotLabelSet.contains(event.getEventType().toUpperCase(Locale.ROOT))) {
+                long detectedAtMillis = event.getDetectedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                addHeat(event.getLocationLabel(), detectedAtMillis);
+            }
+        }
+        log.info("추론 우선순위 스케줄러 초기화 - 동시 호출 {}, 최근 위험 위치 {}곳", permits(), heat.size());
+    }
+
+    /**
+     * 저장된 이벤트를 위치 점수에 반영 (위험 라벨 또는 is_danger 인 경우)
+     */
+    public void recordEvent(String locationLabel, String eventType, Boolean isDanger) {
+        if (locationLabel == null || eventType == null) {
+            return;
+        }
+        if (Boolean.TRUE.equals(isDanger) || hotLabelSet.contains(eventType.toUpperCase(Locale.ROOT))) {
+            addHeat(locationLabel, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * ADDED: 점수가 elevated-score 아래로 감쇠한 위치 제거 (호출자가 넘긴 위치명으로 맵이 무한히 커지지 않도록)
+     * 제거된 위치는 ROUTINE 으로 판정되므로 우선순위 결과는 달라지지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${app.inference.priority.prune-interval-ms:60000}")
+    public void pruneCooledLocations() {
+        long now = System.currentTimeMillis();
+        int before = heat.size();
+        for (String locationLabel : heat.keySet()) {
+            heat.computeIfPresent(locationLabel, (key, locationHeat) ->
+                    locationHeat.score(now, hotHalfLifeMillis) < elevatedScore ? null : locationHeat);
+        }
+        int pruned = before - heat.size();
+        if (pruned > 0) {
+            log.debug("추론 우선순위 - 식은 위치 {}곳 제거, 남은 위치 {}곳", pruned, heat.size());
+        }
+    }
+
+    /**
+     * 위치의 현재 우선순위
+     */
+    public Priority priorityOf(String locationLabel) {
+        LocationHeat locationHeat = locationLabel == null ? null : heat.get(locationLabel);
+        if (locationHeat == null) {
+            return Priority.ROUTINE;
+        }
+        double score = locationHeat.score(System.currentTimeMillis(), hotHalfLifeMillis);
+        if (score >= emergencyScore) {
+            return Priority.EMERGENCY;
+        }
+        return score >= elevatedScore ? Priority.ELEVATED : Priority.ROUTINE;
+    }
+
+    /**
+     * AI 호출을 위치 우선순위에 따라 실행 (호출은 슬롯을 얻은 뒤 구독됨)
+     * 대기열이 가득 차거나 대기 시간 예산을 넘으면 503 AiServerException
+     */
+    public <T> Mono<T> schedule(String locationLabel, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+
+        return Mono.defer(() -> {
+            Ticket ticket = enqueue(priorityOf(locationLabel));
+            if (ticket == null) {
+                return Mono.error(new AiServerException("AI 분석 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", 503));
+            }
+            Mono<Void> granted = ticket.grant().asMono();
+            if (maxWaitMillis > 0) {
+                granted = granted.timeout(Duration.ofMillis(maxWaitMillis), Mono.defer(() -> expire(ticket)));
+            }
+            return granted
+                    .doOnCancel(() -> abandon(ticket))
+                    .then(call)
+                    .doFinally(signal -> release(ticket));
+        });
+    }
+
+    /**
+     * ADDED: 현재 추론 부하 ((진행 중 + 대기 요청 수) / 동시 호출 한도) - 보존 기간 정리 등 배경 작업 조절용
+     */
+    public double loadFactor() {
+        int permits = permits();
+        synchronized (this) {
+            return (inFlight + queue.size()) / (double) Math.max(1, permits);
+        }
+    }
+
+    /**
+     * 우선순위별 대기열 길이 / 대기 시간 지표
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        Map<String, Integer> depth;
+        synchronized (this) {
+            metrics.put("inFlight", inFlight);
+            depth = new HashMap<>();
+            queued.forEach((priority, count) -> depth.put(priority.name(), count));
+        }
+        metrics.put("enabled", enabled);
+        metrics.put("maxInFlight", maxInFlight);
+        metrics.put("permits", permits());
+        metrics.put("maxWaitMs", maxWaitMillis);
+        metrics.put("hotLocations", heat.size());
+
+        Map<String, Object> priorities = new HashMap<>();
+        for (Priority priority : Priority.values()) {
+            PriorityStats priorityStats = stats.get(priority);
+            long dispatched = priorityStats.dispatched.sum();
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("queueDepth", depth.get(priority.name()));
+            entry.put("dispatched", dispatched);
+            entry.put("rejected", priorityStats.rejected.sum());
+            entry.put("expired", priorityStats.expired.sum());
+            entry.put("avgWaitMs", dispatched == 0 ? 0.0
+                    : Math.round(priorityStats.totalWaitMicros.sum() / 10.0 / dispatched) / 100.0);
+            entry.put("maxWaitMs", Math.round(priorityStats.maxWaitMicros.get() / 10.0) / 100.0);
+            priorities.put(priority.name(), entry);
+        }
+        metrics.put("priorities", priorities);
+        return metrics;
+    }
+
+    private Ticket enqueue(Priority priority) {
+        long now = System.nanoTime();
+        // 순위 = 단계 x aging + 대기 시간 => 같은 비율로 늘어나므로 (단계 x aging - 등록 시각) 으로 고정 비교 가능
+        long rank = priority.level * agingMillis * 1_000_000 - now;
+        int permits = permits(); // 가드 잠금은 이 객체 잠금 밖에서
+        Ticket ticket;
+        synchronized (this) {
+            if (inFlight < permits && queue.isEmpty()) {
+                inFlight++;
+                ticket = new Ticket(priority, rank, sequence++, now);
+                ticket.granted().set(true);
+            } else if (queue.size() >= maxQueue) {
+                stats.get(priority).rejected.increment();
+                return null;
+            } else {
+                ticket = new Ticket(priority, rank, sequence++, now);
+                queue.add(ticket);
+                queued.merge(priority, 1, Integer::sum);
+                return ticket;
+            }
+        }
+        recordWait(ticket);
+        ticket.grant().tryEmitEmpty();
+        return ticket;
+    }
+
+    // ADDED: 대기 시간 예산 초과 - 아직 큐에 있으면 빼고 503, 그 사이 슬롯을 받았으면 그대로 호출
+    private Mono<Void> expire(Ticket ticket) {
+        synchronized (this) {
+            if (!queue.remove(ticket)) {
+                return Mono.empty();
+            }
+            queued.merge(ticket.priority(), -1, Integer::sum);
+            ticket.released().set(true);
+        }
+        stats.get(ticket.priority()).expired.increment();
+        return Mono.error(new AiServerException("AI 분석 대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.", 503));
+    }
+
+    // 대기 중 취소된 요청은 큐에서 제거 (이미 슬롯을 받았다면 release 에서 반환)
+    private void abandon(Ticket ticket) {
+        synchronized (this) {
+            if (queue.remove(ticket)) {
+                queued.merge(ticket.priority(), -1, Integer::sum);
+                ticket.released().set(true);
+            }
+        }
+    }
+
+    private void release(Ticket ticket) {
+        if (!ticket.granted().get() || !ticket.released().compareAndSet(false, true)) {
+            return;
+        }
+
+        // 호출이 끝나며 가드가 조정한 제한으로 다음 요청들을 꺼냄 (제한이 늘었으면 여러 건)
+        int permits = permits();
+        List<Ticket> dispatched = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            while (inFlight < permits && !queue.isEmpty()) {
+                Ticket next = queue.poll();
+                queued.merge(next.priority(), -1, Integer::sum);
+                next.granted().set(true);
+                inFlight++;
+                dispatched.add(next);
+            }
+        }
+        // 호출 구독은 잠금 밖에서 시작
+        for (Ticket next : dispatched) {
+            recordWait(next);
+            next.grant().tryEmitEmpty();
+        }
+    }
+
+    // 점수 갱신은 맵 항목 잠금 안에서 (정리 작업이 방금 갱신된 항목을 지우지 않도록)
+    private void addHeat(String locationLabel, long atMillis) {
+        heat.compute(locationLabel, (key, locationHeat) -> {
+            LocationHeat updated = locationHeat != null ? locationHeat : new LocationHeat();
+            updated.add(atMillis, hotHalfLifeMillis);
+            return updated;
+        });
+    }
+
+    // ADDED: 현재 슬롯 수 = 가드의 적응형 제한 (max-in-flight 가 있으면 그 이하)
+    private int permits() {
+        int guardLimit = aiServerGuard.concurrencyLimit();
+        return maxInFlight > 0 ? Math.min(maxInFlight, guardLimit) : guardLimit;
+    }
+
+    private void recordWait(Ticket ticket) {
+        long waitMicros = (System.nanoTime() - ticket.enqueuedAtNanos()) / 1000;
+        PriorityStats priorityStats = stats.get(ticket.priority());
+        priorityStats.dispatched.increment();
+        priorityStats.totalWaitMicros.add(waitMicros);
+        priorityStats.maxWaitMicros.accumulate(waitMicros);
+    }
+
+    // ADDED: 추론 우선순위 단계
+    public enum Priority {
+        ROUTINE(0), ELEVATED(1), EMERGENCY(2);
+
+        private final int level;
+
+        Priority(int level) {
+            this.level = level;
+        }
+    }
+
+    // 대기 요청 (rank 가 클수록 먼저, 같으면 먼저 등록된 요청)
+    private record Ticket(Priority priority, long rank, long sequence, long enqueuedAtNanos,
+                          Sinks.Empty<Void> grant, AtomicBoolean granted, AtomicBoolean released) {
+        Ticket(Priority priority, long rank, long sequence, long enqueuedAtNanos) {
+            this(priority, rank, sequence, enqueuedAtNanos, Sinks.empty(), new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+
+    // 위치별 위험 점수 (지수 감쇠)
+    private static final class LocationHeat {
+        private double score;
+        private long updatedAtMillis;
+
+        synchronized void add(long atMillis, long halfLifeMillis) {
+            if (updatedAtMillis == 0) {
+                score = 1;
+                updatedAtMillis = atMillis;
+                return;
+            }
+            if (atMillis >= updatedAtMillis) {
+                score = score * Math.pow(0.5, (atMillis - updatedAtMillis) / (double) halfLifeMillis) + 1;
+                updatedAtMillis = atMillis;
+            } else {
+                score += Math.pow(0.5, (updatedAtMillis - atMillis) / (double) halfLifeMillis);
+            }
+        }
+
+        synchronized double score(long nowMillis, long halfLifeMillis) {
+            return score * Math.pow(0.5, Math.max(0, nowMillis - updatedAtMillis) / (double) halfLifeMillis);
+        }
+    }
+
+    private static final class PriorityStats {
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder expired = new LongAdder();
+        private final LongAdder totalWaitMicros = new LongAdder();
+        private final LongAccumulator maxWaitMicros = new LongAccumulator(Math::max, 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.entity.Notification;
+import com.example.Alertory.websocket.LiveUpdateHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ADDED: 새 이벤트 / 알림을 실시간 구독자(/ws/live)에게 발행
+// 트랜잭션 안에서 호출되면 커밋된 뒤에 발행한다 (롤백된 행이 화면에 뜨지 않도록).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdatePublisher {
+
+    private final LiveUpdateHandler liveUpdateHandler;
+
+    public void eventCreated(Event event) {
+        Map<String, Object> data = eventPayload(event);
+        afterCommit(() -> liveUpdateHandler.broadcast("event", event.getLocationLabel(), data));
+    }
+
+    /**
+     * 일괄 생성분은 위치별로 묶어 메시지 하나씩 ("events", data = 이벤트 목록)
+     */
+    public void eventsCreated(List<Event> events) {
+        Map<String, List<Map<String, Object>>> byLocation = new LinkedHashMap<>();
+        for (Event event : events) {
+            byLocation.computeIfAbsent(event.getLocationLabel(), key -> new ArrayList<>()).add(eventPayload(event));
+        }
+        afterCommit(() -> byLocation.forEach((location, payloads) -> liveUpdateHandler.broadcast("events", location, payloads)));
+    }
+
+    /**
+     * 알림 발행 (locationLabel 이 null 이면 전체 구독자)
+     */
+    public void notificationCreated(Notification notification, String locationLabel) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", notification.getId());
+        data.put("title", notification.getTitle());
+        data.put("message", notification.getMessage());
+        data.put("type", notification.getType());
+        data.put("status", notification.getStatus());
+        data.put("eventId", notification.getEventId());
+        data.put("sentAt", notification.getSentAt() == null ? null : notification.getSentAt().toString());
+        afterCommit(() -> liveUpdateHandler.broadcast("notification", locationLabel, data));
+    }
+
+    // 공용 ObjectMapper 에 날짜 모듈이 없으므로 시각은 ISO 문자열로 (AudioStreamHandler 탐지 메시지와 같은 방식)
+    private static Map<String, Object> eventPayload(Event event) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", event.getId());
+        data.put("eventType", event.getEventType());
+        data.put("locationLabel", event.getLocationLabel());
+        data.put("confidence", event.getConfidence());
+        data.put("status", event.getStatus());
+        data.put("audioBlobId", event.getAudioBlobId());
+        data.put("peakOffsetMs", event.getPeakOffsetMs());
+        data.put("detectedAt", event.getDetectedAt() == null ? null : event.getDetectedAt().toString());
+        return data;
+    }
+
+    private void afterCommit(Runnable publish) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            run(publish);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                run(publish);
+            }
+        });
+    }
+
+    // 발행 실패가 저장 흐름을 깨지 않도록
+    private void run(Runnable publish) {
+        try {
+            publish.run();
+        } catch (RuntimeException e) {
+            log.warn("실시간 발행 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.util.List;
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
+    private final LiveUpdatePublisher liveUpdatePublisher; // ADDED: 새 알림 실시간 푸시 (커밋 후)
     
     // 긴급 이벤트 알림 생성
     public Notification createEmergencyAlert(Event event) {
@@ -36,7 +37,9 @@ public class NotificationService {
                 .userId(null) // 전체 알림
                 .build();
         
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        liveUpdatePublisher.notificationCreated(saved, event.getLocationLabel()); // ADDED
+        return saved;
     }
     
     // 일반 이벤트 알림 생성
@@ -57,7 +60,9 @@ public class NotificationService {
                 .userId(null)
                 .build();
         
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        liveUpdatePublisher.notificationCreated(saved, event.getLocationLabel()); // ADDED
+        return saved;
     }
     
     // 시스템 알림 생성
@@ -70,7 +75,9 @@ public class NotificationService {
                 .userId(null)
                 .build();
         
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        liveUpdatePublisher.notificationCreated(saved, null); // ADDED: 시스템 알림은 전체 구독자
+        return saved;
     }
     
     // 알림 읽음 처리
@@ -0,0 +1,268 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// ADDED: 보존 기간(Settings.retentionDays) 정리 작업
+// 만료 이벤트를 오래된 순으로 batch-size 개씩 집합 삭제하고 오디오(세그먼트 클립 / 이전 방식 파일)도 지운다.
+// 배치마다 짧은 트랜잭션으로 끝나며, 지운 행은 사라지므로 남은 가장 오래된 만료 행이 곧 다음 실행의 재개 지점이다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RetentionSweeper {
+
+    private final EventRepository eventRepository;
+    private final SettingsService settingsService; // CHANGED: 보존 기간은 설정 스냅샷에서
+    private final AudioBlobStore audioBlobStore;
+    private final AudioIngestService audioIngestService;
+    private final InferencePriorityScheduler inferencePriorityScheduler;
+    private final EventRollupService eventRollupService;
+    private final PlatformTransactionManager transactionManager; // ADDED: 행 삭제 + 집계 차감을 한 트랜잭션으로
+
+    @Value("${app.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.retention.batch-size:500}")
+    private int batchSize;
+
+    // ADDED: 한 번 실행에서 처리할 최대 배치 수 (나머지는 다음 실행에서 이어서)
+    @Value("${app.retention.max-batches-per-run:40}")
+    private int maxBatchesPerRun;
+
+    // ADDED: 배치 사이 대기 / 추론 부하가 이 값 이상이면 이번 실행을 멈추고 다음 실행으로 미룸
+    @Value("${app.retention.pause-ms:200}")
+    private long pauseMillis;
+
+    @Value("${app.retention.max-load:0.75}")
+    private double maxLoad;
+
+    private final AtomicReference<Map<String, Object>> lastRun = new AtomicReference<>(Map.of());
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder deferredRuns = new LongAdder();
+    private final LongAdder deletedEvents = new LongAdder();
+    private final LongAdder deletedBlobs = new LongAdder();
+    private final LongAdder deletedFiles = new LongAdder();
+    private final LongAdder reclaimedBytes = new LongAdder();
+
+    @Scheduled(initialDelayString = "${app.retention.initial-delay-ms:60000}",
+            fixedDelayString = "${app.retention.interval-ms:600000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        int retentionDays = settingsService.getRetentionDays();
+        if (retentionDays <= 0) {
+            return;
+        }
+        sweep(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * cutoff 이전에 탐지된 이벤트 정리 (실행 결과 반환)
+     */
+    RunReport sweep(LocalDateTime cutoff) {
+        long startedAt = System.nanoTime();
+        Outcome outcome = Outcome.COMPLETED;
+        int batches = 0;
+        long events = 0;
+        long blobs = 0;
+        long files = 0;
+        long bytes = 0;
+
+        try {
+            while (true) {
+                if (batches >= maxBatchesPerRun) {
+                    outcome = Outcome.BUDGET_EXHAUSTED;
+                    break;
+                }
+                if (inferencePriorityScheduler.loadFactor() >= maxLoad) {
+                    outcome = Outcome.DEFERRED_BY_LOAD;
+                    break;
+                }
+
+                List<EventRepository.ExpiredEvent> batch = eventRepository.findExpired(cutoff, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                BatchResult result = sweepBatch(batch);
+                batches++;
+                events += result.events();
+                blobs += result.blobs();
+                files += result.files();
+                bytes += result.bytes();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = Outcome.INTERRUPTED;
+        } catch (IOException | RuntimeException e) {
+            // 이번 배치의 행은 남아 있으므로 다음 실행에서 다시 시도
+            log.error("보존 기간 정리 실패: {}", e.getMessage(), e);
+            outcome = Outcome.FAILED;
+        }
+
+        // 만료 이벤트를 모두 지운 경우에만 기준 시각 이전 정시 집계 칸도 삭제 (배치마다 이미 0 으로 줄어든 칸 정리)
+        if (outcome == Outcome.COMPLETED) {
+            try {
+                int rollups = eventRollupService.deleteBefore(cutoff);
+                if (rollups > 0) {
+                    log.info("보존 기간 정리 - 시간별 집계 {}칸 삭제", rollups);
+                }
+            } catch (RuntimeException e) {
+                log.error("시간별 집계 정리 실패: {}", e.getMessage(), e);
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        RunReport report = new RunReport(LocalDateTime.now(), cutoff, outcome, batches, events, blobs, files, bytes, durationMillis);
+        record(report);
+        if (events > 0 || outcome != Outcome.COMPLETED) {
+            log.info("보존 기간 정리 - {} (기준 {}): 이벤트 {}건, 클립 {}개, 파일 {}개, {} bytes, {}ms",
+                    outcome, cutoff, events, blobs, files, bytes, durationMillis);
+        }
+        return report;
+    }
+
+    // 오디오를 먼저 지우고 행을 지운다 (중간에 멈춰도 행이 남아 다음 실행에서 다시 정리됨)
+    private BatchResult sweepBatch(List<EventRepository.ExpiredEvent> batch) throws IOException {
+        List<Long> ids = batch.stream().map(EventRepository.ExpiredEvent::getId).toList();
+        Set<Long> blobIds = batch.stream()
+                .map(EventRepository.ExpiredEvent::getAudioBlobId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<String> paths = batch.stream()
+                .map(EventRepository.ExpiredEvent::getAudioFilePath)
+                .filter(path -> path != null && !path.isEmpty())
+                .collect(Collectors.toCollection(HashSet::new));
+
+        // 배치 밖 이벤트가 공유하는 오디오는 유지
+        if (!blobIds.isEmpty()) {
+            eventRepository.findAudioBlobIdsReferencedOutside(blobIds, ids).forEach(blobIds::remove);
+        }
+        if (!paths.isEmpty()) {
+            eventRepository.findAudioFilePathsReferencedOutside(paths, ids).forEach(paths::remove);
+        }
+
+        long blobs = 0;
+        long files = 0;
+        long bytes = 0;
+        for (long blobId : blobIds) {
+            long length = audioBlobStore.locate(blobId).map(AudioBlobStore.BlobFile::length).orElse(0L);
+            if (audioBlobStore.delete(blobId)) {
+                blobs++;
+                bytes += length;
+            }
+        }
+        Path uploadDir = Paths.get(audioIngestService.getUploadDir()).toAbsolutePath().normalize();
+        for (String path : paths) {
+            long length = deleteLegacyFile(uploadDir, path);
+            if (length >= 0) {
+                files++;
+                bytes += length;
+            }
+        }
+
+        // CHANGED: 지운 행만큼 위치별 합계 / 시간별 집계를 같은 트랜잭션에서 뺌 (실행이 중간에 끝나도 대시보드 합계가 맞도록)
+        Integer events = new TransactionTemplate(transactionManager).execute(status -> {
+            int deleted = eventRepository.deleteByIdIn(ids);
+            eventRollupService.recordDeletedAll(batch);
+            return deleted;
+        });
+        return new BatchResult(events == null ? 0 : events, blobs, files, bytes);
+    }
+
+    // 업로드 디렉토리 안의 파일만 삭제 (삭제한 크기, 없거나 지우지 못하면 -1)
+    private long deleteLegacyFile(Path uploadDir, String path) {
+        Path file = Paths.get(path).toAbsolutePath().normalize();
+        if (!file.startsWith(uploadDir)) {
+            log.warn("업로드 디렉토리 밖의 오디오 파일은 삭제하지 않음: {}", path);
+            return -1;
+        }
+        try {
+            long length = Files.size(file);
+            Files.delete(file);
+            return length;
+        } catch (NoSuchFileException e) {
+            return -1;
+        } catch (IOException e) {
+            log.warn("만료 오디오 파일 삭제 실패: {} - {}", path, e.getMessage());
+            return -1;
+        }
+    }
+
+    private void record(RunReport report) {
+        runs.increment();
+        if (report.outcome() == Outcome.DEFERRED_BY_LOAD) {
+            deferredRuns.increment();
+        }
+        deletedEvents.add(report.deletedEvents());
+        deletedBlobs.add(report.deletedBlobs());
+        deletedFiles.add(report.deletedFiles());
+        reclaimedBytes.add(report.reclaimedBytes());
+
+        Map<String, Object> run = new HashMap<>();
+        run.put("finishedAt", report.finishedAt().toString());
+        run.put("cutoff", report.cutoff().toString());
+        run.put("outcome", report.outcome().name());
+        run.put("batches", report.batches());
+        run.put("deletedEvents", report.deletedEvents());
+        run.put("deletedBlobs", report.deletedBlobs());
+        run.put("deletedFiles", report.deletedFiles());
+        run.put("reclaimedBytes", report.reclaimedBytes());
+        run.put("durationMs", report.durationMillis());
+        lastRun.set(run);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("runs", runs.sum());
+        metrics.put("deferredRuns", deferredRuns.sum());
+        metrics.put("deletedEvents", deletedEvents.sum());
+        metrics.put("deletedBlobs", deletedBlobs.sum());
+        metrics.put("deletedFiles", deletedFiles.sum());
+        metrics.put("reclaimedBytes", reclaimedBytes.sum());
+        metrics.put("lastRun", lastRun.get());
+        return metrics;
+    }
+
+    // ADDED: 실행 종료 사유
+    public enum Outcome {
+        COMPLETED, BUDGET_EXHAUSTED, DEFERRED_BY_LOAD, INTERRUPTED, FAILED
+    }
+
+    // ADDED: 실행 1회 결과 (reclaimedBytes = 삭제한 클립 + 파일 크기, 클립 공간은 세그먼트 압축 시 디스크에서 회수)
+    public record RunReport(LocalDateTime finishedAt, LocalDateTime cutoff, Outcome outcome, int batches,
+                            long deletedEvents, long deletedBlobs, long deletedFiles, long reclaimedBytes,
+                            long durationMillis) {
+    }
+
+    private record BatchResult(long events, long blobs, long files, long bytes) {
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.LocationSettings;
+import com.example.Alertory.entity.Settings;
+import com.example.Alertory.repository.LocationSettingsRepository;
+import com.example.Alertory.repository.SettingsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// ADDED: 설정 메모리 스냅샷
+// 전역 설정 + 위치별 설정을 불변 스냅샷 하나로 만들어 통째로 교체한다. 분석 경로는 DB 조회 없이 스냅샷만 읽고,
+// 설정 변경(API)은 저장 직후 스냅샷을 다시 만든다. DB 를 직접 고친 경우는 refresh-interval-ms 주기로 반영된다.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SettingsService {
+
+    private final SettingsRepository settingsRepository;
+    private final LocationSettingsRepository locationSettingsRepository;
+
+    // ADDED: screamThreshold 를 적용할 라벨 (나머지 라벨은 noiseThreshold)
+    @Value("${app.settings.scream-labels:SCREAM,HELP_REQUEST}")
+    private String screamLabels;
+
+    // 첫 refresh 전(기동 중)에는 기본값 스냅샷
+    private final AtomicReference<Snapshot> snapshot =
+            new AtomicReference<>(Snapshot.of(Settings.builder().build(), List.of(), Set.of("SCREAM", "HELP_REQUEST")));
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private final LongAdder outOfSchedule = new LongAdder();
+    private final LongAdder belowThreshold = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * DB 에서 설정을 다시 읽어 스냅샷 교체 (전역 설정 행이 없으면 기본값으로 생성)
+     */
+    @Scheduled(initialDelayString = "${app.settings.refresh-interval-ms:60000}",
+            fixedDelayString = "${app.settings.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        try {
+            Settings settings = settingsRepository.findFirstByOrderByIdAsc()
+                    .orElseGet(() -> settingsRepository.save(Settings.builder().build()));
+            List<LocationSettings> overrides = locationSettingsRepository.findAll();
+            snapshot.set(Snapshot.of(settings, overrides, parseLabels(screamLabels)));
+            refreshes.increment();
+        } catch (RuntimeException e) {
+            // 이전 스냅샷 유지
+            failedRefreshes.increment();
+            log.error("설정 스냅샷 갱신 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 현재 전역 설정 (스냅샷 사본 - 수정해도 스냅샷에 영향 없음)
+     */
+    public Settings getSettings() {
+        return copy(snapshot.get().settings());
+    }
+
+    /**
+     * 전역 설정 저장 후 스냅샷 교체 (id 가 없으면 현재 설정 행을 갱신)
+     */
+    public synchronized Settings updateSettings(Settings settings) {
+        if (settings.getId() == null) {
+            settings.setId(snapshot.get().settings().getId());
+        }
+        Settings saved = settingsRepository.save(settings);
+        refresh();
+        log.info("설정 변경 - 모드: {}, 비명 임계값: {}, 소음 임계값: {}",
+                saved.getDetectMode(), saved.getScreamThreshold(), saved.getNoiseThreshold());
+        return copy(saved);
+    }
+
+    public List<LocationSettings> getLocationSettings() {
+        return locationSettingsRepository.findAll(Sort.by("locationLabel"));
+    }
+
+    /**
+     * 위치별 설정 저장 (없으면 생성) 후 스냅샷 교체
+     */
+    public synchronized LocationSettings saveLocationSettings(String locationLabel, LocationSettings request) {
+        String label = normalizeLabel(locationLabel);
+        LocationSettings target = locationSettingsRepository.findByLocationLabel(label)
+                .orElseGet(() -> LocationSettings.builder().locationLabel(label).build());
+        target.setNoiseThreshold(request.getNoiseThreshold());
+        target.setScreamThreshold(request.getScreamThreshold());
+        target.setAlertEnabled(request.getAlertEnabled());
+        target.setDetectMode(request.getDetectMode());
+        target.setActiveStart(request.getActiveStart());
+        target.setActiveEnd(request.getActiveEnd());
+        LocationSettings saved = locationSettingsRepository.save(target);
+        refresh();
+        return saved;
+    }
+
+    /**
+     * 위치별 설정 삭제 후 스냅샷 교체 (해당 위치는 전역 설정을 따름)
+     */
+    public synchronized boolean deleteLocationSettings(String locationLabel) {
+        Optional<LocationSettings> existing = locationSettingsRepository.findByLocationLabel(normalizeLabel(locationLabel));
+        if (existing.isEmpty()) {
+            return false;
+        }
+        locationSettingsRepository.delete(existing.get());
+        refresh();
+        return true;
+    }
+
+    /**
+     * 전역 탐지 정책 (DB 조회 없음)
+     */
+    public DetectionPolicy policy() {
+        return snapshot.get().global();
+    }
+
+    /**
+     * 위치의 탐지 정책 - 위치별 설정이 없으면 전역 정책 (DB 조회 없음)
+     * 위치명은 디코딩된 값 (REST 경로 변수 / 스트리밍 쿼리 모두 디코딩 후 전달) 을 앞뒤 공백 없이 비교한다.
+     */
+    public DetectionPolicy policyFor(String locationLabel) {
+        Snapshot current = snapshot.get();
+        if (locationLabel == null) {
+            return current.global();
+        }
+        return current.byLocation().getOrDefault(normalizeLabel(locationLabel), current.global());
+    }
+
+    public int getRetentionDays() {
+        Integer retentionDays = snapshot.get().settings().getRetentionDays();
+        return retentionDays == null ? 0 : retentionDays;
+    }
+
+    // ADDED: 탐지 시간대 밖이라 생략한 요청 / 스트리밍 창
+    public void recordOutOfSchedule() {
+        outOfSchedule.increment();
+    }
+
+    // ADDED: 임계값 미만이라 이벤트 / 알림을 만들지 않은 탐지
+    public void recordBelowThreshold() {
+        belowThreshold.increment();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("loadedAt", current.loadedAt().toString());
+        metrics.put("detectMode", current.global().detectMode().name());
+        metrics.put("locationOverrides", current.byLocation().size());
+        metrics.put("refreshes", refreshes.sum());
+        metrics.put("failedRefreshes", failedRefreshes.sum());
+        metrics.put("outOfSchedule", outOfSchedule.sum());
+        metrics.put("belowThreshold", belowThreshold.sum());
+        return metrics;
+    }
+
+    // ADDED: 위치명 비교 기준 (스트리밍 연결은 trim 된 위치명을 쓰므로 저장 / 조회도 같게)
+    private static String normalizeLabel(String locationLabel) {
+        return locationLabel == null ? null : locationLabel.trim();
+    }
+
+    private static Set<String> parseLabels(String labels) {
+        return Arrays.stream(labels.split(","))
+                .map(label -> label.trim().toUpperCase(Locale.ROOT))
+                .filter(label -> !label.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static Settings copy(Settings settings) {
+        return Settings.builder()
+                .id(settings.getId())
+                .noiseThreshold(settings.getNoiseThreshold())
+                .screamThreshold(settings.getScreamThreshold())
+                .energyGateEnabled(settings.getEnergyGateEnabled())
+                .silenceRmsThreshold(settings.getSilenceRmsThreshold())
+                .minActiveBlocks(settings.getMinActiveBlocks())
+                .alertEnabled(settings.getAlertEnabled())
+                .detectMode(settings.getDetectMode())
+                .activeStart(settings.getActiveStart())
+                .activeEnd(settings.getActiveEnd())
+                .retentionDays(settings.getRetentionDays())
+                .build();
+    }
+
+    // ADDED: 불변 스냅샷 (settings 는 외부에 내보내지 않는 사본, 위치별 정책은 미리 병합)
+    private record Snapshot(Settings settings, DetectionPolicy global, Map<String, DetectionPolicy> byLocation,
+                            LocalDateTime loadedAt) {
+
+        static Snapshot of(Settings settings, List<LocationSettings> overrides, Set<String> screamLabels) {
+            DetectionPolicy global = DetectionPolicy.of(settings, screamLabels);
+            Map<String, DetectionPolicy> byLocation = overrides.stream()
+                    .collect(Collectors.toUnmodifiableMap(override -> normalizeLabel(override.getLocationLabel()),
+                            global::with, (first, second) -> first));
+            return new Snapshot(copy(settings), global, byLocation, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * ADDED: 분석 경로에서 쓰는 탐지 정책 (임계값은 0~1, AI 신뢰도는 0~100)
+     */
+    public record DetectionPolicy(double screamThreshold, double noiseThreshold, boolean alertEnabled,
+                                  Settings.DetectMode detectMode, LocalTime activeStart, LocalTime activeEnd,
+                                  boolean energyGateEnabled, double silenceRmsThreshold, int minActiveBlocks,
+                                  Set<String> screamLabels) {
+
+        static DetectionPolicy of(Settings settings, Set<String> screamLabels) {
+            return new DetectionPolicy(
+                    settings.getScreamThreshold() != null ? settings.getScreamThreshold() : 0.8,
+                    settings.getNoiseThreshold() != null ? settings.getNoiseThreshold() : 0.7,
+                    !Boolean.FALSE.equals(settings.getAlertEnabled()),
+                    settings.getDetectMode() != null ? settings.getDetectMode() : Settings.DetectMode.ALWAYS,
+                    settings.getActiveStart(),
+                    settings.getActiveEnd(),
+                    !Boolean.FALSE.equals(settings.getEnergyGateEnabled()),
+                    settings.getSilenceRmsThreshold() != null ? settings.getSilenceRmsThreshold() : 0.01,
+                    settings.getMinActiveBlocks() != null ? settings.getMinActiveBlocks() : 10,
+                    screamLabels);
+        }
+
+        // 위치별 설정 중 값이 있는 항목만 덮어씀 (에너지 게이트는 전역 설정만)
+        DetectionPolicy with(LocationSettings override) {
+            return new DetectionPolicy(
+                    override.getScreamThreshold() != null ? override.getScreamThreshold() : screamThreshold,
+                    override.getNoiseThreshold() != null ? override.getNoiseThreshold() : noiseThreshold,
+                    override.getAlertEnabled() != null ? override.getAlertEnabled() : alertEnabled,
+                    override.getDetectMode() != null ? override.getDetectMode() : detectMode,
+                    override.getActiveStart() != null ? override.getActiveStart() : activeStart,
+                    override.getActiveEnd() != null ? override.getActiveEnd() : activeEnd,
+                    energyGateEnabled, silenceRmsThreshold, minActiveBlocks, screamLabels);
+        }
+
+        /**
+         * 탐지 시간대인지 (SCHEDULED 모드에서 activeEnd 가 activeStart 보다 이르면 자정을 넘는 구간, 같으면 하루 종일)
+         */
+        public boolean isActiveAt(LocalTime time) {
+            if (detectMode != Settings.DetectMode.SCHEDULED || activeStart == null || activeEnd == null
+                    || activeStart.equals(activeEnd)) {
+                return true;
+            }
+            if (activeStart.isBefore(activeEnd)) {
+                return !time.isBefore(activeStart) && time.isBefore(activeEnd);
+            }
+            return !time.isBefore(activeStart) || time.isBefore(activeEnd);
+        }
+
+        /**
+         * 라벨별 임계값 이상인지 (비명 계열은 screamThreshold, 그 외 noiseThreshold)
+         */
+        public boolean meetsThreshold(String label, Double confidence) {
+            if (confidence == null) {
+                return false;
+            }
+            double threshold = label != null && screamLabels.contains(label.toUpperCase(Locale.ROOT))
+                    ? screamThreshold : noiseThreshold;
+            return confidence / 100.0 >= threshold;
+        }
+    }
+}
@@ -9,13 +9,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
 
+// CHANGED: 로그 기록은 ActivityLogWriter 로 넘겨 호출 측 트랜잭션 / 요청 지연에서 DB 왕복 제거 (조회만 트랜잭션)
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class UserActivityLogService {
     
     private final UserActivityLogRepository activityLogRepository;
+    private final ActivityLogWriter activityLogWriter;
     
     public void logActivity(Long userId, String username, String action, String details, HttpServletRequest request) {
         UserActivityLog log = UserActivityLog.builder()
@@ -25,9 +27,10 @@ public class UserActivityLogService {
                 .details(details)
                 .ipAddress(getClientIpAddress(request))
                 .userAgent(request.getHeader("User-Agent"))
+                .createdAt(LocalDateTime.now())
                 .build();
         
-        activityLogRepository.save(log);
+        activityLogWriter.submit(log);
     }
     
     public void logLogin(Long userId, String username, HttpServletRequest request) {
@@ -53,10 +56,12 @@ public class UserActivityLogService {
                    String.format("%s: %s", action, targetUser), request);
     }
     
+    @Transactional(readOnly = true)
     public Page<UserActivityLog> getAllLogs(Pageable pageable) {
         return activityLogRepository.findByOrderByCreatedAtDesc(pageable);
     }
     
+    @Transactional(readOnly = true)
     public Page<UserActivityLog> getUserLogs(Long userId, Pageable pageable) {
         return activityLogRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
     }
@@ -0,0 +1,234 @@
+package com.example.Alertory.websocket;
+
+import com.example.Alertory.audio.PcmRingBuffer;
+import com.example.Alertory.audio.WavEncoder;
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.service.AudioAnalysisService;
+import com.example.Alertory.service.SettingsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// ADDED: 장비 실시간 PCM 스트리밍 수신 (ws://.../ws/audio?locationLabel=...&sampleRate=16000)
+// 바이너리 메시지 = 16bit LE 모노 PCM. 연결별 고정 크기 링 버퍼에서 겹치는 분석 창을 잘라 AI 분석하고,
+// 탐지 시 이벤트를 저장한 뒤 같은 연결로 탐지 결과(JSON 텍스트)를 보낸다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AudioStreamHandler extends BinaryWebSocketHandler {
+
+    private static final String STREAM_ATTRIBUTE = "audioStream";
+
+    private final AudioAnalysisService audioAnalysisService;
+    private final ObjectMapper objectMapper;
+    private final SettingsService settingsService; // ADDED: 탐지 시간대 판정 (메모리 스냅샷)
+
+    // ADDED: 분석 창 길이 / 창 간격 (창 길이 - 간격 만큼 겹침)
+    @Value("${app.stream.window-ms:2000}")
+    private int windowMillis;
+
+    @Value("${app.stream.hop-ms:1000}")
+    private int hopMillis;
+
+    // ADDED: 허용 샘플레이트 범위 및 기본값
+    @Value("${app.stream.default-sample-rate:16000}")
+    private int defaultSampleRate;
+
+    @Value("${app.stream.max-sample-rate:48000}")
+    private int maxSampleRate;
+
+    // ADDED: 동시 스트리밍 연결 수 제한 (연결당 메모리 = 링 버퍼 + WAV 창 버퍼)
+    @Value("${app.stream.max-sessions:200}")
+    private int maxSessions;
+
+    // ADDED: 이벤트를 생성할 라벨 (is_danger=true 는 항상 생성)
+    @Value("${app.stream.event-labels:SCREAM,HELP_REQUEST}")
+    private String eventLabels;
+
+    private Set<String> eventLabelSet;
+
+    private final Map<String, AudioStream> streams = new ConcurrentHashMap<>();
+
+    private final LongAdder analyzedWindows = new LongAdder();
+    private final LongAdder droppedWindows = new LongAdder();
+    private final LongAdder failedWindows = new LongAdder();
+    private final LongAdder detections = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        eventLabelSet = Arrays.stream(eventLabels.split(","))
+                .map(label -> label.trim().toUpperCase(Locale.ROOT))
+                .filter(label -> !label.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        if (streams.size() >= maxSessions) {
+            log.warn("스트리밍 연결 거부 - 최대 연결 수 초과: {}", maxSessions);
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+            return;
+        }
+
+        // CHANGED: 쿼리 값은 퍼센트 인코딩된 채로 오므로 디코딩 (한글 위치명이 이벤트 / 위치별 설정 / 대시보드 필터와 일치하도록)
+        Map<String, String> params = new HashMap<>();
+        UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().toSingleValueMap()
+                .forEach((name, value) -> params.put(name,
+                        value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8)));
+        String locationLabel = params.getOrDefault("locationLabel", "").trim();
+        int sampleRate;
+        try {
+            sampleRate = Integer.parseInt(params.getOrDefault("sampleRate", String.valueOf(defaultSampleRate)));
+        } catch (NumberFormatException e) {
+            sampleRate = -1;
+        }
+        if (locationLabel.isEmpty() || sampleRate < 8000 || sampleRate > maxSampleRate) {
+            session.close(CloseStatus.BAD_DATA.withReason("locationLabel and sampleRate(8000-" + maxSampleRate + ") are required"));
+            return;
+        }
+
+        int windowSamples = (int) ((long) sampleRate * windowMillis / 1000);
+        int hopSamples = (int) ((long) sampleRate * hopMillis / 1000);
+        AudioStream stream = new AudioStream(
+                new ConcurrentWebSocketSessionDecorator(session, 5000, 64 * 1024),
+                locationLabel, sampleRate, new PcmRingBuffer(windowSamples, hopSamples),
+                new byte[WavEncoder.HEADER_BYTES + windowSamples * 2]);
+        session.getAttributes().put(STREAM_ATTRIBUTE, stream);
+        streams.put(session.getId(), stream);
+
+        log.info("스트리밍 연결 - 세션: {}, 사용자: {}, 위치: {}, 샘플레이트: {}",
+                session.getId(), session.getPrincipal() != null ? session.getPrincipal().getName() : null,
+                locationLabel, sampleRate);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        AudioStream stream = (AudioStream) session.getAttributes().get(STREAM_ATTRIBUTE);
+        if (stream == null) {
+            return;
+        }
+
+        stream.ring().write(message.getPayload());
+        if (!stream.ring().windowReady()) {
+            return;
+        }
+
+        // ADDED: 탐지 시간대 밖이면 창을 인코딩 / 분석하지 않고 버림
+        if (!settingsService.policyFor(stream.locationLabel()).isActiveAt(LocalTime.now())) {
+            stream.ring().skipWindow();
+            settingsService.recordOutOfSchedule();
+            return;
+        }
+
+        // 연결당 분석은 하나씩만 진행 (밀리면 최신 창만 유지하도록 건너뜀)
+        if (!stream.analyzing().compareAndSet(false, true)) {
+            stream.ring().skipWindow();
+            droppedWindows.increment();
+            return;
+        }
+
+        byte[] wav = stream.wavBuffer();
+        ByteBuffer target = ByteBuffer.wrap(wav);
+        WavEncoder.writePcm16Header(target, stream.sampleRate(), 1, wav.length - WavEncoder.HEADER_BYTES);
+        stream.ring().drainWindow(target);
+        long windowEndMs = stream.ring().totalSamples() * 1000 / stream.sampleRate();
+        analyzedWindows.increment();
+
+        String filename = "stream_" + stream.locationLabel().replaceAll("[^\\w-]", "_") + "_" + windowEndMs + ".wav";
+        audioAnalysisService.analyzeStreamWindow(wav, filename, stream.locationLabel(), eventLabelSet)
+                .doFinally(signal -> stream.analyzing().set(false))
+                .subscribe(
+                        result -> result.ifPresent(detected -> sendDetection(stream, detected, windowEndMs)),
+                        error -> {
+                            failedWindows.increment();
+                            log.warn("스트리밍 창 분석 실패 - 세션: {}, 오류: {}", session.getId(), error.getMessage());
+                        });
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("스트리밍 전송 오류 - 세션: {}, 오류: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        AudioStream stream = streams.remove(session.getId());
+        if (stream != null) {
+            log.info("스트리밍 종료 - 세션: {}, 위치: {}, 수신 샘플: {}, 상태: {}",
+                    session.getId(), stream.locationLabel(), stream.ring().totalSamples(), status);
+        }
+    }
+
+    /**
+     * 스트리밍 지표 조회
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("activeSessions", streams.size());
+        metrics.put("maxSessions", maxSessions);
+        metrics.put("windowMs", windowMillis);
+        metrics.put("hopMs", hopMillis);
+        metrics.put("analyzedWindows", analyzedWindows.sum());
+        metrics.put("droppedWindows", droppedWindows.sum());
+        metrics.put("failedWindows", failedWindows.sum());
+        metrics.put("detections", detections.sum());
+        return metrics;
+    }
+
+    private void sendDetection(AudioStream stream, AudioAnalysisService.AnalysisResult result, long windowEndMs) {
+        detections.increment();
+        Event event = result.event();
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "detection");
+        payload.put("eventId", event.getId());
+        payload.put("eventType", event.getEventType());
+        payload.put("confidence", event.getConfidence());
+        payload.put("isDanger", result.aiResponse().getIsDanger());
+        payload.put("text", result.aiResponse().getText());
+        payload.put("windowEndMs", windowEndMs);
+        payload.put("detectedAt", LocalDateTime.now().toString());
+
+        try {
+            if (stream.session().isOpen()) {
+                stream.session().sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+            }
+        } catch (IOException e) {
+            log.debug("탐지 결과 전송 실패 - 세션: {}, 오류: {}", stream.session().getId(), e.getMessage());
+        }
+    }
+
+    // ADDED: 연결별 스트리밍 상태 (링 버퍼와 WAV 창 버퍼는 연결 시 한 번만 할당)
+    private record AudioStream(WebSocketSession session, String locationLabel, int sampleRate,
+                               PcmRingBuffer ring, byte[] wavBuffer, AtomicBoolean analyzing) {
+        AudioStream(WebSocketSession session, String locationLabel, int sampleRate, PcmRingBuffer ring, byte[] wavBuffer) {
+            this(session, locationLabel, sampleRate, ring, wavBuffer, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.Alertory.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// ADDED: 대시보드 실시간 푸시 (ws://.../ws/live?location=A구역,B구역 - location 생략 시 전체)
+// 메시지는 한 번만 직렬화해 구독자별 제한 큐에 넣기만 하고(발행 스레드는 막히지 않음), 전송은 구독자마다
+// 가상 스레드 하나가 순서대로 처리한다. 큐가 가득 찬 느린 구독자는 연결을 끊어 다른 구독자에 영향이 없게 한다.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveUpdateHandler extends TextWebSocketHandler {
+
+    private static final String SUBSCRIBER_ATTRIBUTE = "liveSubscriber";
+    private static final CloseStatus SLOW_CONSUMER = CloseStatus.SESSION_NOT_RELIABLE.withReason("slow consumer");
+
+    private final ObjectMapper objectMapper;
+
+    // ADDED: 구독자별 전송 대기 메시지 수 (초과 시 연결 종료)
+    @Value("${app.live.subscriber-queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.live.max-subscribers:500}")
+    private int maxSubscribers;
+
+    // ADDED: 유휴 타임아웃(app.stream.idle-timeout-ms)보다 짧은 주기의 ping 으로 조용한 연결 유지
+    @Value("${app.live.heartbeat-ms:25000}")
+    private long heartbeatMillis;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        heartbeat.scheduleAtFixedRate(() -> subscribers.values().forEach(subscriber -> enqueue(subscriber, new PingMessage())),
+                heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("실시간 구독 거부 - 최대 구독자 수 초과: {}", maxSubscribers);
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+            return;
+        }
+        String location = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst("location");
+        Set<String> locations = location == null ? Set.of() : Arrays.stream(location.split(","))
+                .map(label -> UriUtils.decode(label, StandardCharsets.UTF_8).trim())
+                .filter(label -> !label.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        Subscriber subscriber = new Subscriber(session, locations, new ArrayBlockingQueue<>(queueCapacity), new AtomicBoolean());
+        session.getAttributes().put(SUBSCRIBER_ATTRIBUTE, subscriber);
+        subscribers.put(session.getId(), subscriber);
+        log.info("실시간 구독 - 세션: {}, 위치: {}", session.getId(), locations.isEmpty() ? "전체" : locations);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        subscribers.remove(session.getId());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("실시간 구독 전송 오류 - 세션: {}, 오류: {}", session.getId(), exception.getMessage());
+    }
+
+    /**
+     * 구독자에게 발행 (locationLabel 이 null 이면 위치 필터와 관계없이 전체)
+     * payload 는 {"type": type, "location": locationLabel, "data": data} 로 한 번만 직렬화
+     */
+    public void broadcast(String type, String locationLabel, Object data) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", type);
+        payload.put("location", locationLabel);
+        payload.put("data", data);
+        TextMessage message;
+        try {
+            message = new TextMessage(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.warn("실시간 메시지 직렬화 실패 - {}: {}", type, e.getMessage());
+            return;
+        }
+
+        published.increment();
+        for (Subscriber subscriber : subscribers.values()) {
+            if (locationLabel == null || subscriber.locations().isEmpty()
+                    || subscriber.locations().contains(locationLabel)) {
+                enqueue(subscriber, message);
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("subscribers", subscribers.size());
+        metrics.put("maxSubscribers", maxSubscribers);
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("published", published.sum());
+        metrics.put("delivered", delivered.sum());
+        metrics.put("evicted", evicted.sum());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, WebSocketMessage<?> message) {
+        if (!subscriber.queue().offer(message)) {
+            evict(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    // 구독자당 전송 작업은 하나만 (WebSocketSession 은 동시 전송 불가)
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            WebSocketMessage<?> message;
+            while ((message = subscriber.queue().poll()) != null) {
+                if (!subscriber.session().isOpen()) {
+                    subscriber.queue().clear();
+                    return;
+                }
+                subscriber.session().sendMessage(message);
+                if (message instanceof TextMessage) {
+                    delivered.increment();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("실시간 메시지 전송 실패 - 세션: {}, 오류: {}", subscriber.session().getId(), e.getMessage());
+            subscribers.remove(subscriber.session().getId());
+            subscriber.queue().clear();
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // 마지막 poll 과 플래그 해제 사이에 들어온 메시지 처리
+        if (!subscriber.queue().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    // 느린 구독자 제거 (종료 처리는 막힐 수 있으므로 전송 스레드에서)
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.session().getId()) == null) {
+            return;
+        }
+        evicted.increment();
+        subscriber.queue().clear();
+        log.warn("실시간 구독 종료 - 느린 구독자: {}", subscriber.session().getId());
+        senders.execute(() -> {
+            try {
+                subscriber.session().close(SLOW_CONSUMER);
+            } catch (IOException e) {
+                log.debug("느린 구독자 연결 종료 실패 - 세션: {}", subscriber.session().getId());
+            }
+        });
+    }
+
+    // ADDED: 구독 연결 (위치 필터가 비어 있으면 전체 수신)
+    private record Subscriber(WebSocketSession session, Set<String> locations,
+                              BlockingQueue<WebSocketMessage<?>> queue, AtomicBoolean draining) {
+    }
+}
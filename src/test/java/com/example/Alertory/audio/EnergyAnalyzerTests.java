@@ -0,0 +1,59 @@
+package com.example.Alertory.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 에너지 게이트 무음 판정 (짧은 클립 / 긴 클립) 검증
+class EnergyAnalyzerTests {
+
+    private static final int BLOCK = EnergyAnalyzer.DEFAULT_BLOCK_FRAMES;
+    private static final double THRESHOLD = 0.01;
+    private static final int MIN_ACTIVE_BLOCKS = 10;
+
+    @Test
+    void shortLoudClipIsNotSilentEvenWithQuietBlocks() {
+        // 5블록 (약 0.23초) 중 비명 2블록, 나머지는 조용함 - 최소 활성 블록 수(10)보다 짧은 클립
+        EnergyAnalyzer.EnergyStats stats = EnergyAnalyzer.analyze(clip(0.0, 0.8, 0.8, 0.0, 0.0), BLOCK, THRESHOLD);
+
+        assertThat(stats.blockCount()).isEqualTo(5);
+        assertThat(stats.activeBlocks()).isEqualTo(2);
+        assertThat(stats.isSilent(MIN_ACTIVE_BLOCKS)).isFalse();
+    }
+
+    @Test
+    void shortClipWithoutAnyActiveBlockIsSilent() {
+        EnergyAnalyzer.EnergyStats stats = EnergyAnalyzer.analyze(clip(0.001, 0.002, 0.0), BLOCK, THRESHOLD);
+
+        assertThat(stats.isSilent(MIN_ACTIVE_BLOCKS)).isTrue();
+        assertThat(EnergyAnalyzer.analyze(clip(), BLOCK, THRESHOLD).isSilent(MIN_ACTIVE_BLOCKS)).isTrue();
+    }
+
+    @Test
+    void longClipNeedsMinimumActiveBlocks() {
+        double[] sparse = new double[30];
+        double[] sustained = new double[30];
+        for (int i = 0; i < 30; i++) {
+            sparse[i] = i < 9 ? 0.5 : 0.0;
+            sustained[i] = i < 10 ? 0.5 : 0.0;
+        }
+
+        assertThat(EnergyAnalyzer.analyze(clip(sparse), BLOCK, THRESHOLD).isSilent(MIN_ACTIVE_BLOCKS)).isTrue();
+        assertThat(EnergyAnalyzer.analyze(clip(sustained), BLOCK, THRESHOLD).isSilent(MIN_ACTIVE_BLOCKS)).isFalse();
+    }
+
+    // 블록마다 주어진 진폭의 1kHz 정현파 (16kHz 모노 16bit)
+    private static PcmAudio clip(double... blockAmplitudes) {
+        int frames = blockAmplitudes.length * BLOCK;
+        ByteBuffer data = ByteBuffer.allocate(frames * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            double amplitude = blockAmplitudes[i / BLOCK];
+            data.putShort((short) Math.round(Math.sin(2 * Math.PI * 1000 * i / 16000.0) * amplitude * 32767));
+        }
+        data.flip();
+        return new PcmAudio(16000, 1, 16, PcmAudio.Encoding.PCM_SIGNED, data);
+    }
+}
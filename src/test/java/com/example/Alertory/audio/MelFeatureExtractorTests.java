@@ -0,0 +1,83 @@
+package com.example.Alertory.audio;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// ADDED: MelFeatureExtractor 와 ai_server/src/feature_extractor.py 결과 동등성 검증
+class MelFeatureExtractorTests {
+
+    private static final int N_MELS = MelFeatureExtractor.N_MELS;
+
+    @Test
+    void sineToneHasExpectedCentroidAndZeroCrossingRate() {
+        float[] features = new MelFeatureExtractor().extract(sine(1000.0, MelFeatureExtractor.SAMPLE_RATE));
+
+        assertThat(features).hasSize(MelFeatureExtractor.FEATURE_SIZE);
+        // 1kHz 정현파: 중심 주파수 ≈ 1000Hz, 샘플당 교차율 ≈ 2 * 1000 / 22050
+        assertThat(features[N_MELS * 4]).isCloseTo(1000f, within(15f));
+        assertThat(features[N_MELS * 4 + 1]).isCloseTo(2000f / 22050f, within(0.002f));
+    }
+
+    @Test
+    void resampledInputMatchesNativeRate() {
+        MelFeatureExtractor extractor = new MelFeatureExtractor();
+        float[] nativeRate = extractor.extract(sine(1000.0, MelFeatureExtractor.SAMPLE_RATE));
+        float[] resampled = extractor.extract(sine(1000.0, 44100));
+
+        assertThat(resampled[N_MELS * 4]).isCloseTo(nativeRate[N_MELS * 4], within(5f));
+        assertThat(resampled[N_MELS * 4 + 1]).isCloseTo(nativeRate[N_MELS * 4 + 1], within(0.001f));
+    }
+
+    @Test
+    void matchesPythonFeatureExtractor() throws IOException {
+        // 기준값: ai_server/src/export_feature_fixture.py (librosa) 또는 reference_feature_fixture.py (표준 라이브러리) 로 생성
+        // CHANGED: 기준 파일은 저장소에 포함 - 없으면 건너뛰지 않고 실패
+        byte[] wav = readResource("/audio/feature_parity.wav");
+        byte[] expectedJson = readResource("/audio/feature_parity.json");
+        assertThat(wav).as("src/test/resources/audio/feature_parity.wav").isNotNull();
+        assertThat(expectedJson).as("src/test/resources/audio/feature_parity.json").isNotNull();
+
+        JsonNode expected = new ObjectMapper().readTree(expectedJson).path("features");
+        float[] actual = new MelFeatureExtractor().extract(WavDecoder.decode(ByteBuffer.wrap(wav)));
+
+        assertThat(expected.size()).isEqualTo(MelFeatureExtractor.FEATURE_SIZE);
+        for (int i = 0; i < actual.length; i++) {
+            double tolerance;
+            if (i < N_MELS * 2) {
+                tolerance = 0.05;  // log-mel 평균/표준편차 (dB)
+            } else if (i < N_MELS * 4) {
+                tolerance = 0.005; // delta / delta2 평균
+            } else if (i == N_MELS * 4) {
+                tolerance = 1.0;   // spectral centroid (Hz)
+            } else {
+                tolerance = 1e-4;  // ZCR
+            }
+            assertThat((double) actual[i]).as("feature[%d]", i).isCloseTo(expected.get(i).asDouble(), within(tolerance));
+        }
+    }
+
+    private static PcmAudio sine(double frequency, int sampleRate) {
+        int frames = sampleRate * MelFeatureExtractor.DURATION_SECONDS;
+        ByteBuffer data = ByteBuffer.allocate(frames * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            data.putShort((short) Math.round(Math.sin(2 * Math.PI * frequency * i / sampleRate) * 16000));
+        }
+        data.flip();
+        return new PcmAudio(sampleRate, 1, 16, PcmAudio.Encoding.PCM_SIGNED, data);
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = MelFeatureExtractorTests.class.getResourceAsStream(name)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+}
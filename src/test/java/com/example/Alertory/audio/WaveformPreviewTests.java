@@ -0,0 +1,63 @@
+package com.example.Alertory.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 파형 피크 / 스펙트로그램 미리보기 검증
+class WaveformPreviewTests {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    @Test
+    void peaksFollowAmplitudeAndPayloadStaysSmall() {
+        WaveformPreview preview = WaveformPreview.compute(sine(1000.0, 0.5, 3.0), 400, 64, 32);
+
+        assertThat(preview.durationMs()).isEqualTo(3000);
+        assertThat(preview.peakCount()).isEqualTo(400);
+        assertThat(preview.peaks()).hasSize(800);
+        for (int bucket = 0; bucket < preview.peakCount(); bucket++) {
+            assertThat((int) preview.peaks()[bucket * 2]).isBetween(-64, -60);
+            assertThat((int) preview.peaks()[bucket * 2 + 1]).isBetween(60, 64);
+        }
+        assertThat(preview.frames()).isEqualTo(64);
+        assertThat(preview.spectrogram()).hasSize(64 * 32);
+    }
+
+    @Test
+    void loudestSpectrogramBandContainsToneFrequency() {
+        WaveformPreview preview = WaveformPreview.compute(sine(1000.0, 0.5, 3.0), 400, 64, 32);
+
+        int frame = preview.frames() / 2;
+        int loudest = 0;
+        for (int band = 1; band < preview.bands(); band++) {
+            if ((preview.spectrogram()[frame * preview.bands() + band] & 0xFF)
+                    > (preview.spectrogram()[frame * preview.bands() + loudest] & 0xFF)) {
+                loudest = band;
+            }
+        }
+        // 32 mel 밴드 (0 ~ 8kHz, 밴드당 약 89 mel) 에서 1kHz(1000 mel) 는 11번 밴드
+        assertThat(loudest).isEqualTo(11);
+        assertThat(preview.spectrogram()[frame * preview.bands() + loudest] & 0xFF).isEqualTo(255);
+    }
+
+    @Test
+    void shortClipUsesFewerBuckets() {
+        WaveformPreview preview = WaveformPreview.compute(sine(1000.0, 0.5, 0.01), 400, 64, 32);
+
+        assertThat(preview.peakCount()).isEqualTo(160);
+        assertThat(preview.frames()).isEqualTo(1);
+    }
+
+    private static PcmAudio sine(double frequency, double amplitude, double seconds) {
+        int frames = (int) (SAMPLE_RATE * seconds);
+        ByteBuffer data = ByteBuffer.allocate(frames * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            data.putShort((short) Math.round(amplitude * 32767 * Math.sin(2 * Math.PI * frequency * i / SAMPLE_RATE)));
+        }
+        return new PcmAudio(SAMPLE_RATE, 1, 16, PcmAudio.Encoding.PCM_SIGNED, data.flip());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.Alertory.config;
+
+import com.example.Alertory.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: WebSocket 핸드셰이크 사용자 상태 검사 (ACTIVE 만 허용)
+class ActiveStatusHandshakeInterceptorTests {
+
+    private final ActiveStatusHandshakeInterceptor interceptor = new ActiveStatusHandshakeInterceptor();
+
+    @Test
+    void acceptsActiveUser() {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        boolean accepted = handshake(user(User.Status.ACTIVE), servletResponse);
+
+        assertThat(accepted).isTrue();
+        assertThat(servletResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void rejectsPendingAndSuspendedUsers() {
+        for (User.Status status : List.of(User.Status.PENDING, User.Status.SUSPENDED, User.Status.REJECTED)) {
+            MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+            boolean accepted = handshake(user(status), servletResponse);
+
+            assertThat(accepted).as(status.name()).isFalse();
+            assertThat(servletResponse.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+        }
+    }
+
+    @Test
+    void rejectsAnonymousAndUnknownPrincipals() {
+        MockHttpServletResponse anonymous = new MockHttpServletResponse();
+        assertThat(handshake(null, anonymous)).isFalse();
+        assertThat(anonymous.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+
+        MockHttpServletResponse unknown = new MockHttpServletResponse();
+        assertThat(handshake(UsernamePasswordAuthenticationToken.authenticated("device", null, List.of()), unknown)).isFalse();
+        assertThat(unknown.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    private boolean handshake(UsernamePasswordAuthenticationToken authentication, MockHttpServletResponse servletResponse) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/ws/audio");
+        servletRequest.setUserPrincipal(authentication);
+        return interceptor.beforeHandshake(new ServletServerHttpRequest(servletRequest),
+                new ServletServerHttpResponse(servletResponse), null, new HashMap<>());
+    }
+
+    private static UsernamePasswordAuthenticationToken user(User.Status status) {
+        User user = User.builder().username("manager@example.com").status(status).build();
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, List.of());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.Alertory.controller;
+
+import com.example.Alertory.dto.EventDto;
+import com.example.Alertory.service.AudioDownloadService;
+import com.example.Alertory.service.AudioPreviewService;
+import com.example.Alertory.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ADDED: 오디오 다운로드 응답 (206 / 416 / 304 / If-Range / sendfile 과 transferTo 전송) 검증
+class EventControllerAudioDownloadTests {
+
+    private static final String ETAG = "\"blob-7-v1\"";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    // 블롭 파일 안에서 이벤트 오디오가 시작하는 위치 (앞부분은 다른 이벤트의 오디오)
+    private static final int OFFSET = 6;
+    private static final String AUDIO = "0123456789abcdefghij";
+
+    @TempDir
+    Path tempDir;
+
+    private final EventService eventService = Mockito.mock(EventService.class);
+    private final AudioDownloadService audioDownloadService = Mockito.mock(AudioDownloadService.class);
+    private MockMvc mockMvc;
+    private Path blob;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blob = Files.writeString(tempDir.resolve("blob.bin"), "xxxxxx" + AUDIO + "yyyy", StandardCharsets.US_ASCII);
+        EventDto event = EventDto.builder().id(1L).audioBlobId(7L).build();
+        when(eventService.getEventById(1L)).thenReturn(event);
+        when(audioDownloadService.resolve(event)).thenReturn(Optional.of(new AudioDownloadService.AudioSource(
+                blob, OFFSET, AUDIO.length(), AudioDownloadService.AudioFormat.WAV, ETAG, 1_700_000_000_000L)));
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventController(
+                eventService, audioDownloadService, Mockito.mock(AudioPreviewService.class))).build();
+    }
+
+    @Test
+    void fullDownloadStreamsEventSliceThroughTransferTo() throws Exception {
+        mockMvc.perform(get("/api/events/1/audio"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, AUDIO.length()))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "audio/wav"))
+                .andExpect(content().string(AUDIO));
+    }
+
+    @Test
+    void singleRangeReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/events/1/audio").header(HttpHeaders.RANGE, "bytes=10-14"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-14/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("abcde"));
+
+        mockMvc.perform(get("/api/events/1/audio").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 17-19/20"))
+                .andExpect(content().string("hij"));
+    }
+
+    @Test
+    void rangePastEndIsNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/api/events/1/audio").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+        mockMvc.perform(get("/api/events/1/audio").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void staleIfRangeIgnoresRangeAndReturnsFullBody() throws Exception {
+        mockMvc.perform(get("/api/events/1/audio")
+                        .header(HttpHeaders.RANGE, "bytes=10-14")
+                        .header(HttpHeaders.IF_RANGE, "\"blob-7-v0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(AUDIO));
+
+        mockMvc.perform(get("/api/events/1/audio")
+                        .header(HttpHeaders.RANGE, "bytes=10-14")
+                        .header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("abcde"));
+    }
+
+    @Test
+    void sendfileCapableConnectorGetsFileRegionInsteadOfBody() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/events/1/audio")
+                        .requestAttr(SENDFILE_SUPPORT, Boolean.TRUE)
+                        .header(HttpHeaders.RANGE, "bytes=10-14"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", blob.toAbsolutePath().toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", (long) OFFSET + 10))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", (long) OFFSET + 15))
+                .andReturn();
+
+        // 본문은 커넥터가 파일에서 직접 보내므로 응답 버퍼에는 쓰지 않는다
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+}
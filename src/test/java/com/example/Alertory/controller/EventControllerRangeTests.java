@@ -0,0 +1,31 @@
+package com.example.Alertory.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 오디오 다운로드 Range 헤더 파싱 검증
+class EventControllerRangeTests {
+
+    @Test
+    void parsesSingleByteRanges() {
+        assertThat(EventController.parseRange("bytes=0-99", 1000)).isEqualTo(new EventController.ByteRange(0, 99));
+        assertThat(EventController.parseRange("bytes=900-", 1000)).isEqualTo(new EventController.ByteRange(900, 999));
+        assertThat(EventController.parseRange("bytes=-100", 1000)).isEqualTo(new EventController.ByteRange(900, 999));
+        assertThat(EventController.parseRange("bytes=500-2000", 1000)).isEqualTo(new EventController.ByteRange(500, 999));
+    }
+
+    @Test
+    void rangeStartingPastEndIsUnsatisfiable() {
+        assertThat(EventController.parseRange("bytes=1000-", 1000)).isSameAs(EventController.ByteRange.UNSATISFIABLE);
+        assertThat(EventController.parseRange("bytes=-0", 1000)).isSameAs(EventController.ByteRange.UNSATISFIABLE);
+    }
+
+    @Test
+    void malformedOrMultipleRangesAreIgnored() {
+        assertThat(EventController.parseRange("bytes=0-1,5-6", 1000)).isNull();
+        assertThat(EventController.parseRange("items=0-1", 1000)).isNull();
+        assertThat(EventController.parseRange("bytes=abc", 1000)).isNull();
+        assertThat(EventController.parseRange("bytes=10-5", 1000)).isNull();
+    }
+}
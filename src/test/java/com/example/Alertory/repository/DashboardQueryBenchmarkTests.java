@@ -0,0 +1,146 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.service.EventRollupService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 대시보드 조회 (위치별 최근 10건 / 상태별 건수) 지연 벤치마크 - 이벤트 1만 → 최대 건수까지 10배씩 늘리며 측정
+// 실행: ALERTORY_BENCHMARK=true ./gradlew test --tests '*DashboardQueryBenchmarkTests'
+// CHANGED: 기본 1천만 건까지 (파일 H2 사용, build/benchmark 에 수 GB 생성 - 줄이려면 ALERTORY_BENCHMARK_MAX_EVENTS)
+// 합계는 대시보드와 같이 위치 x 상태별 합계(event_location_totals)에서 읽으며, 삽입한 이벤트만큼 합계를 증감해 둔다.
+@DataJpaTest
+@Import(EventRollupService.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:file:./build/benchmark/dashboard;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfEnvironmentVariable(named = "ALERTORY_BENCHMARK", matches = "true")
+class DashboardQueryBenchmarkTests {
+
+    private static final int LOCATIONS = 20;
+    private static final String LOCATION = "구역-7";
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardQueryBenchmarkTests.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventHourlyRollupRepository rollupRepository;
+
+    @Autowired
+    private EventRollupService eventRollupService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void dashboardQueryLatencyStaysFlatAsEventsGrow() {
+        long maxEvents = Long.parseLong(System.getenv().getOrDefault("ALERTORY_BENCHMARK_MAX_EVENTS", "10000000"));
+        double firstRecent = -1;
+        double firstTotal = -1;
+        double firstAllTotal = -1;
+        double recent = 0;
+        double totalCount = 0;
+        double allTotalCount = 0;
+        long loaded = 0;
+
+        for (long size = 10_000; size <= maxEvents; size *= 10) {
+            insertEvents(loaded + 1, size);
+            loaded = size;
+
+            recent = medianMillis(() -> eventRepository.findTop10ByLocationLabelOrderByDetectedAtDesc(LOCATION));
+            totalCount = medianMillis(() -> eventRollupService.countByStatus(LOCATION));
+            allTotalCount = medianMillis(() -> eventRollupService.countByStatus(null));
+            log.info("events={} recent10={}ms totalCount={}ms allTotalCount={}ms", size,
+                    String.format("%.3f", recent), String.format("%.3f", totalCount), String.format("%.3f", allTotalCount));
+            if (firstRecent < 0) {
+                firstRecent = recent;
+                firstTotal = totalCount;
+                firstAllTotal = allTotalCount;
+            }
+
+            // 합계는 원본과 일치해야 한다
+            Map<Event.EventStatus, Long> counts = eventRollupService.countByStatus(LOCATION);
+            assertThat(counts.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(size / LOCATIONS);
+            assertThat(counts.getOrDefault(Event.EventStatus.NEW, 0L))
+                    .isEqualTo(eventRepository.countByLocationLabelAndStatus(LOCATION, Event.EventStatus.NEW));
+        }
+
+        // 인덱스 범위 조회 / 합계 행 조회는 테이블 크기와 무관해야 한다 (측정 오차를 감안해 1ms 또는 첫 측정의 5배 이내)
+        assertThat(recent).isLessThanOrEqualTo(Math.max(1.0, firstRecent * 5));
+        assertThat(totalCount).isLessThanOrEqualTo(Math.max(1.0, firstTotal * 5));
+        assertThat(allTotalCount).isLessThanOrEqualTo(Math.max(1.0, firstAllTotal * 5));
+    }
+
+    // 위치 20곳에 고르게, 1000건 중 1건만 미확인(NEW) 상태로 생성
+    private void insertEvents(long fromId, long toId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager.createNativeQuery(
+                "INSERT INTO events (id, event_type, location_label, confidence, status, detected_at) " +
+                "SELECT X, CASE WHEN MOD(X, 10) = 0 THEN 'SCREAM' ELSE 'NOISE' END, " +
+                "CONCAT('구역-', MOD(X, " + LOCATIONS + ")), 0.9, " +
+                "CASE WHEN MOD(X, 1000) = 0 THEN 'NEW' ELSE 'ACKNOWLEDGED' END, " +
+                "DATEADD(SECOND, X, TIMESTAMP '2026-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(?1, ?2)")
+                .setParameter(1, fromId)
+                .setParameter(2, toId)
+                .executeUpdate());
+
+        // 서비스가 이벤트 저장 시 하는 것처럼 위치 x 상태별 합계 증감 (삽입 구간을 묶어 한 번에)
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<?> rows = entityManager.createNativeQuery(
+                    "SELECT location_label, status, COUNT(*) FROM events WHERE id BETWEEN ?1 AND ?2 " +
+                    "GROUP BY location_label, status")
+                    .setParameter(1, fromId)
+                    .setParameter(2, toId)
+                    .getResultList();
+            for (Object row : rows) {
+                Object[] columns = (Object[]) row;
+                rollupRepository.upsertLocationTotal((String) columns[0],
+                        Event.EventStatus.valueOf((String) columns[1]), ((Number) columns[2]).longValue());
+            }
+        });
+    }
+
+    private static double medianMillis(Supplier<?> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+        double[] samples = new double[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            query.get();
+            samples[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_RUNS / 2];
+    }
+}
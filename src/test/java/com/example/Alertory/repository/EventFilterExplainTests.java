@@ -0,0 +1,173 @@
+package com.example.Alertory.repository;
+
+import com.example.Alertory.entity.Event;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 이벤트 목록 필터 조합별 실행 계획 검증 (H2)
+// Hibernate 가 만든 SQL 을 그대로 EXPLAIN 해서 주어진 필터 컬럼으로 시작하는 인덱스를 쓰는지 확인한다.
+// 기간은 시작 + 끝을 함께 준다 (한쪽만 열린 기간은 대부분 넓어서 전체 스캔이 맞는 선택일 수 있음).
+@DataJpaTest
+@TestPropertySource(properties = {
+    // 조건 값을 SQL 에 직접 넣어 캡처한 SQL 을 바인딩 없이 EXPLAIN
+    "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.Alertory.repository.EventFilterExplainTests$SqlCapture",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventFilterExplainTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int EVENTS = 2000;
+    private static final String[] TYPES = {"SCREAM", "NOISE", "NORMAL", "NOISE", "NORMAL"};
+
+    // 인덱스 → 첫 컬럼에 해당하는 필터
+    private static final Map<String, String> LEADING_FILTER = Map.of(
+            "idx_events_detected_at", "period",
+            "idx_events_location_detected_at", "location",
+            "idx_events_status_detected_at", "status",
+            "idx_events_status_location", "status",
+            "idx_events_type_detected_at", "eventType");
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    @Autowired
+    protected DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // 시간당 1건, 위치 20곳, HELP_REQUEST 2% / NEW 1% - 각 필터가 충분히 선택적이도록
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Event.builder()
+                    .eventType(i % 50 == 0 ? "HELP_REQUEST" : TYPES[i % TYPES.length])
+                    .locationLabel("구역-" + (i % 20))
+                    .confidence(0.9)
+                    .status(i % 100 == 0 ? Event.EventStatus.NEW : Event.EventStatus.ACKNOWLEDGED)
+                    .detectedAt(START.plusHours(i))
+                    .build());
+        }
+        eventRepository.saveAll(events);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(analyzeSql());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void everyFilterCombinationUsesAnIndexOnASuppliedFilter() throws SQLException {
+        // 유형 / 상태 / 위치 / 기간의 모든 조합 (15가지)
+        for (int mask = 1; mask < 16; mask++) {
+            boolean byType = (mask & 1) != 0;
+            boolean byStatus = (mask & 2) != 0;
+            boolean byLocation = (mask & 4) != 0;
+            boolean byPeriod = (mask & 8) != 0;
+            Set<String> supplied = new HashSet<>();
+            if (byType) {
+                supplied.add("eventType");
+            }
+            if (byStatus) {
+                supplied.add("status");
+            }
+            if (byLocation) {
+                supplied.add("location");
+            }
+            if (byPeriod) {
+                supplied.add("period");
+            }
+
+            String sql = captureSql(() -> eventRepository.findAll(EventSpecifications.filter(
+                    byType ? "HELP_REQUEST" : null,
+                    byStatus ? Event.EventStatus.NEW : null,
+                    byLocation ? "구역-7" : null,
+                    byPeriod ? START.plusHours(EVENTS - 48) : null,
+                    byPeriod ? START.plusHours(EVENTS - 24) : null),
+                    Sort.by(Sort.Order.desc("detectedAt"), Sort.Order.desc("id"))));
+            Set<String> indexes = usedIndexes(sql);
+
+            assertThat(indexes).as("%s → %s", supplied, sql).isNotEmpty();
+            for (String index : indexes) {
+                assertThat(supplied).as("%s uses %s", supplied, index).contains(LEADING_FILTER.get(index));
+            }
+        }
+    }
+
+    @Test
+    void emptyFilterEmitsNoWhereClause() {
+        String sql = captureSql(() -> eventRepository.findAll(EventSpecifications.filter(null, null, "", null, null)));
+
+        assertThat(sql.toLowerCase(Locale.ROOT)).doesNotContain(" where ");
+    }
+
+    protected String analyzeSql() {
+        return "ANALYZE";
+    }
+
+    // H2 계획의 "/* PUBLIC.IDX_...: 조건 */" 주석에서 인덱스 이름 (전체 스캔은 tableScan 이라 비어 있음)
+    protected Set<String> usedIndexes(String sql) throws SQLException {
+        Set<String> indexes = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            while (plan.next()) {
+                Matcher matcher = Pattern.compile("/\\* PUBLIC\\.(IDX_EVENTS_\\w+)").matcher(plan.getString(1));
+                while (matcher.find()) {
+                    indexes.add(matcher.group(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static String captureSql(Runnable query) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        return SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    // Hibernate 가 실행하는 SQL 기록
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.Alertory.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// ADDED: 같은 필터 조합 실행 계획 검증 (MySQL)
+// 실행: ALERTORY_MYSQL_URL=jdbc:mysql://localhost:3306/alertory_test ALERTORY_MYSQL_USER=... ALERTORY_MYSQL_PASSWORD=...
+//       ./gradlew test --tests '*MySqlEventFilterExplainTests'
+// 스키마를 create-drop 하므로 비워도 되는 테스트 전용 DB 를 지정할 것
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "ALERTORY_MYSQL_URL", matches = ".+")
+class MySqlEventFilterExplainTests extends EventFilterExplainTests {
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("ALERTORY_MYSQL_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("ALERTORY_MYSQL_USER", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("ALERTORY_MYSQL_PASSWORD", ""));
+        registry.add("spring.datasource.driverClassName", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+    }
+
+    @Override
+    protected String analyzeSql() {
+        return "ANALYZE TABLE events";
+    }
+
+    // EXPLAIN 의 key 컬럼 (전체 스캔이면 NULL)
+    @Override
+    protected Set<String> usedIndexes(String sql) throws SQLException {
+        Set<String> indexes = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            while (plan.next()) {
+                String key = plan.getString("key");
+                if (key != null) {
+                    // index_merge 는 "idx_a,idx_b"
+                    for (String index : key.split(",")) {
+                        indexes.add(index.trim().toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.UserActivityLog;
+import com.example.Alertory.repository.UserActivityLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ADDED: 활동 로그 지연 기록 (배치 저장 / 종료 시 비우기 / 종료 경합 / 큐 가득 참 정책) 검증
+class ActivityLogWriterTests {
+
+    private final UserActivityLogRepository repository = Mockito.mock(UserActivityLogRepository.class);
+    private final List<UserActivityLog> saved = new CopyOnWriteArrayList<>();
+    private ActivityLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.<List<UserActivityLog>>getArgument(0));
+            return null;
+        });
+        writer = new ActivityLogWriter(repository);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMillis", 20L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", ActivityLogWriter.OverflowPolicy.CALLER_RUNS);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMillis", 5000L);
+    }
+
+    @Test
+    void everySubmittedLogIsWrittenInBatchesByShutdown() throws InterruptedException {
+        writer.start();
+        for (int i = 0; i < 95; i++) {
+            writer.submit(entry("user" + i));
+        }
+        writer.shutdown();
+
+        assertThat(saved).hasSize(95);
+        assertThat(saved.get(0).getUsername()).isEqualTo("user0");
+        verify(repository, never()).save(any());
+        assertThat((Long) writer.getMetrics().get("batches")).isGreaterThanOrEqualTo(10L);
+    }
+
+    @Test
+    void fullQueueFallsBackToCallerOrDropsByPolicy() {
+        // writer 스레드 없이 용량 1 큐만 두고 가득 찬 상태 재현
+        ReflectionTestUtils.setField(writer, "queue", new ArrayBlockingQueue<UserActivityLog>(1));
+        ReflectionTestUtils.setField(writer, "running", true);
+
+        writer.submit(entry("queued"));
+        writer.submit(entry("caller"));
+        ReflectionTestUtils.setField(writer, "overflowPolicy", ActivityLogWriter.OverflowPolicy.DROP);
+        writer.submit(entry("dropped"));
+
+        verify(repository, times(1)).save(any());
+        assertThat(writer.getMetrics()).containsEntry("callerRuns", 1L).containsEntry("dropped", 1L);
+    }
+
+    @Test
+    void logEnqueuedAfterShutdownFlushIsStillWritten() throws InterruptedException {
+        // running 확인과 offer 사이에 shutdown (writer 종료 + 마지막 비우기) 이 끝나는 경합 재현
+        writer.start();
+        ArrayBlockingQueue<UserActivityLog> racingQueue = new ArrayBlockingQueue<>(1000) {
+            @Override
+            public boolean offer(UserActivityLog entry) {
+                try {
+                    writer.shutdown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.offer(entry);
+            }
+        };
+        ReflectionTestUtils.setField(writer, "queue", racingQueue);
+
+        writer.submit(entry("late"));
+
+        assertThat(saved).extracting(UserActivityLog::getUsername).containsExactly("late");
+        assertThat(racingQueue).isEmpty();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void failedBatchFallsBackToRowByRowSoOneBadLogDoesNotDropTheRest() throws InterruptedException {
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("batch rolled back"));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            UserActivityLog entry = invocation.getArgument(0);
+            if (entry.getUsername().equals("bad")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            saved.add(entry);
+            return entry;
+        });
+        ReflectionTestUtils.setField(writer, "queue", new ArrayBlockingQueue<UserActivityLog>(100));
+        ReflectionTestUtils.setField(writer, "running", true);
+        for (int i = 0; i < 5; i++) {
+            writer.submit(entry(i == 2 ? "bad" : "user" + i));
+        }
+        UserActivityLog preassigned = entry("user5");
+        preassigned.setId(42L);
+        writer.submit(preassigned);
+
+        // writer 스레드 없이 종료 경로의 비우기만 실행
+        ReflectionTestUtils.setField(writer, "running", false);
+        ReflectionTestUtils.invokeMethod(writer, "flushRemaining");
+
+        assertThat(saved).extracting(UserActivityLog::getUsername)
+                .containsExactly("user0", "user1", "user3", "user4", "user5");
+        assertThat(preassigned.getId()).isNull();
+        assertThat(writer.getMetrics()).containsEntry("written", 5L).containsEntry("failed", 1L);
+    }
+
+    private static UserActivityLog entry(String username) {
+        return UserActivityLog.builder()
+                .userId(1L)
+                .username(username)
+                .action("LOGIN")
+                .ipAddress("127.0.0.1")
+                .userAgent("test")
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.AiAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 로컬 스텁 /predict/batch 엔드포인트로 마이크로 배처 동작 검증
+class AiBatchClientTests {
+
+    private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]+)\"");
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer stubServer;
+    private final AtomicInteger batchRequests = new AtomicInteger();
+    private AiBatchClient batchClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 스텁 배치 엔드포인트: 수신한 파일명 순서대로 text 에 담아 응답
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/predict/batch", exchange -> {
+            batchRequests.incrementAndGet();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+            Matcher matcher = FILENAME.matcher(body);
+            List<String> results = new ArrayList<>();
+            while (matcher.find()) {
+                results.add("{\"label\":\"SCREAM\",\"confidence\":91.0,\"text\":\"" + matcher.group(1)
+                        + "\",\"is_danger\":true}");
+            }
+            byte[] response = ("{\"results\":[" + String.join(",", results) + "]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stubServer.start();
+
+        AiEndpointPool endpointPool = new AiEndpointPool(WebClient.create());
+        ReflectionTestUtils.setField(endpointPool, "aiServerUrl",
+                "http://localhost:" + stubServer.getAddress().getPort());
+        endpointPool.init();
+
+        AiServerClient serverClient = new AiServerClient(
+                WebClient.create(), WebClient.create(), new ObjectMapper(), new AiServerGuard(), endpointPool);
+
+        batchClient = new AiBatchClient(serverClient);
+        ReflectionTestUtils.setField(batchClient, "enabled", true);
+        ReflectionTestUtils.setField(batchClient, "maxBatchSize", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchClient.shutdown();
+        stubServer.stop(0);
+    }
+
+    @Test
+    void sendsOneBatchWhenMaxSizeReachedAndFansOutResultsInOrder() throws IOException {
+        ReflectionTestUtils.setField(batchClient, "windowMillis", 5_000L);
+        List<AudioIngestService.StoredAudio> clips = createClips(4);
+
+        List<AiAnalysisResponse> responses = Flux.fromIterable(clips)
+                .flatMapSequential(batchClient::submit)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(batchRequests.get()).isEqualTo(1);
+        assertThat(responses).extracting(AiAnalysisResponse::getText)
+                .containsExactly("clip-0.wav", "clip-1.wav", "clip-2.wav", "clip-3.wav");
+
+        Map<String, Object> metrics = batchClient.getMetrics();
+        assertThat(metrics.get("batches")).isEqualTo(1L);
+        assertThat(metrics.get("avgBatchSize")).isEqualTo(4.0);
+    }
+
+    @Test
+    void flushesPartialBatchWhenWindowExpires() throws IOException {
+        ReflectionTestUtils.setField(batchClient, "windowMillis", 50L);
+        List<AudioIngestService.StoredAudio> clips = createClips(2);
+
+        List<AiAnalysisResponse> responses = Flux.fromIterable(clips)
+                .flatMapSequential(batchClient::submit)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertThat(batchRequests.get()).isEqualTo(1);
+        assertThat(responses).hasSize(2);
+        assertThat(batchClient.getMetrics().get("maxObservedBatchSize")).isEqualTo(2L);
+    }
+
+    private List<AudioIngestService.StoredAudio> createClips(int count) throws IOException {
+        List<AudioIngestService.StoredAudio> clips = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = "clip-" + i + ".wav";
+            Path path = Files.write(tempDir.resolve(name), new byte[]{1, 2, 3, (byte) i});
+            clips.add(new AudioIngestService.StoredAudio(path, name, 4, null));
+        }
+        return clips;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 복제본 수동 제외 (서버 장애만 연속 실패로 집계) 검증
+class AiEndpointPoolTests {
+
+    private AiEndpointPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new AiEndpointPool(WebClient.create());
+        ReflectionTestUtils.setField(pool, "aiServerUrl", "http://ai-1:8001");
+        ReflectionTestUtils.setField(pool, "aiServerUrls", "");
+        ReflectionTestUtils.setField(pool, "unhealthyThreshold", 2);
+        ReflectionTestUtils.setField(pool, "healthyThreshold", 2);
+        ReflectionTestUtils.setField(pool, "passiveFailureThreshold", 3);
+        ReflectionTestUtils.invokeMethod(pool, "init");
+    }
+
+    @Test
+    void clientErrorsDoNotEjectEndpoint() {
+        for (int i = 0; i < 5; i++) {
+            call(WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+            call(new AiServerException("AI 분석 서버가 요청을 처리할 수 없습니다.", 422));
+        }
+
+        assertThat(endpoint()).containsEntry("healthy", true).containsEntry("failures", 0L).containsEntry("ejections", 0L);
+    }
+
+    @Test
+    void consecutiveServerFailuresEjectEndpointAndClientErrorResetsStreak() {
+        call(new AiServerException("AI 분석 서버에서 오류가 발생했습니다.", 502, true));
+        call(new AiServerException("AI 분석 서버에 연결할 수 없습니다.", 503, true));
+        call(new AiServerException("AI 분석 서버가 요청을 처리할 수 없습니다.", 400));
+        call(new AiServerException("AI 분석 서버 응답 시간이 초과되었습니다.", 504, true));
+        call(new AiServerException("AI 분석 서버 응답 시간이 초과되었습니다.", 504, true));
+        assertThat(endpoint()).containsEntry("healthy", true);
+
+        call(WebClientResponseException.create(500, "Internal Server Error", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+
+        assertThat(endpoint()).containsEntry("healthy", false).containsEntry("failures", 5L).containsEntry("ejections", 1L);
+    }
+
+    @Test
+    void hungReplicaIsPenalisedWhenCallTimesOut() {
+        ReflectionTestUtils.setField(pool, "callTimeoutMillis", 50L);
+        ReflectionTestUtils.setField(pool, "aiServerUrls", "http://ai-1:8001,http://ai-2:8001");
+        ReflectionTestUtils.invokeMethod(pool, "init");
+
+        // ai-1 은 응답하지 않음 - route 의 호출 시간 초과가 TimeoutException 으로 끝냄
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            pool.route(url -> url.contains("ai-1") ? Mono.<String>never() : Mono.just(url))
+                    .onErrorResume(TimeoutException.class, e -> Mono.empty())
+                    .doOnNext(served::add)
+                    .block(Duration.ofSeconds(5));
+        }
+
+        Map<String, Object> hung = pool.getMetrics().get(0);
+        assertThat(hung).containsEntry("url", "http://ai-1:8001").containsEntry("inFlight", 0);
+        assertThat((Long) hung.get("requests")).isLessThanOrEqualTo(3L);
+        assertThat(hung.get("failures")).isEqualTo(hung.get("requests"));
+        assertThat((Double) hung.get("ewmaLatencyMs")).isGreaterThanOrEqualTo(40.0);
+        assertThat(served).hasSize(10 - ((Long) hung.get("requests")).intValue())
+                .containsOnly("http://ai-2:8001");
+    }
+
+    @Test
+    void consecutiveTimeoutsEjectSingleHungReplica() {
+        ReflectionTestUtils.setField(pool, "callTimeoutMillis", 20L);
+        for (int i = 0; i < 3; i++) {
+            pool.route(url -> Mono.<String>never())
+                    .onErrorResume(TimeoutException.class, e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+
+        assertThat(endpoint()).containsEntry("healthy", false).containsEntry("failures", 3L)
+                .containsEntry("ejections", 1L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void cancelledSiblingWindowsDoNotCountAgainstReplica() {
+        ReflectionTestUtils.setField(pool, "callTimeoutMillis", 5_000L);
+        // 긴 녹음 창 분석처럼 flatMap 으로 동시에 보낸 창 중 하나가 4xx 로 실패하면 나머지 창은 취소됨
+        for (int clip = 0; clip < 5; clip++) {
+            Flux.range(0, 4)
+                    .flatMap(window -> pool.route(url -> window == 3
+                            ? Mono.<String>error(new AiServerException("AI 분석 서버가 요청을 처리할 수 없습니다.", 502))
+                            : Mono.<String>never()), 4)
+                    .collectList()
+                    .onErrorResume(e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+
+        assertThat(endpoint()).containsEntry("healthy", true).containsEntry("failures", 0L)
+                .containsEntry("ejections", 0L).containsEntry("inFlight", 0).containsEntry("requests", 20L);
+    }
+
+    private void call(Throwable error) {
+        pool.route(url -> Mono.error(error)).onErrorResume(e -> Mono.empty()).block();
+    }
+
+    private Map<String, Object> endpoint() {
+        return pool.getMetrics().get(0);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.Alertory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+// ADDED: AI 서버 4xx 응답이 업로더에게 그대로 전달되지 않는지 검증
+class AiServerClientTests {
+
+    private HttpServer stubServer;
+    private final AtomicInteger stubStatus = new AtomicInteger();
+    private AiServerClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/predict/features", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(stubStatus.get(), -1);
+            exchange.close();
+        });
+        stubServer.start();
+
+        AiEndpointPool endpointPool = new AiEndpointPool(WebClient.create());
+        ReflectionTestUtils.setField(endpointPool, "aiServerUrl",
+                "http://localhost:" + stubServer.getAddress().getPort());
+        endpointPool.init();
+
+        client = new AiServerClient(
+                WebClient.create(), WebClient.create(), new ObjectMapper(), new AiServerGuard(), endpointPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void aiClientErrorsReachTheCallerAsBadGatewayWithoutCountingAsServerFailure() {
+        for (int status : new int[]{401, 404, 405, 413}) {
+            stubStatus.set(status);
+
+            AiServerException error = catchThrowableOfType(AiServerException.class,
+                    () -> client.await(client.predictFeatures("clip.wav", new float[]{0f, 1f})));
+
+            assertThat(error.getStatusCode()).as("AI %d", status).isEqualTo(502);
+            assertThat(error.isServerFailure()).as("AI %d", status).isFalse();
+        }
+    }
+
+    @Test
+    void aiServerErrorsCountAsServerFailure() {
+        stubStatus.set(500);
+
+        AiServerException error = catchThrowableOfType(AiServerException.class,
+                () -> client.await(client.predictFeatures("clip.wav", new float[]{0f, 1f})));
+
+        assertThat(error.getStatusCode()).isEqualTo(502);
+        assertThat(error.isServerFailure()).isTrue();
+    }
+}
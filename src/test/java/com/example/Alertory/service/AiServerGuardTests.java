@@ -0,0 +1,110 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+// ADDED: AI 호출 보호 (동시성 제한 / 서킷 브레이커) 동작 검증
+class AiServerGuardTests {
+
+    private AiServerGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new AiServerGuard();
+        ReflectionTestUtils.setField(guard, "enabled", true);
+        ReflectionTestUtils.setField(guard, "initialLimit", 2);
+        ReflectionTestUtils.setField(guard, "minLimit", 1);
+        ReflectionTestUtils.setField(guard, "maxLimit", 10);
+        ReflectionTestUtils.setField(guard, "latencyTolerance", 1.5);
+        ReflectionTestUtils.setField(guard, "backoffRatio", 0.9);
+        ReflectionTestUtils.setField(guard, "windowSize", 10);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(guard, "openMillis", 60_000L);
+        ReflectionTestUtils.setField(guard, "halfOpenCalls", 1);
+    }
+
+    @Test
+    void rejectsCallsBeyondConcurrencyLimit() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        guard.protect(first.asMono()).subscribe();
+        guard.protect(second.asMono()).subscribe();
+
+        assertThat(errorOf(guard.protect(Mono.just("third"))))
+                .isInstanceOf(AiServerException.class)
+                .extracting("statusCode").isEqualTo(503);
+        assertThat(guard.getMetrics()).containsEntry("limitRejections", 1L);
+
+        first.tryEmitValue("done");
+        assertThat(guard.protect(Mono.just("fourth")).block()).isEqualTo("fourth");
+    }
+
+    @Test
+    void opensCircuitAfterFailuresAndFailsFastWithoutCallingServer() {
+        for (int i = 0; i < 4; i++) {
+            Mono<String> failing = Mono.error(new AiServerException("down", 502, true));
+            assertThat(errorOf(guard.protect(failing))).isInstanceOf(AiServerException.class);
+        }
+        assertThat(guard.getMetrics()).containsEntry("circuitState", "OPEN");
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> {
+            subscriptions.incrementAndGet();
+            return "ok";
+        });
+        assertThat(errorOf(guard.protect(call)))
+                .isInstanceOf(AiServerException.class)
+                .extracting("statusCode").isEqualTo(503);
+        assertThat(subscriptions).hasValue(0);
+        assertThat(guard.getMetrics()).containsEntry("circuitRejections", 1L);
+    }
+
+    @Test
+    void halfOpenTrialSuccessClosesCircuit() {
+        ReflectionTestUtils.setField(guard, "openMillis", 0L);
+        for (int i = 0; i < 4; i++) {
+            Mono<String> failing = Mono.error(new AiServerException("down", 502, true));
+            assertThat(errorOf(guard.protect(failing))).isInstanceOf(AiServerException.class);
+        }
+
+        assertThat(guard.protect(Mono.just("recovered")).block()).isEqualTo("recovered");
+        assertThat(guard.getMetrics()).containsEntry("circuitState", "CLOSED");
+    }
+
+    @Test
+    void clientErrorsPassThroughWithoutOpeningCircuit() {
+        for (int i = 0; i < 6; i++) {
+            Mono<String> badRequest = Mono.error(WebClientResponseException.create(
+                    400, "Bad Request", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+            assertThat(errorOf(guard.protect(badRequest)))
+                    .isInstanceOfSatisfying(WebClientResponseException.class,
+                            error -> assertThat(error.getStatusCode().value()).isEqualTo(400));
+            Mono<String> unreadable = Mono.error(new AiServerException("bad json", 502));
+            assertThat(errorOf(guard.protect(unreadable))).isInstanceOf(AiServerException.class);
+        }
+
+        assertThat(guard.getMetrics())
+                .containsEntry("circuitState", "CLOSED")
+                .containsEntry("failures", 0L)
+                .containsEntry("nonServerErrors", 12L);
+        assertThat(guard.protect(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    // AiServerException 은 checked 예외라 block() 이 감싸서 던지므로 풀어서 확인
+    private static Throwable errorOf(Mono<?> mono) {
+        return Exceptions.unwrap(catchThrowable(mono::block));
+    }
+}
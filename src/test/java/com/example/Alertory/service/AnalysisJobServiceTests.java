@@ -0,0 +1,141 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ADDED: 비동기 분석 작업 (대기 작업 수 제한 / 상태 전이 / 보관 시간 만료) 검증
+class AnalysisJobServiceTests {
+
+    private final AudioAnalysisService audioAnalysisService = Mockito.mock(AudioAnalysisService.class);
+    private final AudioIngestService audioIngestService = Mockito.mock(AudioIngestService.class);
+    private AnalysisJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new AnalysisJobService(audioAnalysisService, audioIngestService);
+        ReflectionTestUtils.setField(jobService, "maxPendingJobs", 2);
+        ReflectionTestUtils.setField(jobService, "resultTtlMinutes", 30L);
+    }
+
+    @Test
+    void pendingJobCompletesWithResult() throws AiServerException {
+        Sinks.One<AudioAnalysisService.AnalysisResult> analysis = Sinks.one();
+        when(audioAnalysisService.analyzeAsync(any(), anyString())).thenReturn(analysis.asMono());
+
+        AnalysisJobService.AnalysisJob job = jobService.submit(clip("a.wav"), "A구역", "manager@example.com");
+
+        assertThat(lookup(job)).isEqualTo(AnalysisJobService.JobStatus.PENDING);
+        assertThat(job.getCompletedAt()).isNull();
+        assertThat(jobService.getPendingJobCount()).isEqualTo(1);
+
+        AudioAnalysisService.AnalysisResult result = new AudioAnalysisService.AnalysisResult(
+                Event.builder().id(1L).locationLabel("A구역").build(), null,
+                AudioAnalysisService.ResultSource.AI_SERVER);
+        analysis.tryEmitValue(result);
+
+        assertThat(lookup(job)).isEqualTo(AnalysisJobService.JobStatus.COMPLETED);
+        assertThat(job.getResult()).isSameAs(result);
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(jobService.getPendingJobCount()).isZero();
+    }
+
+    @Test
+    void failedJobKeepsAiStatusCodeAndHidesInternalErrors() throws AiServerException {
+        when(audioAnalysisService.analyzeAsync(any(), anyString()))
+                .thenReturn(Mono.error(new AiServerException("AI 분석 서버에 연결할 수 없습니다.", 503, true)))
+                .thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        AnalysisJobService.AnalysisJob aiFailure = jobService.submit(clip("a.wav"), "A구역", "manager@example.com");
+        AnalysisJobService.AnalysisJob internalFailure = jobService.submit(clip("b.wav"), "A구역", "manager@example.com");
+
+        assertThat(lookup(aiFailure)).isEqualTo(AnalysisJobService.JobStatus.FAILED);
+        assertThat(aiFailure.getErrorStatusCode()).isEqualTo(503);
+        assertThat(aiFailure.getErrorMessage()).isEqualTo("AI 분석 서버에 연결할 수 없습니다.");
+        assertThat(lookup(internalFailure)).isEqualTo(AnalysisJobService.JobStatus.FAILED);
+        assertThat(internalFailure.getErrorStatusCode()).isEqualTo(500);
+        assertThat(internalFailure.getErrorMessage()).isEqualTo("서버 내부 오류가 발생했습니다.");
+        assertThat(jobService.getPendingJobCount()).isZero();
+    }
+
+    @Test
+    void jobIsVisibleOnlyToItsRequester() throws AiServerException {
+        when(audioAnalysisService.analyzeAsync(any(), anyString())).thenReturn(Mono.never());
+
+        AnalysisJobService.AnalysisJob job = jobService.submit(clip("a.wav"), "A구역", "manager@example.com");
+
+        assertThat(jobService.findJob(job.getJobId(), "other@example.com")).isEmpty();
+        assertThat(jobService.findJob("unknown", "manager@example.com")).isEmpty();
+    }
+
+    @Test
+    void submissionsBeyondPendingCapAreRejectedAndDiscarded() throws AiServerException {
+        Sinks.One<AudioAnalysisService.AnalysisResult> first = Sinks.one();
+        when(audioAnalysisService.analyzeAsync(any(), anyString()))
+                .thenReturn(first.asMono())
+                .thenReturn(Mono.never())
+                .thenReturn(Mono.empty());
+        jobService.submit(clip("a.wav"), "A구역", "manager@example.com");
+        jobService.submit(clip("b.wav"), "A구역", "manager@example.com");
+
+        AudioIngestService.StoredAudio rejected = clip("c.wav");
+        AiServerException error = catchThrowableOfType(AiServerException.class,
+                () -> jobService.submit(rejected, "A구역", "manager@example.com"));
+
+        assertThat(error.getStatusCode()).isEqualTo(503);
+        verify(audioIngestService).discard(rejected);
+        assertThat(jobService.getPendingJobCount()).isEqualTo(2);
+
+        // 대기 작업이 끝나면 다시 받음
+        first.tryEmitError(new IllegalStateException("done"));
+        AudioIngestService.StoredAudio accepted = clip("d.wav");
+        jobService.submit(accepted, "A구역", "manager@example.com");
+        verify(audioIngestService, never()).discard(accepted);
+    }
+
+    @Test
+    void finishedJobsExpireAfterTtlOnNextSweep() throws AiServerException {
+        when(audioAnalysisService.analyzeAsync(any(), anyString()))
+                .thenReturn(Mono.error(new AiServerException("AI 분석 서버에 연결할 수 없습니다.", 503, true)))
+                .thenReturn(Mono.error(new AiServerException("AI 분석 서버에 연결할 수 없습니다.", 503, true)))
+                .thenReturn(Mono.never());
+        AnalysisJobService.AnalysisJob expired = jobService.submit(clip("a.wav"), "A구역", "manager@example.com");
+        AnalysisJobService.AnalysisJob recent = jobService.submit(clip("b.wav"), "A구역", "manager@example.com");
+        ReflectionTestUtils.setField(expired, "completedAt", LocalDateTime.now().minusMinutes(31));
+        ReflectionTestUtils.setField(recent, "completedAt", LocalDateTime.now().minusMinutes(29));
+
+        // 정리는 최대 1분에 한 번 - 아직 간격이 지나지 않았으면 남아 있음
+        jobService.submit(clip("c.wav"), "A구역", "manager@example.com");
+        assertThat(jobService.findJob(expired.getJobId(), "manager@example.com")).isPresent();
+
+        ReflectionTestUtils.setField(jobService, "lastSweepAt", LocalDateTime.now().minusMinutes(2));
+        AnalysisJobService.AnalysisJob pending = jobService.submit(clip("d.wav"), "A구역", "manager@example.com");
+
+        assertThat(jobService.findJob(expired.getJobId(), "manager@example.com")).isEmpty();
+        assertThat(jobService.findJob(recent.getJobId(), "manager@example.com")).isPresent();
+        assertThat(jobService.findJob(pending.getJobId(), "manager@example.com")).isPresent();
+    }
+
+    private AnalysisJobService.JobStatus lookup(AnalysisJobService.AnalysisJob job) {
+        return jobService.findJob(job.getJobId(), job.getRequestedBy()).orElseThrow().getStatus();
+    }
+
+    private static AudioIngestService.StoredAudio clip(String name) {
+        return new AudioIngestService.StoredAudio(Path.of(name), name, 4, null);
+    }
+}
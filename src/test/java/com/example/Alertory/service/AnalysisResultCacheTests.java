@@ -0,0 +1,82 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.AiAnalysisResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 분석 결과 캐시 (LRU 제거 / TTL 만료 / 비활성화) 검증
+class AnalysisResultCacheTests {
+
+    private final AiAnalysisResponse response = Mockito.mock(AiAnalysisResponse.class);
+    private AnalysisResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AnalysisResultCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 10L);
+    }
+
+    @Test
+    void hitReturnsStoredResponseAndBlob() {
+        cache.put("hash-a", response, 7L);
+
+        assertThat(cache.get("hash-a")).hasValueSatisfying(cached -> {
+            assertThat(cached.response()).isSameAs(response);
+            assertThat(cached.audioBlobId()).isEqualTo(7L);
+        });
+        assertThat(cache.get("hash-b")).isEmpty();
+        assertThat(cache.get(null)).isEmpty();
+        assertThat(cache.getMetrics()).containsEntry("hits", 1L).containsEntry("misses", 1L).containsEntry("hitRate", 0.5);
+    }
+
+    @Test
+    void overflowEvictsLeastRecentlyUsedEntry() {
+        cache.put("hash-a", response, 1L);
+        cache.put("hash-b", response, 2L);
+        cache.get("hash-a"); // a 를 최근 사용으로 만들어 b 가 가장 오래된 항목이 됨
+
+        cache.put("hash-c", response, 3L);
+
+        assertThat(cache.get("hash-b")).isEmpty();
+        assertThat(cache.get("hash-a")).isPresent();
+        assertThat(cache.get("hash-c")).isPresent();
+        assertThat(cache.getMetrics()).containsEntry("size", 2).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    void expiredEntryIsRemovedOnLookup() {
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 0L);
+        cache.put("hash-a", response, 1L);
+
+        assertThat(cache.get("hash-a")).isEmpty();
+        assertThat(cache.getMetrics()).containsEntry("size", 0).containsEntry("expirations", 1L)
+                .containsEntry("hits", 0L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void expiredEntriesAreCountedAsExpirationsWhenEvictedByOverflow() {
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 0L);
+        cache.put("hash-a", response, 1L);
+        cache.put("hash-b", response, 2L);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 10L);
+
+        cache.put("hash-c", response, 3L);
+
+        assertThat(cache.getMetrics()).containsEntry("size", 2).containsEntry("evictions", 0L).containsEntry("expirations", 1L);
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        cache.put("hash-a", response, 1L);
+
+        assertThat(cache.get("hash-a")).isEmpty();
+        assertThat(cache.getMetrics()).containsEntry("size", 0).containsEntry("misses", 0L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.AiAnalysisResponse;
+import com.example.Alertory.entity.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// ADDED: 캐시 적중 시 이벤트 저장 (기존 오디오 blob 재사용 / 재사용 불가 시 새로 저장) 검증
+class AudioAnalysisServiceCacheTests {
+
+    private final EventService eventService = Mockito.mock(EventService.class);
+    private final AiServerClient aiServerClient = Mockito.mock(AiServerClient.class);
+    private final AnalysisResultCache analysisResultCache = Mockito.mock(AnalysisResultCache.class);
+    private final AudioIngestService audioIngestService = Mockito.mock(AudioIngestService.class);
+    private final AudioBlobStore audioBlobStore = Mockito.mock(AudioBlobStore.class);
+    private final EnergyGateService energyGateService = Mockito.mock(EnergyGateService.class);
+    private final AiAnalysisResponse response = Mockito.mock(AiAnalysisResponse.class);
+    private final AudioIngestService.StoredAudio upload =
+            new AudioIngestService.StoredAudio(Path.of("upload.wav"), "upload.wav", 4, "hash-a");
+    private AudioAnalysisService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AudioAnalysisService(eventService, Mockito.mock(NotificationService.class), aiServerClient,
+                Mockito.mock(AiBatchClient.class), analysisResultCache, audioIngestService, audioBlobStore,
+                energyGateService, Mockito.mock(SettingsService.class), Mockito.mock(AudioFeatureService.class),
+                Mockito.mock(AudioWindowingService.class), Mockito.mock(InferencePriorityScheduler.class),
+                new ObjectMapper(), Schedulers.immediate());
+        ReflectionTestUtils.setField(service, "windowEventMode", "single");
+        ReflectionTestUtils.setField(service, "detectionLabels", "SCREAM,HELP_REQUEST");
+        service.init();
+
+        when(energyGateService.detectSilence(any(AudioIngestService.StoredAudio.class))).thenReturn(Optional.empty());
+        when(eventService.saveDetectedEvent(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(response.getLabel()).thenReturn("SCREAM");
+        when(response.getConfidence()).thenReturn(91.0);
+        when(analysisResultCache.get("hash-a"))
+                .thenReturn(Optional.of(new AnalysisResultCache.CachedResult(response, 7L, Long.MAX_VALUE)));
+    }
+
+    @Test
+    void reusesCachedBlobAndDiscardsUpload() throws Exception {
+        when(analysisResultCache.isReuseAudioFile()).thenReturn(true);
+        when(audioBlobStore.exists(7L)).thenReturn(true);
+
+        AudioAnalysisService.AnalysisResult result = service.analyze(upload, "A구역");
+
+        assertThat(result.source()).isEqualTo(AudioAnalysisService.ResultSource.CACHE);
+        assertThat(result.event().getAudioBlobId()).isEqualTo(7L);
+        assertThat(result.event().getEventType()).isEqualTo("SCREAM");
+        verify(audioIngestService).discard(upload);
+        verify(audioBlobStore, never()).append(any(Path.class));
+        verifyNoInteractions(aiServerClient);
+    }
+
+    @Test
+    void storesUploadWhenCachedBlobWasAlreadyDeleted() throws Exception {
+        // 보존 기간 정리 등으로 캐시가 가리키는 blob 이 이미 삭제된 경우
+        when(analysisResultCache.isReuseAudioFile()).thenReturn(true);
+        when(audioBlobStore.exists(7L)).thenReturn(false);
+        when(audioBlobStore.append(upload.path())).thenReturn(42L);
+
+        AudioAnalysisService.AnalysisResult result = service.analyze(upload, "A구역");
+
+        assertThat(result.source()).isEqualTo(AudioAnalysisService.ResultSource.CACHE);
+        assertThat(result.event().getAudioBlobId()).isEqualTo(42L);
+        verify(audioBlobStore).append(upload.path());
+        verify(audioIngestService).discard(upload);
+        verifyNoInteractions(aiServerClient);
+    }
+
+    @Test
+    void storesUploadWhenReuseIsDisabled() throws Exception {
+        when(analysisResultCache.isReuseAudioFile()).thenReturn(false);
+        when(audioBlobStore.append(upload.path())).thenReturn(43L);
+
+        Event event = service.analyze(upload, "A구역").event();
+
+        assertThat(event.getAudioBlobId()).isEqualTo(43L);
+        verify(audioBlobStore, never()).exists(anyLong());
+        verify(analysisResultCache, never()).put(anyString(), any(), any());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 세그먼트 오디오 저장소 (추가 / 세그먼트 교체 / 압축 / 재시작 복원) 검증
+class AudioBlobStoreTests {
+
+    @TempDir
+    Path directory;
+
+    private AudioBlobStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void appendedClipsAreReadBackAcrossRolledSegments() throws IOException {
+        store = open();
+        long fromBytes = store.append(ByteBuffer.wrap(clip(300, 1)));
+        Path upload = Files.write(directory.resolve("upload.wav"), clip(300, 2));
+        long fromFile = store.append(upload);
+        long third = store.append(ByteBuffer.wrap(clip(300, 3)));
+
+        assertThat(store.read(fromBytes)).hasValueSatisfying(buffer -> assertClip(buffer, 300, 1));
+        assertThat(store.read(fromFile)).hasValueSatisfying(buffer -> assertClip(buffer, 300, 2));
+        assertThat(store.read(third)).hasValueSatisfying(buffer -> assertClip(buffer, 300, 3));
+        assertThat(store.getMetrics().get("segments")).isEqualTo(3);
+    }
+
+    @Test
+    void compactionMovesLiveClipsAndIndexSurvivesRestart() throws IOException {
+        store = open();
+        long[] ids = new long[6];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = store.append(ByteBuffer.wrap(clip(300, i)));
+        }
+        for (int i = 0; i < 4; i++) {
+            store.delete(ids[i]);
+        }
+        store.delete(ids[5]);
+
+        store.compact();
+        assertThat((long) store.getMetrics().get("reclaimedBytes")).isPositive();
+        assertThat(store.read(ids[4])).hasValueSatisfying(buffer -> assertClip(buffer, 300, 4));
+
+        store.close();
+        store = open();
+        assertThat(store.read(ids[0])).isEmpty();
+        assertThat(store.read(ids[4])).hasValueSatisfying(buffer -> assertClip(buffer, 300, 4));
+        // 삭제된 마지막 id 는 재사용하지 않음
+        assertThat(store.append(ByteBuffer.wrap(clip(10, 9)))).isGreaterThan(ids[5]);
+    }
+
+    private AudioBlobStore open() throws IOException {
+        AudioBlobStore blobStore = new AudioBlobStore();
+        ReflectionTestUtils.setField(blobStore, "storeDir", directory.resolve("segments").toString());
+        ReflectionTestUtils.setField(blobStore, "segmentMaxBytes", 400L);
+        ReflectionTestUtils.setField(blobStore, "compactionThreshold", 0.5);
+        blobStore.init();
+        return blobStore;
+    }
+
+    private static byte[] clip(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    private static void assertClip(ByteBuffer buffer, int length, int value) {
+        assertThat(buffer.remaining()).isEqualTo(length);
+        assertThat(buffer.get(buffer.position())).isEqualTo((byte) value);
+        assertThat(buffer.get(buffer.limit() - 1)).isEqualTo((byte) value);
+    }
+}
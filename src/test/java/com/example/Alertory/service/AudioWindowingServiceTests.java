@@ -0,0 +1,41 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 긴 녹음 분할 창 위치 계산 검증
+class AudioWindowingServiceTests {
+
+    private AudioWindowingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AudioWindowingService(null, null, null, null, null);
+        ReflectionTestUtils.setField(service, "windowMillis", 3000);
+        ReflectionTestUtils.setField(service, "hopMillis", 1500);
+        ReflectionTestUtils.setField(service, "maxWindows", 120);
+    }
+
+    @Test
+    void overlappingWindowsCoverWholeClipAndLastWindowEndsAtClipEnd() {
+        // 10초 @ 1kHz: 0, 1.5, 3, 4.5, 6초 + 끝에 맞춘 7초
+        assertThat(service.windowOffsets(10_000, 1000))
+                .containsExactly(0L, 1500L, 3000L, 4500L, 6000L, 7000L);
+    }
+
+    @Test
+    void widensHopWhenWindowCountWouldExceedLimit() {
+        ReflectionTestUtils.setField(service, "maxWindows", 3);
+
+        assertThat(service.windowOffsets(10_000, 1000))
+                .containsExactly(0L, 3500L, 7000L);
+    }
+
+    @Test
+    void clipShorterThanWindowIsSingleWindow() {
+        assertThat(service.windowOffsets(2000, 1000)).containsExactly(0L);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 분석 집계기 (요약 / 시간대 / 위치·유형 비율 / 최근 7일 추이) 검증
+class EventAnalyticsAggregatorTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void singlePassProducesAllSeries() {
+        EventAnalyticsAggregator aggregator = new EventAnalyticsAggregator(TODAY);
+        aggregator.add("SCREAM", "A구역", TODAY.atTime(9, 0), TODAY.atTime(9, 2));
+        aggregator.add("SCREAM", "A구역", TODAY.atTime(9, 30), TODAY.atTime(9, 34));
+        aggregator.add("NORMAL", "B구역", TODAY.minusDays(1).atTime(0, 0), null);
+        aggregator.add("NOISE", "A구역", TODAY.minusDays(30).atTime(23, 59), null);
+
+        Map<String, Object> response = aggregator.toResponse();
+
+        Map<String, Object> summary = (Map<String, Object>) response.get("summary");
+        assertThat(summary).containsEntry("totalEvents", 4L)
+                .containsEntry("emergencyEvents", 2L)
+                .containsEntry("falseAlarms", 1L)
+                .containsEntry("responseTime", 3.0);
+
+        List<Map<String, Object>> byHour = (List<Map<String, Object>>) response.get("eventsByHour");
+        assertThat(byHour).hasSize(24);
+        assertThat(byHour.get(9)).containsEntry("count", 2L);
+        assertThat(byHour.get(0)).containsEntry("count", 1L);
+        assertThat(byHour.get(23)).containsEntry("count", 1L);
+
+        List<Map<String, Object>> byLocation = (List<Map<String, Object>>) response.get("eventsByLocation");
+        assertThat(byLocation.get(0)).containsEntry("location", "A구역").containsEntry("count", 3L)
+                .containsEntry("percentage", 75.0);
+
+        List<Map<String, Object>> trend = (List<Map<String, Object>>) response.get("weeklyTrend");
+        assertThat(trend).hasSize(7);
+        assertThat(trend.get(6)).containsEntry("date", "2026-03-10").containsEntry("events", 2L);
+        assertThat(trend.get(5)).containsEntry("date", "2026-03-09").containsEntry("events", 1L);
+        assertThat(trend.get(0)).containsEntry("date", "2026-03-04").containsEntry("events", 0L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void preAggregatedRowsCountLikeIndividualEvents() {
+        EventAnalyticsAggregator aggregator = new EventAnalyticsAggregator(TODAY);
+        aggregator.add("HELP_REQUEST", "C구역", TODAY.atTime(14, 0), 5, 2, 600);
+
+        Map<String, Object> response = aggregator.toResponse();
+
+        assertThat((Map<String, Object>) response.get("summary"))
+                .containsEntry("totalEvents", 5L)
+                .containsEntry("emergencyEvents", 5L)
+                .containsEntry("responseTime", 5.0);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// ADDED: 이벤트 목록 커서 토큰 검증
+class EventCursorTests {
+
+    @Test
+    void roundTripsPositionWithMicrosecondPrecision() {
+        EventCursor cursor = new EventCursor(LocalDateTime.of(2026, 3, 10, 9, 41, 15, 123_456_000), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/", "|");
+        assertThat(EventCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> EventCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EventCursor.decode("djJ8eHx5")).isInstanceOf(IllegalArgumentException.class); // "v2|x|y"
+    }
+}
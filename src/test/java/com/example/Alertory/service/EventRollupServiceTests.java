@@ -0,0 +1,227 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.entity.EventHourlyRollup;
+import com.example.Alertory.repository.EventHourlyRollupRepository;
+import com.example.Alertory.repository.EventLocationTotalRepository;
+import com.example.Alertory.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// CHANGED: 시간별 집계 증감을 실제 DB 로 검증 (칸 생성 upsert / 상태 이동 / 동시 생성 / 보존 기간 정리 / 백필)
+// 각 단계는 실제로 커밋되도록 테스트 트랜잭션 없이 실행한다.
+@DataJpaTest
+@Import(EventRollupService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventRollupServiceTests {
+
+    private static final LocalDateTime DETECTED_AT = LocalDateTime.of(2026, 3, 10, 9, 41, 15);
+    private static final LocalDateTime BUCKET = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+    @Autowired
+    protected EventRollupService service;
+
+    @Autowired
+    protected EventHourlyRollupRepository rollupRepository;
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    @Autowired
+    protected EventLocationTotalRepository totalRepository;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAllInBatch();
+        totalRepository.deleteAllInBatch();
+        eventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void firstEventOfHourCreatesBucketInCallerTransactionAndNextOneIncrementsIt() {
+        inTransaction(() -> {
+            service.recordCreated(event(DETECTED_AT, Event.EventStatus.NEW, null));
+            service.recordCreated(event(DETECTED_AT.plusMinutes(5), Event.EventStatus.NEW, null));
+        });
+        inTransaction(() -> service.recordCreated(event(DETECTED_AT.plusMinutes(10), Event.EventStatus.NEW, null)));
+
+        assertThat(buckets()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.getBucketHour()).isEqualTo(BUCKET);
+            assertThat(bucket.getStatus()).isEqualTo(Event.EventStatus.NEW);
+            assertThat(bucket.getEventCount()).isEqualTo(3);
+            assertThat(bucket.getConfidenceSum()).isCloseTo(2.7, within(1e-9));
+        });
+    }
+
+    @Test
+    void acknowledgementMovesEventToAcknowledgedBucketWithLatency() {
+        inTransaction(() -> service.recordCreated(event(DETECTED_AT, Event.EventStatus.NEW, null)));
+        inTransaction(() -> service.recordStatusChange(
+                event(DETECTED_AT, Event.EventStatus.ACKNOWLEDGED, DETECTED_AT.plusSeconds(90)),
+                Event.EventStatus.NEW, null));
+
+        List<EventHourlyRollup> buckets = buckets();
+        assertThat(buckets).hasSize(2);
+        assertThat(buckets.get(0).getStatus()).isEqualTo(Event.EventStatus.NEW);
+        assertThat(buckets.get(0).getEventCount()).isZero();
+        assertThat(buckets.get(1).getStatus()).isEqualTo(Event.EventStatus.ACKNOWLEDGED);
+        assertThat(buckets.get(1).getEventCount()).isEqualTo(1);
+        assertThat(buckets.get(1).getAcknowledgedCount()).isEqualTo(1);
+        assertThat(buckets.get(1).getAckLatencySecondsSum()).isEqualTo(90);
+    }
+
+    @Test
+    void concurrentFirstWritesToSameBucketBothCount() throws Exception {
+        // 두 트랜잭션이 같은 새 칸에 동시에 첫 증감 - 한쪽은 다른 쪽 커밋을 기다렸다가 더한다
+        CountDownLatch bothWritten = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> inTransaction(() -> {
+                service.recordCreated(event(DETECTED_AT, Event.EventStatus.NEW, null));
+                awaitQuietly(bothWritten);
+            }));
+            Future<?> second = executor.submit(() -> inTransaction(() -> {
+                sleepQuietly(100);
+                bothWritten.countDown();
+                service.recordCreated(event(DETECTED_AT, Event.EventStatus.NEW, null));
+            }));
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(buckets()).singleElement()
+                .satisfies(bucket -> assertThat(bucket.getEventCount()).isEqualTo(2));
+    }
+
+    @Test
+    void deleteBeforeRecountsHourThatCutoffFallsInside() {
+        Event early = eventRepository.save(event(BUCKET.plusMinutes(10), Event.EventStatus.NEW, null));
+        Event late = eventRepository.save(event(BUCKET.plusMinutes(50), Event.EventStatus.NEW, null));
+        Event previousHour = eventRepository.save(event(BUCKET.minusMinutes(30), Event.EventStatus.NEW, null));
+        inTransaction(() -> service.recordCreatedAll(List.of(early, late, previousHour)));
+
+        // 보존 기간 정리가 09:30 이전 이벤트를 지운 상태
+        LocalDateTime cutoff = BUCKET.plusMinutes(30);
+        eventRepository.deleteAllById(List.of(early.getId(), previousHour.getId()));
+        int deleted = service.deleteBefore(cutoff);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(buckets()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.getBucketHour()).isEqualTo(BUCKET);
+            assertThat(bucket.getEventCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void backfillFillsEmptyTableFromEvents() {
+        eventRepository.save(event(DETECTED_AT, Event.EventStatus.NEW, null));
+        eventRepository.save(event(DETECTED_AT.plusDays(1), Event.EventStatus.NEW, null));
+
+        service.backfillIfEmpty();
+        service.backfillIfEmpty();
+
+        assertThat(buckets()).hasSize(2).allSatisfy(bucket -> assertThat(bucket.getEventCount()).isEqualTo(1));
+        assertThat(service.rebuild(LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 11))).isEqualTo(2);
+    }
+
+    @Test
+    void locationTotalsFollowCreateAcknowledgeAndRetention() {
+        Event early = eventRepository.save(event(BUCKET.minusHours(2), Event.EventStatus.NEW, null));
+        Event late = eventRepository.save(event(DETECTED_AT, Event.EventStatus.NEW, null));
+        Event other = eventRepository.save(event(DETECTED_AT, Event.EventStatus.NEW, null));
+        other.setLocationLabel("B구역");
+        eventRepository.save(other);
+        inTransaction(() -> service.recordCreatedAll(List.of(early, late, other)));
+        inTransaction(() -> service.recordStatusChange(
+                event(DETECTED_AT, Event.EventStatus.ACKNOWLEDGED, DETECTED_AT.plusSeconds(30)),
+                Event.EventStatus.NEW, null));
+
+        assertThat(service.countByStatus("A구역"))
+                .containsEntry(Event.EventStatus.NEW, 1L)
+                .containsEntry(Event.EventStatus.ACKNOWLEDGED, 1L);
+        assertThat(service.countByStatus(null)).containsEntry(Event.EventStatus.NEW, 2L);
+
+        // 보존 기간 정리로 2시간 전 이벤트가 빠지면 합계에서도 빠짐
+        eventRepository.deleteAllById(List.of(early.getId()));
+        service.deleteBefore(BUCKET.minusHours(1));
+
+        assertThat(service.countByStatus("A구역"))
+                .containsEntry(Event.EventStatus.NEW, 0L)
+                .containsEntry(Event.EventStatus.ACKNOWLEDGED, 1L);
+        assertThat(service.countByStatus("B구역")).containsEntry(Event.EventStatus.NEW, 1L);
+    }
+
+    @Test
+    void backfillSeedsLocationTotalsFromExistingBuckets() {
+        inTransaction(() -> service.recordCreated(event(DETECTED_AT, Event.EventStatus.NEW, null)));
+        totalRepository.deleteAllInBatch();
+
+        service.backfillIfEmpty();
+
+        assertThat(service.countByStatus("A구역")).containsEntry(Event.EventStatus.NEW, 1L);
+    }
+
+    private List<EventHourlyRollup> buckets() {
+        return rollupRepository.findAll().stream()
+                .sorted(Comparator.comparing(EventHourlyRollup::getBucketHour)
+                        .thenComparing(bucket -> bucket.getStatus().ordinal()))
+                .toList();
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+            Thread.sleep(200); // 두 번째 트랜잭션이 같은 칸에 쓰려고 대기하는 동안 커밋
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Event event(LocalDateTime detectedAt, Event.EventStatus status, LocalDateTime acknowledgedAt) {
+        return Event.builder()
+                .eventType("SCREAM")
+                .locationLabel("A구역")
+                .confidence(0.9)
+                .status(status)
+                .detectedAt(detectedAt)
+                .acknowledgedAt(acknowledgedAt)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.EventDto;
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ADDED: 이벤트 일괄 생성 (항목별 오류 / 요청 순서 id / flush 단위) 검증
+class EventServiceBatchTests {
+
+    private final EventRepository eventRepository = Mockito.mock(EventRepository.class);
+    private final EventRollupService eventRollupService = Mockito.mock(EventRollupService.class);
+    private final EntityManager entityManager = Mockito.mock(EntityManager.class);
+    private final AtomicLong sequence = new AtomicLong(100);
+    private EventService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EventService(eventRepository, Mockito.mock(InferencePriorityScheduler.class),
+                eventRollupService, entityManager, Mockito.mock(LiveUpdatePublisher.class));
+        ReflectionTestUtils.setField(service, "batchMaxItems", 10);
+        ReflectionTestUtils.setField(service, "batchFlushSize", 2);
+        when(eventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Event> saved = new ArrayList<>(invocation.<List<Event>>getArgument(0));
+            saved.forEach(event -> event.setId(sequence.incrementAndGet()));
+            return saved;
+        });
+    }
+
+    @Test
+    void savesValidItemsInFlushSizedChunksAndReportsRejectedOnesByIndex() {
+        EventDto.BatchResponse response = service.createEvents(Arrays.asList(
+                new EventDto.CreateRequest("SCREAM", "A구역", 0.9),
+                new EventDto.CreateRequest("BARK", "A구역", 0.9),
+                new EventDto.CreateRequest("NOISE", "B구역", 0.4),
+                null,
+                new EventDto.CreateRequest("HELP_REQUEST", "C구역", 1.5),
+                new EventDto.CreateRequest("NORMAL", "C구역", 0.1)));
+
+        assertThat(response.getReceived()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getIds()).containsExactly(101L, null, 102L, null, null, 103L);
+        assertThat(response.getErrors()).extracting(EventDto.BatchError::getIndex, EventDto.BatchError::getField)
+                .containsExactly(
+                        tuple(1, "eventType"),
+                        tuple(3, null),
+                        tuple(4, "confidence"));
+        // 2건 + 1건 두 번 flush, 집계도 묶음마다 한 번
+        verify(eventRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(eventRollupService, times(2)).recordCreatedAll(anyList());
+    }
+
+    @Test
+    void rejectsOversizedBatch() {
+        List<EventDto.CreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(new EventDto.CreateRequest("SCREAM", "A구역", 0.9));
+        }
+
+        assertThatThrownBy(() -> service.createEvents(requests)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
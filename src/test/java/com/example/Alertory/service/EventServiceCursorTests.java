@@ -0,0 +1,140 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.dto.EventDto;
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ADDED: 이벤트 목록 커서 페이지 이동 검증 (H2)
+// 모든 페이지를 끝까지 넘기며 (detectedAt, id) 내림차순 전체 결과와 비교해 빠지거나 반복되는 행이 없는지 확인한다.
+@DataJpaTest
+class EventServiceCursorTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 1, 9, 0);
+    private static final String[] TYPES = {"SCREAM", "NOISE", "NORMAL"};
+    private static final String[] LOCATIONS = {"A구역", "B구역"};
+
+    @Autowired
+    protected EventRepository eventRepository;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    private EventService service;
+    private List<Event> saved;
+
+    @BeforeEach
+    void setUp() {
+        service = new EventService(eventRepository, Mockito.mock(InferencePriorityScheduler.class),
+                Mockito.mock(EventRollupService.class), entityManager, Mockito.mock(LiveUpdatePublisher.class));
+
+        // 30건, 3건씩 같은 detectedAt (동률은 id 로 구분), 시간 순서와 저장 순서가 다르도록 역순 저장
+        List<Event> events = new ArrayList<>();
+        for (int i = 29; i >= 0; i--) {
+            events.add(Event.builder()
+                    .eventType(TYPES[i % TYPES.length])
+                    .locationLabel(LOCATIONS[i % LOCATIONS.length])
+                    .confidence(0.9)
+                    .status(i % 4 == 0 ? Event.EventStatus.NEW : Event.EventStatus.ACKNOWLEDGED)
+                    .detectedAt(START.plusMinutes(i / 3))
+                    .build());
+        }
+        saved = eventRepository.saveAll(events);
+    }
+
+    @Test
+    void walkingEveryPageVisitsEachRowExactlyOnceInOrder() {
+        for (int size : new int[]{1, 3, 4, 7, 30, 50}) {
+            List<Long> visited = walk(null, null, size);
+
+            assertThat(visited).as("size %d", size).containsExactlyElementsOf(expected(event -> true));
+        }
+    }
+
+    @Test
+    void tiesOnDetectedAtAreSplitAcrossPagesById() {
+        // 크기 2 페이지는 같은 detectedAt 3건 묶음 중간에서 끊김
+        EventDto.CursorPage first = page(null, null, null, 2);
+        EventDto.CursorPage second = page(null, null, first.getNextCursor(), 2);
+
+        assertThat(first.getContent().get(1).getDetectedAt()).isEqualTo(second.getContent().get(0).getDetectedAt());
+        assertThat(first.getContent().get(1).getId()).isGreaterThan(second.getContent().get(0).getId());
+        assertThat(walk(null, null, 2)).containsExactlyElementsOf(expected(event -> true));
+    }
+
+    @Test
+    void lastPageHasNoNextCursorAndProbeRowIsNotReturned() {
+        EventDto.CursorPage page = page(null, null, null, 29);
+
+        assertThat(page.getContent()).hasSize(29);
+        assertThat(page.getSize()).isEqualTo(29);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotNull();
+
+        EventDto.CursorPage last = page(null, null, page.getNextCursor(), 29);
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+
+        // 정확히 size 건만 남은 경우도 다음 페이지 없음
+        EventDto.CursorPage exact = page(null, null, null, 30);
+        assertThat(exact.getContent()).hasSize(30);
+        assertThat(exact.isHasNext()).isFalse();
+        assertThat(exact.getNextCursor()).isNull();
+    }
+
+    @Test
+    void filtersAreAppliedTogetherWithCursor() {
+        List<Long> visited = walk("SCREAM", "A구역", 2);
+
+        assertThat(visited).isNotEmpty()
+                .containsExactlyElementsOf(expected(event ->
+                        event.getEventType().equals("SCREAM") && event.getLocationLabel().equals("A구역")));
+
+        EventDto.CursorPage withTotal = service.getEventsByCursor(
+                "SCREAM", null, "A구역", null, null, null, 2, true);
+        assertThat(withTotal.getTotalElements()).isEqualTo(visited.size());
+        assertThat(page("SCREAM", "A구역", null, 2).getTotalElements()).isNull();
+    }
+
+    private List<Long> walk(String eventType, String location, int size) {
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        for (int guard = 0; guard <= saved.size(); guard++) {
+            EventDto.CursorPage page = page(eventType, location, cursor, size);
+            page.getContent().forEach(event -> visited.add(event.getId()));
+            if (!page.isHasNext()) {
+                assertThat(page.getNextCursor()).isNull();
+                return visited;
+            }
+            assertThat(page.getContent()).hasSize(size);
+            cursor = page.getNextCursor();
+        }
+        throw new AssertionError("cursor paging did not terminate");
+    }
+
+    private EventDto.CursorPage page(String eventType, String location, String cursor, int size) {
+        return service.getEventsByCursor(eventType, null, location, null, null, cursor, size, false);
+    }
+
+    private List<Long> expected(Predicate<Event> filter) {
+        return saved.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Event::getDetectedAt).thenComparing(Event::getId).reversed())
+                .map(Event::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.when;
+
+// ADDED: 추론 우선순위 스케줄러 (위험 위치 우선 / 대기 시간 aging / 대기열 제한) 검증
+class InferencePrioritySchedulerTests {
+
+    private final AiServerGuard aiServerGuard = Mockito.mock(AiServerGuard.class);
+    private InferencePriorityScheduler scheduler;
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new InferencePriorityScheduler(Mockito.mock(EventRepository.class), aiServerGuard);
+        when(aiServerGuard.concurrencyLimit()).thenReturn(1);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "maxInFlight", 0);
+        ReflectionTestUtils.setField(scheduler, "maxQueue", 2);
+        ReflectionTestUtils.setField(scheduler, "maxWaitMillis", 0L);
+        ReflectionTestUtils.setField(scheduler, "agingMillis", 60_000L);
+        ReflectionTestUtils.setField(scheduler, "hotHalfLifeMillis", 300_000L);
+        ReflectionTestUtils.setField(scheduler, "emergencyScore", 0.5);
+        ReflectionTestUtils.setField(scheduler, "elevatedScore", 0.1);
+        ReflectionTestUtils.setField(scheduler, "hotLabels", "SCREAM,HELP_REQUEST");
+        scheduler.init();
+    }
+
+    @Test
+    void locationWithRecentDangerEventIsEmergency() {
+        scheduler.recordEvent("A구역", "SCREAM", false);
+        scheduler.recordEvent("B구역", "NOISE", false);
+
+        assertThat(scheduler.priorityOf("A구역")).isEqualTo(InferencePriorityScheduler.Priority.EMERGENCY);
+        assertThat(scheduler.priorityOf("B구역")).isEqualTo(InferencePriorityScheduler.Priority.ROUTINE);
+    }
+
+    @Test
+    void hotLocationRunsBeforeEarlierRoutineRequest() {
+        scheduler.recordEvent("A구역", "SCREAM", false);
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.schedule("B구역", blocker.asMono()).subscribe();
+
+        scheduler.schedule("B구역", call("routine")).subscribe();
+        scheduler.schedule("A구역", call("emergency")).subscribe();
+        assertThat(started).isEmpty();
+
+        blocker.tryEmitValue("done");
+        assertThat(started).containsExactly("emergency", "routine");
+    }
+
+    @Test
+    void agingKeepsArrivalOrderWhenWaitOutweighsPriority() {
+        ReflectionTestUtils.setField(scheduler, "agingMillis", 0L);
+        scheduler.recordEvent("A구역", "SCREAM", false);
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.schedule("B구역", blocker.asMono()).subscribe();
+
+        scheduler.schedule("B구역", call("routine")).subscribe();
+        scheduler.schedule("A구역", call("emergency")).subscribe();
+
+        blocker.tryEmitValue("done");
+        assertThat(started).containsExactly("routine", "emergency");
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.schedule("B구역", blocker.asMono()).subscribe();
+        scheduler.schedule("B구역", call("first")).subscribe();
+        scheduler.schedule("B구역", call("second")).subscribe();
+
+        assertThat(errorOf(scheduler.schedule("B구역", call("third"))))
+                .isInstanceOf(AiServerException.class)
+                .extracting("statusCode").isEqualTo(503);
+    }
+
+    @Test
+    void permitsFollowGuardLimitAsItShrinksAndGrows() {
+        when(aiServerGuard.concurrencyLimit()).thenReturn(2);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        scheduler.schedule("B구역", first.asMono()).subscribe();
+        scheduler.schedule("B구역", second.asMono()).subscribe();
+        scheduler.schedule("B구역", call("third")).subscribe();
+        assertThat(started).isEmpty();
+
+        // 가드가 제한을 1로 줄이면 한 건이 끝나도 아직 한 건이 진행 중이므로 대기
+        when(aiServerGuard.concurrencyLimit()).thenReturn(1);
+        first.tryEmitValue("done");
+        assertThat(started).isEmpty();
+
+        second.tryEmitValue("done");
+        assertThat(started).containsExactly("third");
+        assertThat(scheduler.getMetrics()).containsEntry("permits", 1);
+    }
+
+    @Test
+    void rejectsRequestThatWaitedLongerThanBudget() {
+        ReflectionTestUtils.setField(scheduler, "maxWaitMillis", 50L);
+        Sinks.One<String> blocker = Sinks.one();
+        scheduler.schedule("B구역", blocker.asMono()).subscribe();
+
+        assertThat(errorOf(scheduler.schedule("B구역", call("late"))))
+                .isInstanceOf(AiServerException.class)
+                .extracting("statusCode").isEqualTo(503);
+
+        // 만료된 요청은 큐에서 빠져 슬롯을 받지 않는다
+        blocker.tryEmitValue("done");
+        assertThat(started).isEmpty();
+        assertThat(scheduler.loadFactor()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cooledLocationsArePrunedAndHotOnesKept() {
+        scheduler.recordEvent("A구역", "SCREAM", false);
+        for (int i = 0; i < 100; i++) {
+            scheduler.recordEvent("device-" + i, "SCREAM", false);
+        }
+        // 100개 위치는 반감기 4번이 지난 것처럼 되돌림 (1/16 < elevated-score)
+        Map<String, Object> heat = (Map<String, Object>) ReflectionTestUtils.getField(scheduler, "heat");
+        long cooledAt = System.currentTimeMillis() - 4 * 300_000L;
+        for (int i = 0; i < 100; i++) {
+            ReflectionTestUtils.setField(heat.get("device-" + i), "updatedAtMillis", cooledAt);
+        }
+
+        scheduler.pruneCooledLocations();
+
+        assertThat(heat).containsOnlyKeys("A구역");
+        assertThat(scheduler.getMetrics()).containsEntry("hotLocations", 1);
+        assertThat(scheduler.priorityOf("device-0")).isEqualTo(InferencePriorityScheduler.Priority.ROUTINE);
+        assertThat(scheduler.priorityOf("A구역")).isEqualTo(InferencePriorityScheduler.Priority.EMERGENCY);
+    }
+
+    // AiServerException 은 checked 예외라 block() 이 감싸서 던지므로 풀어서 확인
+    private static Throwable errorOf(Mono<?> mono) {
+        return Exceptions.unwrap(catchThrowable(() -> mono.block(Duration.ofSeconds(5))));
+    }
+
+    private Mono<String> call(String name) {
+        return Mono.fromCallable(() -> {
+            started.add(name);
+            return name;
+        });
+    }
+}
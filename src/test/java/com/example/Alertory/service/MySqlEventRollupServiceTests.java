@@ -0,0 +1,26 @@
+package com.example.Alertory.service;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// ADDED: 같은 집계 증감 검증 (MySQL - REPEATABLE READ 갭 락에서 새 칸 생성이 막히지 않는지)
+// 실행: ALERTORY_MYSQL_URL=jdbc:mysql://localhost:3306/alertory_test ALERTORY_MYSQL_USER=... ALERTORY_MYSQL_PASSWORD=...
+//       ./gradlew test --tests '*MySqlEventRollupServiceTests'
+// 스키마를 create-drop 하므로 비워도 되는 테스트 전용 DB 를 지정할 것
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "ALERTORY_MYSQL_URL", matches = ".+")
+class MySqlEventRollupServiceTests extends EventRollupServiceTests {
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("ALERTORY_MYSQL_URL"));
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("ALERTORY_MYSQL_USER", "root"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("ALERTORY_MYSQL_PASSWORD", ""));
+        registry.add("spring.datasource.driverClassName", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        // 락 대기로 막히면 기본 50초 대신 바로 실패
+        registry.add("spring.datasource.hikari.connection-init-sql", () -> "SET SESSION innodb_lock_wait_timeout = 5");
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.Event;
+import com.example.Alertory.entity.EventHourlyRollup;
+import com.example.Alertory.repository.EventHourlyRollupRepository;
+import com.example.Alertory.repository.EventLocationTotalRepository;
+import com.example.Alertory.repository.EventRepository;
+import com.example.Alertory.repository.EventSpecifications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ADDED: 보존 기간 정리 (공유 오디오 유지 / 오디오 + 행 삭제 / 부하 시 연기 / 중간 종료 시 집계 일치) 검증
+class RetentionSweeperTests {
+
+    @TempDir
+    Path directory;
+
+    private final EventRepository eventRepository = Mockito.mock(EventRepository.class);
+    private final AudioIngestService audioIngestService = Mockito.mock(AudioIngestService.class);
+    private final InferencePriorityScheduler inferencePriorityScheduler = Mockito.mock(InferencePriorityScheduler.class);
+    private AudioBlobStore blobStore;
+    private RetentionSweeper sweeper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new AudioBlobStore();
+        ReflectionTestUtils.setField(blobStore, "storeDir", directory.resolve("segments").toString());
+        ReflectionTestUtils.setField(blobStore, "segmentMaxBytes", 1L << 20);
+        ReflectionTestUtils.setField(blobStore, "compactionThreshold", 0.5);
+        blobStore.init();
+        when(audioIngestService.getUploadDir()).thenReturn(directory.resolve("audio").toString());
+
+        sweeper = new RetentionSweeper(eventRepository, Mockito.mock(SettingsService.class), blobStore,
+                audioIngestService, inferencePriorityScheduler, Mockito.mock(EventRollupService.class),
+                Mockito.mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(sweeper, "enabled", true);
+        ReflectionTestUtils.setField(sweeper, "batchSize", 3);
+        ReflectionTestUtils.setField(sweeper, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(sweeper, "pauseMillis", 0L);
+        ReflectionTestUtils.setField(sweeper, "maxLoad", 0.75);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        blobStore.close();
+    }
+
+    @Test
+    void deletesExpiredAudioAndRowsButKeepsAudioSharedWithNewerEvents() throws IOException {
+        long shared = blobStore.append(ByteBuffer.wrap(new byte[100]));
+        long expired = blobStore.append(ByteBuffer.wrap(new byte[200]));
+        Path legacy = Files.createDirectories(directory.resolve("audio")).resolve("legacy.wav");
+        Files.write(legacy, new byte[50]);
+
+        when(eventRepository.findExpired(any(), any())).thenReturn(List.of(
+                expiredEvent(1L, shared, null),
+                expiredEvent(2L, expired, null),
+                expiredEvent(3L, null, legacy.toString())), List.of());
+        when(eventRepository.findAudioBlobIdsReferencedOutside(anyCollection(), anyCollection())).thenReturn(List.of(shared));
+        when(eventRepository.findAudioFilePathsReferencedOutside(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(eventRepository.deleteByIdIn(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        RetentionSweeper.RunReport report = sweeper.sweep(LocalDateTime.now().minusDays(30));
+
+        assertThat(report.outcome()).isEqualTo(RetentionSweeper.Outcome.COMPLETED);
+        assertThat(report.batches()).isEqualTo(1);
+        assertThat(report.deletedEvents()).isEqualTo(3);
+        assertThat(report.deletedBlobs()).isEqualTo(1);
+        assertThat(report.deletedFiles()).isEqualTo(1);
+        assertThat(report.reclaimedBytes()).isEqualTo(250);
+        assertThat(blobStore.exists(shared)).isTrue();
+        assertThat(blobStore.exists(expired)).isFalse();
+        assertThat(legacy).doesNotExist();
+    }
+
+    @Test
+    void defersRunWhileInferenceIsBusy() {
+        when(inferencePriorityScheduler.loadFactor()).thenReturn(1.0);
+
+        RetentionSweeper.RunReport report = sweeper.sweep(LocalDateTime.now().minusDays(30));
+
+        assertThat(report.outcome()).isEqualTo(RetentionSweeper.Outcome.DEFERRED_BY_LOAD);
+        verify(eventRepository, never()).findExpired(any(), any());
+        assertThat(sweeper.getMetrics().get("deferredRuns")).isEqualTo(1L);
+    }
+
+    private static EventRepository.ExpiredEvent expiredEvent(Long id, Long audioBlobId, String audioFilePath) {
+        return new EventRepository.ExpiredEvent() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getAudioBlobId() {
+                return audioBlobId;
+            }
+
+            @Override
+            public String getAudioFilePath() {
+                return audioFilePath;
+            }
+
+            @Override
+            public String getEventType() {
+                return "SCREAM";
+            }
+
+            @Override
+            public String getLocationLabel() {
+                return "A구역";
+            }
+
+            @Override
+            public Event.EventStatus getStatus() {
+                return Event.EventStatus.NEW;
+            }
+
+            @Override
+            public Double getConfidence() {
+                return 0.9;
+            }
+
+            @Override
+            public LocalDateTime getDetectedAt() {
+                return LocalDateTime.now().minusDays(40);
+            }
+
+            @Override
+            public LocalDateTime getAcknowledgedAt() {
+                return null;
+            }
+        };
+    }
+
+    // ADDED: 실행이 예산 소진으로 중간에 끝나도 대시보드 합계 / 시간별 집계가 남은 행과 일치하는지 실제 DB 로 검증
+    @Nested
+    @DataJpaTest
+    @Import(EventRollupService.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class RollupConsistency {
+
+        private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 4, 1, 12, 30);
+
+        @Autowired
+        protected EventRepository eventRepository;
+
+        @Autowired
+        protected EventHourlyRollupRepository rollupRepository;
+
+        @Autowired
+        protected EventLocationTotalRepository totalRepository;
+
+        @Autowired
+        protected EventRollupService rollupService;
+
+        @Autowired
+        protected PlatformTransactionManager transactionManager;
+
+        private RetentionSweeper sweeper;
+
+        @BeforeEach
+        void setUp() {
+            InferencePriorityScheduler scheduler = Mockito.mock(InferencePriorityScheduler.class);
+            AudioIngestService ingest = Mockito.mock(AudioIngestService.class);
+            when(ingest.getUploadDir()).thenReturn(directory.resolve("audio").toString());
+            sweeper = new RetentionSweeper(eventRepository, Mockito.mock(SettingsService.class),
+                    Mockito.mock(AudioBlobStore.class), ingest, scheduler, rollupService, transactionManager);
+            ReflectionTestUtils.setField(sweeper, "enabled", true);
+            ReflectionTestUtils.setField(sweeper, "batchSize", 3);
+            ReflectionTestUtils.setField(sweeper, "maxBatchesPerRun", 1);
+            ReflectionTestUtils.setField(sweeper, "pauseMillis", 0L);
+            ReflectionTestUtils.setField(sweeper, "maxLoad", 0.75);
+
+            // 만료 9건 (cutoff 가 걸친 정시 칸 포함) + 유지 2건, 위치 / 상태 / 확인 시각 섞음
+            List<Event> events = new ArrayList<>();
+            for (int i = 0; i < 11; i++) {
+                boolean acknowledged = i % 3 == 0;
+                LocalDateTime detectedAt = CUTOFF.minusMinutes(20).minusHours(8).plusHours(i);
+                events.add(Event.builder()
+                        .eventType(i % 2 == 0 ? "SCREAM" : "NOISE")
+                        .locationLabel(i % 2 == 0 ? "A구역" : "B구역")
+                        .confidence(0.5 + i / 100.0)
+                        .status(acknowledged ? Event.EventStatus.ACKNOWLEDGED : Event.EventStatus.NEW)
+                        .acknowledgedAt(acknowledged ? detectedAt.plusSeconds(30) : null)
+                        .detectedAt(detectedAt)
+                        .build());
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    rollupService.recordCreatedAll(eventRepository.saveAll(events)));
+        }
+
+        @AfterEach
+        void tearDown() {
+            rollupRepository.deleteAllInBatch();
+            totalRepository.deleteAllInBatch();
+            eventRepository.deleteAllInBatch();
+        }
+
+        @Test
+        void partialRunKeepsTotalsAndBucketsInStepWithRemainingRows() {
+            RetentionSweeper.RunReport partial = sweeper.sweep(CUTOFF);
+
+            assertThat(partial.outcome()).isEqualTo(RetentionSweeper.Outcome.BUDGET_EXHAUSTED);
+            assertThat(partial.deletedEvents()).isEqualTo(3);
+            assertConsistent();
+
+            ReflectionTestUtils.setField(sweeper, "maxBatchesPerRun", 10);
+            RetentionSweeper.RunReport completed = sweeper.sweep(CUTOFF);
+
+            assertThat(completed.outcome()).isEqualTo(RetentionSweeper.Outcome.COMPLETED);
+            assertThat(eventRepository.count()).isEqualTo(2);
+            assertConsistent();
+        }
+
+        private void assertConsistent() {
+            Map<Event.EventStatus, Long> totals = rollupService.countByStatus(null);
+            assertThat(totals.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(eventRepository.count());
+            for (Event.EventStatus status : Event.EventStatus.values()) {
+                assertThat(totals.getOrDefault(status, 0L)).as(status.name())
+                        .isEqualTo(eventRepository.count(EventSpecifications.hasStatus(status)));
+            }
+            assertThat(rollupService.countByStatus("A구역").values().stream().mapToLong(Long::longValue).sum())
+                    .isEqualTo(eventRepository.count(EventSpecifications.atLocation("A구역")));
+            assertThat(rollupRepository.findAll().stream().mapToLong(EventHourlyRollup::getEventCount).sum())
+                    .isEqualTo(eventRepository.count());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.Alertory.service;
+
+import com.example.Alertory.entity.LocationSettings;
+import com.example.Alertory.entity.Settings;
+import com.example.Alertory.repository.LocationSettingsRepository;
+import com.example.Alertory.repository.SettingsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+// ADDED: 설정 스냅샷 (위치별 병합 / 시간대 / 임계값 / 변경 시 교체) 검증
+class SettingsServiceTests {
+
+    private final SettingsRepository settingsRepository = Mockito.mock(SettingsRepository.class);
+    private final LocationSettingsRepository locationSettingsRepository = Mockito.mock(LocationSettingsRepository.class);
+    private SettingsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SettingsService(settingsRepository, locationSettingsRepository);
+        ReflectionTestUtils.setField(service, "screamLabels", "SCREAM,HELP_REQUEST");
+    }
+
+    @Test
+    void locationOverridesMergeOverGlobalSettingsWithoutDatabaseReads() {
+        Settings global = Settings.builder().id(1L).screamThreshold(0.8).noiseThreshold(0.7)
+                .detectMode(Settings.DetectMode.SCHEDULED)
+                .activeStart(LocalTime.of(9, 0)).activeEnd(LocalTime.of(18, 0)).build();
+        LocationSettings nightShift = LocationSettings.builder().locationLabel("B공장 1층")
+                .screamThreshold(0.5).activeStart(LocalTime.of(22, 0)).activeEnd(LocalTime.of(6, 0)).build();
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(global));
+        when(locationSettingsRepository.findAll()).thenReturn(List.of(nightShift));
+        service.refresh();
+
+        SettingsService.DetectionPolicy day = service.policyFor("A공장 1층");
+        SettingsService.DetectionPolicy night = service.policyFor("B공장 1층");
+
+        assertThat(day.isActiveAt(LocalTime.of(12, 0))).isTrue();
+        assertThat(day.isActiveAt(LocalTime.of(18, 0))).isFalse();
+        assertThat(night.isActiveAt(LocalTime.of(23, 30))).isTrue();
+        assertThat(night.isActiveAt(LocalTime.of(5, 59))).isTrue();
+        assertThat(night.isActiveAt(LocalTime.of(12, 0))).isFalse();
+
+        // 신뢰도는 0~100, 임계값은 0~1 (비명 계열은 screamThreshold)
+        assertThat(day.meetsThreshold("SCREAM", 60.0)).isFalse();
+        assertThat(night.meetsThreshold("scream", 60.0)).isTrue();
+        assertThat(night.meetsThreshold("NOISE", 60.0)).isFalse();
+        assertThat(night.noiseThreshold()).isEqualTo(0.7);
+
+        verify(settingsRepository).findFirstByOrderByIdAsc();
+        verify(locationSettingsRepository).findAll();
+        verifyNoMoreInteractions(settingsRepository, locationSettingsRepository);
+    }
+
+    @Test
+    void koreanLocationOverrideSavedThroughApiIsFoundByPolicyLookup() {
+        List<LocationSettings> stored = new ArrayList<>();
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(Settings.builder().id(1L).build()));
+        when(locationSettingsRepository.findAll()).thenAnswer(invocation -> List.copyOf(stored));
+        when(locationSettingsRepository.findByLocationLabel(any())).thenReturn(Optional.empty());
+        when(locationSettingsRepository.save(any(LocationSettings.class))).thenAnswer(invocation -> {
+            stored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        service.refresh();
+
+        // 경로 변수 / 스트리밍 쿼리에서 디코딩된 위치명 (공백 포함)
+        service.saveLocationSettings(" A구역 1층 ", LocationSettings.builder().alertEnabled(false).screamThreshold(0.3).build());
+
+        assertThat(stored).singleElement().extracting(LocationSettings::getLocationLabel).isEqualTo("A구역 1층");
+        SettingsService.DetectionPolicy override = service.policyFor("A구역 1층");
+        assertThat(override.alertEnabled()).isFalse();
+        assertThat(override.meetsThreshold("SCREAM", 35.0)).isTrue();
+        assertThat(service.policyFor("A구역 1층 ")).isSameAs(override);
+        assertThat(service.policyFor("A%EA%B5%AC%EC%97%AD 1%EC%B8%B5")).isSameAs(service.policy());
+        assertThat(service.policyFor("B구역").alertEnabled()).isTrue();
+    }
+
+    @Test
+    void updateSwapsSnapshotAndReturnedSettingsAreCopies() {
+        Settings stored = Settings.builder().id(1L).build();
+        when(settingsRepository.findFirstByOrderByIdAsc()).thenAnswer(invocation -> Optional.of(stored));
+        when(locationSettingsRepository.findAll()).thenReturn(List.of());
+        when(settingsRepository.save(any(Settings.class))).thenAnswer(invocation -> {
+            Settings saved = invocation.getArgument(0);
+            stored.setDetectMode(saved.getDetectMode());
+            return saved;
+        });
+        service.refresh();
+        assertThat(service.policy().isActiveAt(LocalTime.of(3, 0))).isTrue();
+
+        Settings request = service.getSettings();
+        request.setId(null);
+        request.setDetectMode(Settings.DetectMode.SCHEDULED);
+        assertThat(service.policy().detectMode()).isEqualTo(Settings.DetectMode.ALWAYS);
+
+        service.updateSettings(request);
+
+        assertThat(request.getId()).isEqualTo(1L);
+        assertThat(service.policy().isActiveAt(LocalTime.of(3, 0))).isFalse();
+        assertThat(service.getSettings()).isNotSameAs(stored).isEqualTo(stored);
+    }
+}
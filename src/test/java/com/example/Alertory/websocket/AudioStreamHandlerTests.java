@@ -0,0 +1,74 @@
+package com.example.Alertory.websocket;
+
+import com.example.Alertory.entity.Settings;
+import com.example.Alertory.service.AudioAnalysisService;
+import com.example.Alertory.service.SettingsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ADDED: 스트리밍 연결 쿼리 파라미터 디코딩 검증 (한글 위치명)
+class AudioStreamHandlerTests {
+
+    private final AudioAnalysisService audioAnalysisService = Mockito.mock(AudioAnalysisService.class);
+    private final SettingsService settingsService = Mockito.mock(SettingsService.class);
+    private AudioStreamHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new AudioStreamHandler(audioAnalysisService, new ObjectMapper(), settingsService);
+        ReflectionTestUtils.setField(handler, "windowMillis", 100);
+        ReflectionTestUtils.setField(handler, "hopMillis", 50);
+        ReflectionTestUtils.setField(handler, "defaultSampleRate", 16000);
+        ReflectionTestUtils.setField(handler, "maxSampleRate", 48000);
+        ReflectionTestUtils.setField(handler, "maxSessions", 10);
+        ReflectionTestUtils.setField(handler, "eventLabels", "SCREAM");
+        ReflectionTestUtils.invokeMethod(handler, "init");
+
+        when(settingsService.policyFor(anyString())).thenReturn(new SettingsService.DetectionPolicy(
+                0.8, 0.7, true, Settings.DetectMode.ALWAYS, null, null, true, 0.01, 10, Set.of("SCREAM")));
+        when(audioAnalysisService.analyzeStreamWindow(any(), anyString(), anyString(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void percentEncodedLocationLabelIsDecodedBeforePolicyLookupAndAnalysis() throws Exception {
+        WebSocketSession session = session("ws://localhost/ws/audio?locationLabel=A%EA%B5%AC%EC%97%AD%201%EC%B8%B5&sampleRate=8000");
+        handler.afterConnectionEstablished(session);
+
+        // 8kHz x 100ms = 800 샘플 (1600 바이트) 이 쌓이면 첫 분석 창
+        handler.handleMessage(session, new BinaryMessage(new byte[1600]));
+
+        verify(session, never()).close(any());
+        verify(settingsService).policyFor("A구역 1층");
+        verify(audioAnalysisService).analyzeStreamWindow(any(), anyString(), eq("A구역 1층"), any());
+        assertThat(handler.getMetrics()).containsEntry("activeSessions", 1).containsEntry("analyzedWindows", 1L);
+    }
+
+    private static WebSocketSession session(String uri) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getId()).thenReturn("device-1");
+        when(session.getUri()).thenReturn(URI.create(uri));
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.Alertory.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// ADDED: 실시간 푸시 (위치 필터 / 느린 구독자 종료) 검증
+class LiveUpdateHandlerTests {
+
+    private LiveUpdateHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new LiveUpdateHandler(new ObjectMapper());
+        ReflectionTestUtils.setField(handler, "queueCapacity", 4);
+        ReflectionTestUtils.setField(handler, "maxSubscribers", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    void deliversOnlyToSubscribersOfTheLocationOrToAll() throws Exception {
+        WebSocketSession zoneA = session("a", "ws://localhost/ws/live?location=A%EA%B5%AC%EC%97%AD");
+        WebSocketSession zoneB = session("b", "ws://localhost/ws/live?location=B%EA%B5%AC%EC%97%AD");
+        WebSocketSession everything = session("all", "ws://localhost/ws/live");
+        handler.afterConnectionEstablished(zoneA);
+        handler.afterConnectionEstablished(zoneB);
+        handler.afterConnectionEstablished(everything);
+
+        handler.broadcast("event", "A구역", Map.of("id", 1));
+
+        verify(zoneA, timeout(1000)).sendMessage(argThat(message -> ((TextMessage) message).getPayload().contains("\"id\":1")));
+        verify(everything, timeout(1000)).sendMessage(any());
+        verify(zoneB, never()).sendMessage(any());
+    }
+
+    @Test
+    void slowSubscriberIsEvictedWithoutBlockingPublisher() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slow = session("slow", "ws://localhost/ws/live");
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).sendMessage(any());
+        handler.afterConnectionEstablished(slow);
+
+        // 첫 메시지는 전송 중 멈춤, 다음 4건이 큐를 채우고 6번째에서 종료
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            handler.broadcast("event", "A구역", Map.of("id", i));
+            Thread.sleep(i == 0 ? 50 : 0);
+        }
+        long publishMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        release.countDown();
+
+        assertThat(publishMillis).isLessThan(1000);
+        verify(slow, timeout(1000)).close(argThat((CloseStatus status) -> status.getCode() == CloseStatus.SESSION_NOT_RELIABLE.getCode()));
+        assertThat(handler.getMetrics()).containsEntry("evicted", 1L).containsEntry("subscribers", 0);
+    }
+
+    private static WebSocketSession session(String id, String uri) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        when(session.getId()).thenReturn(id);
+        when(session.getUri()).thenReturn(URI.create(uri));
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}